@@ -25,6 +25,8 @@ testModuleInfo {
     requires("com.fasterxml.jackson.annotation")
     requires("com.fasterxml.jackson.core")
     requires("com.fasterxml.jackson.databind")
+    requires("jdk.jfr")
+    requires("jdk.management")
     requires("json.snapshot")
     requires("org.assertj.core")
     requires("org.junit.jupiter.api")
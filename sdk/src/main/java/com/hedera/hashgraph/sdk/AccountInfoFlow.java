@@ -44,7 +44,8 @@ public class AccountInfoFlow {
      */
     public static boolean verifySignature(Client client, AccountId accountId, byte[] message, byte[] signature)
             throws PrecheckStatusException, TimeoutException {
-        return getAccountPublicKey(client, accountId).verify(message, signature);
+        return TraceContext.traceFlow(
+                client, "AccountInfoFlow", () -> getAccountPublicKey(client, accountId).verify(message, signature));
     }
 
     /**
@@ -59,7 +60,8 @@ public class AccountInfoFlow {
      */
     public static boolean verifyTransactionSignature(Client client, AccountId accountId, Transaction<?> transaction)
             throws PrecheckStatusException, TimeoutException {
-        return getAccountPublicKey(client, accountId).verifyTransaction(transaction);
+        return TraceContext.traceFlow(
+                client, "AccountInfoFlow", () -> getAccountPublicKey(client, accountId).verifyTransaction(transaction));
     }
 
     /**
@@ -73,7 +75,8 @@ public class AccountInfoFlow {
      */
     public static CompletableFuture<Boolean> verifySignatureAsync(
             Client client, AccountId accountId, byte[] message, byte[] signature) {
-        return getAccountPublicKeyAsync(client, accountId).thenApply(pubKey -> pubKey.verify(message, signature));
+        return TraceContext.traceFlowAsync(client, "AccountInfoFlow", () -> getAccountPublicKeyAsync(client, accountId)
+                .thenApply(pubKey -> pubKey.verify(message, signature)));
     }
 
     /**
@@ -86,6 +89,7 @@ public class AccountInfoFlow {
      */
     public static CompletableFuture<Boolean> verifyTransactionSignatureAsync(
             Client client, AccountId accountId, Transaction<?> transaction) {
-        return getAccountPublicKeyAsync(client, accountId).thenApply(pubKey -> pubKey.verifyTransaction(transaction));
+        return TraceContext.traceFlowAsync(client, "AccountInfoFlow", () -> getAccountPublicKeyAsync(client, accountId)
+                .thenApply(pubKey -> pubKey.verifyTransaction(transaction)));
     }
 }
@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Signs many transaction bodies in one call without blocking, for keys held by an HSM or a remote key management
+ * service.
+ * <p>
+ * Unlike the signer of {@link Transaction#signWith(PublicKey, java.util.function.UnaryOperator)}, which is called
+ * once per node and blocks the calling thread, this signer receives every body still to be signed, of one or several
+ * transactions, at once and answers with a future.
+ *
+ * @see Transaction#signWithAsync(PublicKey, AsyncTransactionSigner)
+ * @see Transaction#signAllWithAsync(java.util.Collection, PublicKey, AsyncTransactionSigner)
+ */
+public interface AsyncTransactionSigner {
+    /**
+     * Sign the given messages.
+     *
+     * @param messages                  the transaction bodies to sign; the list and its arrays must not be modified
+     * @return                          future that completes with one signature per message, in the same order
+     */
+    CompletableFuture<List<byte[]>> sign(List<byte[]> messages);
+}
@@ -2,13 +2,17 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.grpc.ManagedChannel;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 
 /**
@@ -23,24 +27,15 @@ abstract class BaseNetwork<
         KeyT,
         BaseNodeT extends BaseNode<BaseNodeT, KeyT>> {
     protected static final Integer DEFAULT_MAX_NODE_ATTEMPTS = -1;
-    protected static final Random random = new Random();
 
     protected final ExecutorService executor;
 
     /**
-     * Map of node identifiers to nodes. Used to quickly fetch node for identifier.
+     * The nodes of the network and which of them are healthy. Requests read whichever snapshot is current without
+     * locking. Every change publishes a new snapshot; changes to membership also hold the monitor of this network.
      */
-    protected Map<KeyT, List<BaseNodeT>> network = new ConcurrentHashMap<>();
-
-    /**
-     * The list of all nodes.
-     */
-    protected List<BaseNodeT> nodes = new ArrayList<>();
-
-    /**
-     * The list of currently healthy nodes.
-     */
-    protected List<BaseNodeT> healthyNodes = new ArrayList<>();
+    protected final AtomicReference<NetworkSnapshot<KeyT, BaseNodeT>> snapshot =
+            new AtomicReference<>(NetworkSnapshot.empty());
 
     /**
      * The current minimum backoff for the nodes in the network. This backoff is used when nodes return a bad
@@ -62,7 +57,7 @@ abstract class BaseNetwork<
     /**
      * Limit for how many times we retry a node which has returned a bad gRPC status
      */
-    protected int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
+    protected volatile int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
 
     /**
      * Is the network using transport security
@@ -72,17 +67,27 @@ abstract class BaseNetwork<
     /**
      * The min time to wait before attempting to readmit nodes.
      */
-    protected Duration minNodeReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
+    protected volatile Duration minNodeReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
 
     /**
      * The max time to wait for readmitting nodes.
      */
-    protected Duration maxNodeReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
+    protected volatile Duration maxNodeReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
+
+    /**
+     * The epoch millisecond that readmission will happen after.
+     */
+    protected final AtomicLong earliestReadmitTime = new AtomicLong();
+
+    /**
+     * Are failed nodes probed before requests go back to them?
+     */
+    protected volatile boolean circuitBreaker = false;
 
     /**
-     * The instant that readmission will happen after.
+     * The strategy used to pick between healthy nodes.
      */
-    protected Instant earliestReadmitTime;
+    protected volatile NodeSelectionStrategy nodeSelectionStrategy = NodeSelectionStrategy.RANDOM;
 
     /**
      * The name of the network. This corresponds to ledger ID in entity ID checksum calculations
@@ -95,7 +100,7 @@ abstract class BaseNetwork<
 
     protected BaseNetwork(ExecutorService executor) {
         this.executor = executor;
-        earliestReadmitTime = Instant.now().plus(minNodeReadmitTime);
+        earliestReadmitTime.set(Instant.now().plus(minNodeReadmitTime).toEpochMilli());
     }
 
     /**
@@ -127,7 +132,7 @@ abstract class BaseNetwork<
      *
      * @return                          maximum node attempts
      */
-    synchronized int getMaxNodeAttempts() {
+    int getMaxNodeAttempts() {
         return maxNodeAttempts;
     }
 
@@ -162,7 +167,7 @@ abstract class BaseNetwork<
     synchronized BaseNetworkT setMinNodeBackoff(Duration minNodeBackoff) {
         this.minNodeBackoff = minNodeBackoff;
 
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.setMinBackoff(minNodeBackoff);
         }
 
@@ -188,7 +193,7 @@ abstract class BaseNetwork<
     synchronized BaseNetworkT setMaxNodeBackoff(Duration maxNodeBackoff) {
         this.maxNodeBackoff = maxNodeBackoff;
 
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.setMaxBackoff(maxNodeBackoff);
         }
 
@@ -201,7 +206,7 @@ abstract class BaseNetwork<
      *
      * @return                          the minimum node readmit time
      */
-    public synchronized Duration getMinNodeReadmitTime() {
+    public Duration getMinNodeReadmitTime() {
         return minNodeReadmitTime;
     }
 
@@ -213,7 +218,7 @@ abstract class BaseNetwork<
     public synchronized void setMinNodeReadmitTime(Duration minNodeReadmitTime) {
         this.minNodeReadmitTime = minNodeReadmitTime;
 
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.readmitTime = Instant.now();
         }
     }
@@ -236,6 +241,68 @@ abstract class BaseNetwork<
         this.maxNodeReadmitTime = maxNodeReadmitTime;
     }
 
+    /**
+     * Extract the node selection strategy.
+     *
+     * @return                          the node selection strategy
+     */
+    NodeSelectionStrategy getNodeSelectionStrategy() {
+        return nodeSelectionStrategy;
+    }
+
+    /**
+     * Assign the strategy used to pick between healthy nodes.
+     *
+     * @param nodeSelectionStrategy     the node selection strategy
+     * @return {@code this}
+     */
+    BaseNetworkT setNodeSelectionStrategy(NodeSelectionStrategy nodeSelectionStrategy) {
+        this.nodeSelectionStrategy = Objects.requireNonNull(nodeSelectionStrategy);
+
+        // noinspection unchecked
+        return (BaseNetworkT) this;
+    }
+
+    /**
+     * Are failed nodes probed before requests go back to them?
+     *
+     * @return                          whether the circuit breaker is enabled
+     */
+    boolean isCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Set whether failed nodes are probed before requests go back to them. When disabled, nodes are readmitted as
+     * soon as their backoff is over and any circuit that is open is closed.
+     *
+     * @param circuitBreaker            whether to enable the circuit breaker
+     * @return {@code this}
+     */
+    synchronized BaseNetworkT setCircuitBreaker(boolean circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+
+        if (!circuitBreaker) {
+            for (var node : snapshot.get().nodes) {
+                node.closeCircuit();
+            }
+        }
+
+        // noinspection unchecked
+        return (BaseNetworkT) this;
+    }
+
+    /**
+     * Send a cheap request to a node whose circuit is half-open, to learn whether it has recovered. Networks that
+     * have no such request readmit the node without probing it.
+     *
+     * @param node                      the node to probe
+     * @return                          future that completes with whether the node answered
+     */
+    CompletableFuture<Boolean> probe(BaseNodeT node) {
+        return CompletableFuture.completedFuture(true);
+    }
+
     /**
      * Is transport Security enabled?
      *
@@ -278,10 +345,11 @@ abstract class BaseNetwork<
      * @return - list of indexes in descending order
      */
     protected List<Integer> getNodesToRemove(Map<String, KeyT> network) {
-        var nodes = new ArrayList<Integer>(this.nodes.size());
+        var currentNodes = snapshot.get().nodes;
+        var nodes = new ArrayList<Integer>(currentNodes.size());
 
-        for (int i = this.nodes.size() - 1; i >= 0; i--) {
-            var node = this.nodes.get(i);
+        for (int i = currentNodes.size() - 1; i >= 0; i--) {
+            var node = currentNodes.get(i);
 
             if (!nodeIsInGivenNetwork(node, network)) {
                 nodes.add(i);
@@ -312,94 +380,75 @@ abstract class BaseNetwork<
      * @param network - The new network
      * @return - {@code this}
      * @throws TimeoutException - when shutting down nodes
-     * @throws InterruptedException - when acquiring the lock
-     */
-    synchronized BaseNetworkT setNetwork(Map<String, KeyT> network) throws TimeoutException, InterruptedException {
-        var newNodes = new ArrayList<BaseNodeT>();
-        var newHealthyNodes = new ArrayList<BaseNodeT>();
-        var newNetwork = new HashMap<KeyT, List<BaseNodeT>>();
-        var newNodeKeys = new HashSet<KeyT>();
-        var newNodeAddresses = new HashSet<String>();
-
-        // getNodesToRemove() should always return the list in reverse order
-        for (var index : getNodesToRemove(network)) {
-            var stopAt = Instant.now().getEpochSecond() + closeTimeout.getSeconds();
-            var remainingTime = stopAt - Instant.now().getEpochSecond();
-            var node = nodes.get(index);
-
-            // Exit early if we have no time remaining
-            if (remainingTime <= 0) {
-                throw new TimeoutException("Failed to properly shutdown all channels");
+     * @throws InterruptedException - when waiting for removed nodes to shut down
+     */
+    BaseNetworkT setNetwork(Map<String, KeyT> network) throws TimeoutException, InterruptedException {
+        var closingChannels = new ArrayList<ManagedChannel>();
+        Duration timeout;
+
+        synchronized (this) {
+            var currentNodes = new ArrayList<>(snapshot.get().nodes);
+            var newNodeKeys = new HashSet<KeyT>();
+            var newNodeAddresses = new HashSet<String>();
+
+            // getNodesToRemove() should always return the list in reverse order
+            for (var index : getNodesToRemove(network)) {
+                var closing = currentNodes.remove(index.intValue()).shutdownChannel();
+                if (closing != null) {
+                    closingChannels.add(closing);
+                }
             }
 
-            removeNodeFromNetwork(node);
-            node.close(Duration.ofSeconds(remainingTime));
-            this.nodes.remove(index.intValue());
-        }
+            var newNodes = new ArrayList<BaseNodeT>(currentNodes);
+            for (var node : currentNodes) {
+                newNodeKeys.add(node.getKey());
+                newNodeAddresses.add(node.address.toString());
+            }
 
-        for (var node : this.nodes) {
-            newNodes.add(node);
-            newNodeKeys.add(node.getKey());
-            newNodeAddresses.add(node.address.toString());
-        }
+            for (var entry : network.entrySet()) {
+                var node = createNodeFromNetworkEntry(entry);
 
-        for (var entry : network.entrySet()) {
-            var node = createNodeFromNetworkEntry(entry);
+                if (newNodeKeys.contains(node.getKey())
+                        && newNodeAddresses.contains(node.getAddress().toString())) {
+                    continue;
+                }
 
-            if (newNodeKeys.contains(node.getKey())
-                    && newNodeAddresses.contains(node.getAddress().toString())) {
-                continue;
+                newNodes.add(node);
             }
 
-            newNodes.add(node);
+            // Atomically publish the new membership, with every node healthy
+            snapshot.set(NetworkSnapshot.of(newNodes, newNodes));
+            timeout = closeTimeout;
         }
 
-        for (var node : newNodes) {
-            if (newNetwork.containsKey(node.getKey())) {
-                newNetwork.get(node.getKey()).add(node);
-            } else {
-                var list = new ArrayList<BaseNodeT>();
-                list.add(node);
-                newNetwork.put(node.getKey(), list);
+        // Wait for the removed channels outside the lock so that requests are not blocked behind the shutdown
+        var stopAt = Instant.now().plus(timeout);
+        for (var channel : closingChannels) {
+            var remainingTime = Duration.between(Instant.now(), stopAt);
+
+            // Exit early if we have no time remaining
+            if (remainingTime.isNegative() || remainingTime.isZero()) {
+                throw new TimeoutException("Failed to properly shutdown all channels");
             }
 
-            newHealthyNodes.add(node);
+            channel.awaitTermination(remainingTime.toMillis(), TimeUnit.MILLISECONDS);
         }
 
-        // Atomically set all the variables
-        nodes = newNodes;
-        this.network = newNetwork;
-        healthyNodes = newHealthyNodes;
-
         // noinspection unchecked
         return (BaseNetworkT) this;
     }
 
-    synchronized void increaseBackoff(BaseNodeT node) {
+    void increaseBackoff(BaseNodeT node) {
         node.increaseBackoff();
-        healthyNodes.remove(node);
-    }
-
-    synchronized void decreaseBackoff(BaseNodeT node) {
-        node.decreaseBackoff();
-    }
-
-    private void removeNodeFromNetwork(BaseNodeT node) {
-        var nodesForKey = this.network.get(node.getKey());
-        nodesForKey.remove(node);
-        if (nodesForKey.isEmpty()) {
-            this.network.remove(node.getKey());
+        if (circuitBreaker) {
+            node.openCircuit();
         }
+        snapshot.updateAndGet(current -> current.withoutHealthyNode(node));
+        JfrEvents.nodeHealthChanged(node, JfrEvents.NodeHealthChange.BACKOFF_INCREASED);
     }
 
-    private boolean addressIsInNodeList(String addressString, List<BaseNodeT> nodes) {
-        var address = BaseNodeAddress.fromString(addressString);
-        for (var node : nodes) {
-            if (node.address.equals(address)) {
-                return true;
-            }
-        }
-        return false;
+    void decreaseBackoff(BaseNodeT node) {
+        node.decreaseBackoff();
     }
 
     /**
@@ -408,17 +457,34 @@ abstract class BaseNetwork<
      * @throws InterruptedException - when shutting down nodes
      */
     protected void removeDeadNodes() throws InterruptedException {
-        if (maxNodeAttempts > 0) {
-            for (int i = nodes.size() - 1; i >= 0; i--) {
-                var node = Objects.requireNonNull(nodes.get(i));
-
-                if (node.getBadGrpcStatusCount() >= maxNodeAttempts) {
-                    node.close(closeTimeout);
-                    removeNodeFromNetwork(node);
-                    nodes.remove(i);
-                }
+        var maxNodeAttempts = this.maxNodeAttempts;
+        if (maxNodeAttempts <= 0) {
+            return;
+        }
+
+        var deadNodes = new ArrayList<BaseNodeT>();
+        for (var node : snapshot.get().nodes) {
+            if (node.getBadGrpcStatusCount() >= maxNodeAttempts) {
+                deadNodes.add(node);
             }
         }
+
+        if (deadNodes.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            for (var node : deadNodes) {
+                // Only begin the shutdown here; waiting for it would stall every request behind this lock
+                node.shutdownChannel();
+            }
+
+            snapshot.updateAndGet(current -> current.withoutNodes(deadNodes));
+        }
+
+        for (var node : deadNodes) {
+            JfrEvents.nodeHealthChanged(node, JfrEvents.NodeHealthChange.REMOVED);
+        }
     }
 
     /**
@@ -426,57 +492,103 @@ abstract class BaseNetwork<
      * {@code earliestReadmitTime}. While readmitting nodes the `earliestReadmitTime` will be updated to
      * a new value. This value is either the value of the node with the smallest readmission time from now,
      * or `minNodeReadmitTime` or `maxNodeReadmitTime`.
+     * <p>
+     * Only the thread that moves `earliestReadmitTime` forward performs the readmission, so concurrent callers
+     * return immediately.
      */
-    synchronized void readmitNodes() {
-        var now = Instant.now();
+    void readmitNodes() {
+        var now = System.currentTimeMillis();
+        var earliest = earliestReadmitTime.get();
+
+        if (now <= earliest) {
+            return;
+        }
 
-        if (now.toEpochMilli() > earliestReadmitTime.toEpochMilli()) {
-            var nextEarliestReadmitTime = now.plus(maxNodeReadmitTime);
+        var nodes = snapshot.get().nodes;
+        var nextEarliestReadmitTime = now + maxNodeReadmitTime.toMillis();
 
-            for (var node : this.nodes) {
-                if (node.readmitTime.isAfter(now) && node.readmitTime.isBefore(nextEarliestReadmitTime)) {
-                    nextEarliestReadmitTime = node.readmitTime;
-                }
+        for (var node : nodes) {
+            var readmitTime = node.readmitTime.toEpochMilli();
+            if (readmitTime > now && readmitTime < nextEarliestReadmitTime) {
+                nextEarliestReadmitTime = readmitTime;
             }
+        }
+
+        nextEarliestReadmitTime = Math.max(nextEarliestReadmitTime, now + minNodeReadmitTime.toMillis());
 
-            this.earliestReadmitTime = nextEarliestReadmitTime;
-            if (this.earliestReadmitTime.isBefore(now.plus(minNodeReadmitTime))) {
-                this.earliestReadmitTime = now.plus(minNodeReadmitTime);
+        if (earliestReadmitTime.compareAndSet(earliest, nextEarliestReadmitTime)) {
+            if (circuitBreaker) {
+                probeNodes(now);
             }
 
-            outer:
-            for (var i = 0; i < this.nodes.size(); i++) {
-                // Check if `healthyNodes` already contains this node
-                for (var j = 0; j < this.healthyNodes.size(); j++) {
-                    if (this.nodes.get(i) == this.healthyNodes.get(j)) {
-                        continue outer;
-                    }
-                }
+            readmit(now);
+        }
+    }
 
-                // If `healthyNodes` doesn't contain the node, check the `readmitTime` on the node
-                if (this.nodes.get(i).readmitTime.isBefore(now)) {
-                    this.healthyNodes.add(this.nodes.get(i));
-                }
+    private void readmit(long nowMillis) {
+        var previous = snapshot.getAndUpdate(current -> current.withReadmittedNodes(nowMillis));
+
+        for (var node : previous.nodes) {
+            if (NetworkSnapshot.isReadmittable(node, nowMillis) && !previous.isHealthy(node)) {
+                JfrEvents.nodeHealthChanged(node, JfrEvents.NodeHealthChange.READMITTED);
             }
         }
     }
 
     /**
-     * Get a random healthy node.
+     * Probe every node whose circuit is open and whose backoff is over. The probes run in the background; a node is
+     * readmitted once its probe succeeds, and backs off for longer if it fails.
+     *
+     * @param nowMillis                 the current epoch millisecond
+     */
+    private void probeNodes(long nowMillis) {
+        for (var node : snapshot.get().nodes) {
+            if (node.readmitTime.toEpochMilli() >= nowMillis || !node.tryHalfOpenCircuit()) {
+                continue;
+            }
+
+            CompletableFuture<Boolean> probe;
+            try {
+                probe = probe(node);
+            } catch (RuntimeException e) {
+                probe = CompletableFuture.completedFuture(false);
+            }
+
+            probe.whenComplete((recovered, error) -> onProbed(node, error == null && Boolean.TRUE.equals(recovered)));
+        }
+    }
+
+    private void onProbed(BaseNodeT node, boolean recovered) {
+        if (node.getCircuitState() != BaseNode.CircuitState.HALF_OPEN) {
+            // The circuit breaker was turned off, or a request reported on the node, while the probe was in flight
+            return;
+        }
+
+        if (recovered) {
+            node.closeCircuit();
+            readmit(System.currentTimeMillis());
+        } else {
+            increaseBackoff(node);
+        }
+    }
+
+    /**
+     * Get a healthy node picked by the {@link #nodeSelectionStrategy}.
      *
      * @return                          the node
      */
-    synchronized BaseNodeT getRandomNode() {
+    BaseNodeT getRandomNode() {
         // Attempt to readmit nodes each time a node is fetched.
         // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
         // performance.
         readmitNodes();
 
+        var healthyNodes = snapshot.get().healthyNodes;
         if (healthyNodes.isEmpty()) {
             throw new IllegalStateException("No healthy node was found");
         }
 
-        return healthyNodes.get(random.nextInt(healthyNodes.size()));
+        return nodeSelectionStrategy.select(healthyNodes, ThreadLocalRandom.current());
     }
 
     /**
@@ -485,13 +597,13 @@ abstract class BaseNetwork<
      * @param key                       the desired key
      * @return                          the list of node proxies
      */
-    synchronized List<BaseNodeT> getNodeProxies(KeyT key) {
+    List<BaseNodeT> getNodeProxies(KeyT key) {
         // Attempt to readmit nodes each time a node is fetched.
         // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
         // performance.
         readmitNodes();
 
-        return network.get(key);
+        return snapshot.get().network.get(key);
     }
 
     /**
@@ -504,11 +616,12 @@ abstract class BaseNetwork<
      * @return                          List of nodes to use
      * @throws InterruptedException     when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
-    protected synchronized List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
+    protected List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
         readmitNodes();
         removeDeadNodes();
 
-        var returnNodes = new HashMap<KeyT, BaseNodeT>(count);
+        // Keep the order the nodes were picked in so the preferred node is tried first
+        var returnNodes = new LinkedHashMap<KeyT, BaseNodeT>(count);
 
         for (var i = 0; i < count; i++) {
             var node = getRandomNode();
@@ -523,27 +636,66 @@ abstract class BaseNetwork<
         return returnList;
     }
 
-    synchronized void beginClose() {
+    /**
+     * Open the channel of every node at once and wait for each of them to become ready. Nodes that do not connect
+     * within the timeout are put into backoff, so requests avoid them until they are readmitted.
+     *
+     * @param timeout                   how long to wait for each node
+     * @return                          future of the nodes that failed to connect
+     */
+    CompletableFuture<List<BaseNodeT>> warmUp(Duration timeout) {
+        var nodes = snapshot.get().nodes;
+        var attempts = new ArrayList<CompletableFuture<Boolean>>(nodes.size());
+
         for (var node : nodes) {
-            if (node.channel != null) {
-                node.channel = node.channel.shutdown();
+            // Copy the shared connection attempt so the timeout here does not cut it short for other waiters
+            attempts.add(node.channelFailedToConnectAsync()
+                    .copy()
+                    .completeOnTimeout(true, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(error -> true));
+        }
+
+        return CompletableFuture.allOf(attempts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    var failedNodes = new ArrayList<BaseNodeT>();
+
+                    for (var i = 0; i < nodes.size(); i++) {
+                        if (attempts.get(i).join()) {
+                            var node = nodes.get(i);
+                            increaseBackoff(node);
+                            failedNodes.add(node);
+                        }
+                    }
+
+                    return failedNodes;
+                });
+    }
+
+    synchronized void beginClose() {
+        for (var node : snapshot.get().nodes) {
+            var channel = node.channel;
+            if (channel != null) {
+                node.channel = channel.shutdown();
             }
         }
     }
 
     // returns null if successful, or Throwable if error occurred
     @Nullable
-    synchronized Throwable awaitClose(Instant deadline, @Nullable Throwable previousError) {
+    Throwable awaitClose(Instant deadline, @Nullable Throwable previousError) {
+        var closingNodes = snapshot.get().nodes;
+
         try {
             if (previousError != null) {
                 throw previousError;
             }
 
-            for (var node : nodes) {
-                if (node.channel != null) {
+            for (var node : closingNodes) {
+                var channel = node.channel;
+                if (channel != null) {
                     var timeoutMillis =
                             Duration.between(Instant.now(), deadline).toMillis();
-                    if (timeoutMillis <= 0 || !node.channel.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    if (timeoutMillis <= 0 || !channel.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
                         throw new TimeoutException("Failed to properly shutdown all channels");
                     } else {
                         node.channel = null;
@@ -553,17 +705,137 @@ abstract class BaseNetwork<
 
             return null;
         } catch (Throwable error) {
-            for (var node : nodes) {
-                if (node.channel != null) {
-                    node.channel.shutdownNow();
+            for (var node : closingNodes) {
+                var channel = node.channel;
+                if (channel != null) {
+                    channel.shutdownNow();
                 }
             }
             hasShutDownNow = true;
 
             return error;
         } finally {
-            nodes.clear();
-            network.clear();
+            synchronized (this) {
+                snapshot.set(NetworkSnapshot.empty());
+            }
+        }
+    }
+
+    /**
+     * Immutable view of the nodes of a network. A snapshot is never modified once published; every change creates a
+     * new one.
+     *
+     * @param <KeyT>  the identifying type for the network
+     * @param <NodeT> the node type
+     */
+    static final class NetworkSnapshot<KeyT, NodeT extends BaseNode<NodeT, KeyT>> {
+        /**
+         * Map of node identifiers to nodes. Used to quickly fetch node for identifier.
+         */
+        final Map<KeyT, List<NodeT>> network;
+
+        /**
+         * The list of all nodes.
+         */
+        final List<NodeT> nodes;
+
+        /**
+         * The list of currently healthy nodes.
+         */
+        final List<NodeT> healthyNodes;
+
+        private NetworkSnapshot(Map<KeyT, List<NodeT>> network, List<NodeT> nodes, List<NodeT> healthyNodes) {
+            this.network = network;
+            this.nodes = nodes;
+            this.healthyNodes = healthyNodes;
+        }
+
+        static <KeyT, NodeT extends BaseNode<NodeT, KeyT>> NetworkSnapshot<KeyT, NodeT> empty() {
+            return new NetworkSnapshot<>(Map.of(), List.of(), List.of());
+        }
+
+        static <KeyT, NodeT extends BaseNode<NodeT, KeyT>> NetworkSnapshot<KeyT, NodeT> of(
+                List<NodeT> nodes, List<NodeT> healthyNodes) {
+            var network = new HashMap<KeyT, List<NodeT>>();
+            for (var node : nodes) {
+                network.computeIfAbsent(node.getKey(), key -> new ArrayList<>()).add(node);
+            }
+
+            var immutableNetwork = new HashMap<KeyT, List<NodeT>>(network.size());
+            for (var entry : network.entrySet()) {
+                immutableNetwork.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+
+            return new NetworkSnapshot<>(
+                    Collections.unmodifiableMap(immutableNetwork), List.copyOf(nodes), List.copyOf(healthyNodes));
+        }
+
+        NetworkSnapshot<KeyT, NodeT> withoutHealthyNode(NodeT node) {
+            if (!containsNode(healthyNodes, node)) {
+                return this;
+            }
+
+            var newHealthyNodes = new ArrayList<NodeT>(healthyNodes.size() - 1);
+            for (var healthyNode : healthyNodes) {
+                if (healthyNode != node) {
+                    newHealthyNodes.add(healthyNode);
+                }
+            }
+
+            return new NetworkSnapshot<>(network, nodes, List.copyOf(newHealthyNodes));
+        }
+
+        NetworkSnapshot<KeyT, NodeT> withoutNodes(List<NodeT> removedNodes) {
+            var newNodes = new ArrayList<NodeT>(nodes.size());
+            for (var node : nodes) {
+                if (!containsNode(removedNodes, node)) {
+                    newNodes.add(node);
+                }
+            }
+
+            var newHealthyNodes = new ArrayList<NodeT>(healthyNodes.size());
+            for (var node : healthyNodes) {
+                if (!containsNode(removedNodes, node)) {
+                    newHealthyNodes.add(node);
+                }
+            }
+
+            return of(newNodes, newHealthyNodes);
+        }
+
+        NetworkSnapshot<KeyT, NodeT> withReadmittedNodes(long nowMillis) {
+            List<NodeT> newHealthyNodes = null;
+
+            for (var node : nodes) {
+                if (isReadmittable(node, nowMillis) && !containsNode(healthyNodes, node)) {
+                    if (newHealthyNodes == null) {
+                        newHealthyNodes = new ArrayList<>(healthyNodes);
+                    }
+                    newHealthyNodes.add(node);
+                }
+            }
+
+            return newHealthyNodes == null
+                    ? this
+                    : new NetworkSnapshot<>(network, nodes, List.copyOf(newHealthyNodes));
+        }
+
+        boolean isHealthy(NodeT node) {
+            return containsNode(healthyNodes, node);
+        }
+
+        static boolean isReadmittable(BaseNode<?, ?> node, long nowMillis) {
+            return node.readmitTime.toEpochMilli() < nowMillis
+                    && node.getCircuitState() == BaseNode.CircuitState.CLOSED;
+        }
+
+        private static boolean containsNode(List<?> nodes, Object node) {
+            for (var candidate : nodes) {
+                if (candidate == node) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 }
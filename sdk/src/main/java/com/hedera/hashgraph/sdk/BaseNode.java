@@ -10,10 +10,19 @@ import io.grpc.TlsChannelCredentials;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
 
 /**
@@ -23,10 +32,21 @@ import javax.annotation.Nullable;
  * @param <KeyT>                        the key t type
  */
 abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
-    private static final int GET_STATE_INTERVAL_MILLIS = 50;
     private static final int GET_STATE_TIMEOUT_MILLIS = 10000;
-    private static final int GET_STATE_MAX_ATTEMPTS = GET_STATE_TIMEOUT_MILLIS / GET_STATE_INTERVAL_MILLIS;
-    private boolean hasConnected = false;
+    // Weight of the newest sample in the latency average
+    private static final double LATENCY_EWMA_ALPHA = 0.2;
+    // Number of recent latency samples kept for percentile estimates, and how many are needed before using them
+    private static final int LATENCY_WINDOW_SIZE = 32;
+    private static final int LATENCY_WINDOW_MIN_SAMPLES = 8;
+    private volatile boolean hasConnected = false;
+
+    // The connection attempt in progress, shared by every request waiting for this node's channel to become ready.
+    // Completes with `true` if the channel failed to connect.
+    private final AtomicReference<CompletableFuture<Boolean>> pendingConnection = new AtomicReference<>();
+
+    // Guards channel creation and teardown. A lock is used instead of `synchronized` so that virtual threads
+    // waiting on it can unmount from their carrier thread.
+    private final ReentrantLock channelLock = new ReentrantLock();
 
     protected final ExecutorService executor;
 
@@ -38,30 +58,63 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     /**
      * Timestamp of when this node will be considered healthy again
      */
-    protected Instant readmitTime;
+    protected volatile Instant readmitTime;
+
+    /**
+     * State of the circuit breaker of this node. Stays closed unless the network probes failed nodes before
+     * readmitting them.
+     */
+    protected final AtomicReference<CircuitState> circuitState;
 
     /**
      * The current backoff duration. Uses exponential backoff so think 1s, 2s, 4s, 8s, etc until maxBackoff is hit
      */
-    protected Duration currentBackoff;
+    protected final AtomicReference<Duration> currentBackoff;
 
     /**
      * Minimum backoff used by node when receiving a bad gRPC status
      */
-    protected Duration minBackoff;
+    protected volatile Duration minBackoff;
 
     /**
      * Maximum backoff used by node when receiving a bad gRPC status
      */
-    protected Duration maxBackoff;
+    protected volatile Duration maxBackoff;
 
     /**
      * Number of times this node has received a bad gRPC status
      */
-    protected long badGrpcStatusCount;
+    protected final AtomicLong badGrpcStatusCount;
 
     @Nullable
-    protected ManagedChannel channel = null;
+    protected volatile ManagedChannel channel = null;
+
+    /**
+     * Number of connections to open to this node. More than one spreads requests over a {@link ChannelPool}.
+     */
+    protected volatile int channelsPerNode = 1;
+
+    /**
+     * Number of requests in flight above which other nodes are preferred over this one, or 0 for no limit
+     */
+    protected volatile int maxInFlightRequests = 0;
+
+    /**
+     * Exponentially weighted moving average of the response latency in milliseconds, stored as raw double bits
+     */
+    private final AtomicLong latencyEwmaBits;
+
+    /**
+     * Number of requests sent to this node that have not completed yet
+     */
+    private final AtomicInteger inFlightRequests;
+
+    /**
+     * Ring buffer of the most recent response latencies in nanoseconds
+     */
+    private final AtomicLongArray latencyWindow = new AtomicLongArray(LATENCY_WINDOW_SIZE);
+
+    private final AtomicLong latencySampleCount = new AtomicLong();
 
     /**
      * Constructor.
@@ -72,10 +125,14 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     protected BaseNode(BaseNodeAddress address, ExecutorService executor) {
         this.executor = executor;
         this.address = address;
-        this.currentBackoff = Client.DEFAULT_MIN_NODE_BACKOFF;
+        this.currentBackoff = new AtomicReference<>(Client.DEFAULT_MIN_NODE_BACKOFF);
         this.minBackoff = Client.DEFAULT_MIN_NODE_BACKOFF;
         this.maxBackoff = Client.DEFAULT_MAX_NODE_BACKOFF;
         this.readmitTime = Instant.EPOCH;
+        this.circuitState = new AtomicReference<>(CircuitState.CLOSED);
+        this.badGrpcStatusCount = new AtomicLong();
+        this.latencyEwmaBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        this.inFlightRequests = new AtomicInteger();
     }
 
     /**
@@ -91,8 +148,13 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.minBackoff = node.minBackoff;
         this.maxBackoff = node.maxBackoff;
         this.readmitTime = node.readmitTime;
-        this.currentBackoff = node.currentBackoff;
-        this.badGrpcStatusCount = node.badGrpcStatusCount;
+        this.circuitState = new AtomicReference<>(node.circuitState.get());
+        this.currentBackoff = new AtomicReference<>(node.currentBackoff.get());
+        this.badGrpcStatusCount = new AtomicLong(node.badGrpcStatusCount.get());
+        this.channelsPerNode = node.channelsPerNode;
+        this.maxInFlightRequests = node.maxInFlightRequests;
+        this.latencyEwmaBits = new AtomicLong(node.latencyEwmaBits.get());
+        this.inFlightRequests = new AtomicInteger();
     }
 
     /**
@@ -125,7 +187,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      *
      * @return                          the minimum backoff time
      */
-    synchronized Duration getMinBackoff() {
+    Duration getMinBackoff() {
         return minBackoff;
     }
 
@@ -135,10 +197,8 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      * @param minBackoff                the minimum backoff time
      * @return {@code this}
      */
-    synchronized N setMinBackoff(Duration minBackoff) {
-        if (currentBackoff == this.minBackoff) {
-            currentBackoff = minBackoff;
-        }
+    N setMinBackoff(Duration minBackoff) {
+        currentBackoff.compareAndSet(this.minBackoff, minBackoff);
         this.minBackoff = minBackoff;
 
         // noinspection unchecked
@@ -173,7 +233,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      * @return                          the count of bad grpc status
      */
     long getBadGrpcStatusCount() {
-        return badGrpcStatusCount;
+        return badGrpcStatusCount.get();
     }
 
     /**
@@ -188,22 +248,57 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     /**
      * Determines if this is node is healthy.
      * Healthy means the node has either not received any bad gRPC statuses, or if it has received bad gRPC status then
-     * the node backed off for a period of time.
+     * the node backed off for a period of time. A node whose circuit is not closed is waiting on a probe, and is not
+     * healthy even once its backoff is over.
      *
      * @return                          is the node healthy
      */
     boolean isHealthy() {
-        return readmitTime.toEpochMilli() < Instant.now().toEpochMilli();
+        return circuitState.get() == CircuitState.CLOSED && readmitTime.toEpochMilli() < Instant.now().toEpochMilli();
+    }
+
+    /**
+     * Get the state of the circuit breaker of this node.
+     *
+     * @return                          the circuit state
+     */
+    CircuitState getCircuitState() {
+        return circuitState.get();
+    }
+
+    /**
+     * Stop sending requests to this node until a probe shows it has recovered.
+     */
+    void openCircuit() {
+        circuitState.set(CircuitState.OPEN);
+    }
+
+    /**
+     * Claim the probe of this node once its backoff is over. Only one caller wins for every time the circuit opens.
+     *
+     * @return                          whether the circuit went from open to half-open
+     */
+    boolean tryHalfOpenCircuit() {
+        return circuitState.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN);
+    }
+
+    /**
+     * Let requests go to this node again.
+     */
+    void closeCircuit() {
+        circuitState.set(CircuitState.CLOSED);
     }
 
     /**
      * Used when a node has received a bad gRPC status
      */
-    synchronized void increaseBackoff() {
-        this.badGrpcStatusCount++;
-        this.readmitTime = Instant.now().plus(this.currentBackoff);
-        this.currentBackoff = currentBackoff.multipliedBy(2);
-        this.currentBackoff = currentBackoff.compareTo(maxBackoff) < 0 ? currentBackoff : maxBackoff;
+    void increaseBackoff() {
+        this.badGrpcStatusCount.incrementAndGet();
+        var backoff = currentBackoff.getAndUpdate(current -> {
+            var next = current.multipliedBy(2);
+            return next.compareTo(maxBackoff) < 0 ? next : maxBackoff;
+        });
+        this.readmitTime = Instant.now().plus(backoff);
     }
 
     /**
@@ -212,9 +307,11 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      * this is to allow a node which has been performing poorly (receiving several bad gRPC status) to become used again
      * once it stops receiving bad gRPC statuses.
      */
-    synchronized void decreaseBackoff() {
-        this.currentBackoff = currentBackoff.dividedBy(2);
-        this.currentBackoff = currentBackoff.compareTo(minBackoff) > 0 ? currentBackoff : minBackoff;
+    void decreaseBackoff() {
+        currentBackoff.updateAndGet(current -> {
+            var next = current.dividedBy(2);
+            return next.compareTo(minBackoff) > 0 ? next : minBackoff;
+        });
     }
 
     /**
@@ -226,6 +323,109 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         return readmitTime.toEpochMilli() - System.currentTimeMillis();
     }
 
+    /**
+     * Record that a request has been sent to this node.
+     */
+    void onRequestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    /**
+     * Record that a request sent to this node has completed.
+     *
+     * @param latencyNanos              the latency of the response, or a negative value if no response was received
+     */
+    void onRequestFinished(long latencyNanos) {
+        inFlightRequests.decrementAndGet();
+
+        if (latencyNanos < 0) {
+            return;
+        }
+
+        long sampleIndex = latencySampleCount.getAndIncrement();
+        latencyWindow.set((int) (sampleIndex % LATENCY_WINDOW_SIZE), latencyNanos);
+
+        double sample = latencyNanos / 1_000_000.0;
+        latencyEwmaBits.getAndUpdate(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0.0 ? sample : current + LATENCY_EWMA_ALPHA * (sample - current);
+            return Double.doubleToRawLongBits(next);
+        });
+    }
+
+    /**
+     * Extract the moving average of the response latency.
+     *
+     * @return                          the latency in milliseconds, or zero if no response has been seen yet
+     */
+    double getLatencyEwmaMillis() {
+        return Double.longBitsToDouble(latencyEwmaBits.get());
+    }
+
+    /**
+     * Estimate a percentile of the recent response latency.
+     *
+     * @param percentile                the percentile, between 0 exclusive and 1 inclusive
+     * @return                          the latency in nanoseconds, or -1 if there are too few samples
+     */
+    long getLatencyPercentileNanos(double percentile) {
+        int count = (int) Math.min(latencySampleCount.get(), LATENCY_WINDOW_SIZE);
+        if (count < LATENCY_WINDOW_MIN_SAMPLES) {
+            return -1;
+        }
+
+        var samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = latencyWindow.get(i);
+        }
+        Arrays.sort(samples);
+
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return samples[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Extract the number of requests currently in flight to this node.
+     *
+     * @return                          the in-flight request count
+     */
+    int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * Assign the number of requests in flight above which other nodes are preferred over this one.
+     *
+     * @param maxInFlightRequests       the limit, or 0 for none
+     * @return {@code this}
+     */
+    N setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
+    /**
+     * Has this node reached its limit of requests in flight?
+     *
+     * @return                          is the node saturated
+     */
+    boolean isSaturated() {
+        var limit = maxInFlightRequests;
+        return limit > 0 && inFlightRequests.get() >= limit;
+    }
+
+    /**
+     * Estimate how loaded this node is; lower is better. Nodes without any latency samples score zero so that
+     * they get tried.
+     *
+     * @return                          the load score
+     */
+    double getLoadScore() {
+        return getLatencyEwmaMillis() * (getInFlightRequests() + 1);
+    }
+
     /**
      * Create TLS credentials when transport security is enabled
      *
@@ -235,16 +435,70 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         return TlsChannelCredentials.create();
     }
 
+    /**
+     * Extract the number of connections opened to this node.
+     *
+     * @return                          the number of connections
+     */
+    int getChannelsPerNode() {
+        return channelsPerNode;
+    }
+
+    /**
+     * Assign the number of connections to open to this node. This applies the next time the channel of this node is
+     * opened.
+     *
+     * @param channelsPerNode           the number of connections
+     * @return {@code this}
+     */
+    N setChannelsPerNode(int channelsPerNode) {
+        if (channelsPerNode < 1) {
+            throw new IllegalArgumentException("channelsPerNode must be at least 1");
+        }
+
+        this.channelsPerNode = channelsPerNode;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
     /**
      * Get the gRPC channel for this node
      *
      * @return                          the channel
      */
-    synchronized ManagedChannel getChannel() {
-        if (channel != null) {
+    ManagedChannel getChannel() {
+        var current = channel;
+        if (current != null) {
+            return current;
+        }
+
+        channelLock.lock();
+        try {
+            if (channel == null) {
+                channel = buildChannel();
+            }
+
             return channel;
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    private ManagedChannel buildChannel() {
+        var count = channelsPerNode;
+        if (count <= 1) {
+            return buildSingleChannel();
+        }
+
+        var channels = new ArrayList<ManagedChannel>(count);
+        for (int i = 0; i < count; i++) {
+            channels.add(buildSingleChannel());
         }
+        return new ChannelPool(channels);
+    }
 
+    private ManagedChannel buildSingleChannel() {
         ManagedChannelBuilder<?> channelBuilder;
 
         if (address.isInProcess()) {
@@ -260,15 +514,22 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
             channelBuilder = ManagedChannelBuilder.forTarget(address.toString()).usePlaintext();
         }
 
-        channel = channelBuilder
+        return channelBuilder
                 .keepAliveTimeout(10, TimeUnit.SECONDS)
                 .keepAliveWithoutCalls(true)
                 .enableRetry()
                 .userAgent(getUserAgent())
                 .executor(executor)
                 .build();
+    }
 
-        return channel;
+    /**
+     * Has the channel of this node been seen in the ready state?
+     *
+     * @return                          has the channel connected
+     */
+    boolean isConnected() {
+        return hasConnected;
     }
 
     /**
@@ -284,30 +545,26 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         if (hasConnected) {
             return false;
         }
-        hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
+
+        var connection = awaitConnection();
         try {
-            for (int i = 0; i < GET_STATE_MAX_ATTEMPTS && !hasConnected; i++) {
-                Duration currentTimeout = Duration.between(Instant.now(), timeoutTime);
-                if (currentTimeout.isNegative() || currentTimeout.isZero()) {
-                    return false;
-                }
-                TimeUnit.MILLISECONDS.sleep(GET_STATE_INTERVAL_MILLIS);
-                hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
+            if (timeoutTime.equals(Instant.MAX)) {
+                return connection.get();
+            }
+
+            var remainingMillis = Duration.between(Instant.now(), timeoutTime).toMillis();
+            if (remainingMillis <= 0) {
+                return false;
             }
+
+            return connection.get(remainingMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return false;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            return true;
         }
-        return !hasConnected;
-    }
-
-    private CompletableFuture<Boolean> channelFailedToConnectAsync(int i, ConnectivityState state) {
-        hasConnected = (state == ConnectivityState.READY);
-        if (i >= GET_STATE_MAX_ATTEMPTS || hasConnected) {
-            return CompletableFuture.completedFuture(!hasConnected);
-        }
-        return Delayer.delayFor(GET_STATE_INTERVAL_MILLIS, executor).thenCompose(ignored -> {
-            return channelFailedToConnectAsync(i + 1, getChannel().getState(true));
-        });
     }
 
     /**
@@ -319,7 +576,74 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         if (hasConnected) {
             return CompletableFuture.completedFuture(false);
         }
-        return channelFailedToConnectAsync(0, getChannel().getState(true));
+        return awaitConnection();
+    }
+
+    /**
+     * Join the connection attempt in progress, or start one if there is none. The attempt is driven by channel state
+     * change notifications, so it completes as soon as the channel becomes ready instead of on a polling interval.
+     *
+     * @return                          future that completes with `true` if the channel failed to connect
+     */
+    private CompletableFuture<Boolean> awaitConnection() {
+        while (true) {
+            var existing = pendingConnection.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            var connection = new CompletableFuture<Boolean>();
+            if (!pendingConnection.compareAndSet(null, connection)) {
+                continue;
+            }
+
+            var connectEvent = JfrEvents.beginChannelConnect();
+
+            // Give up once the attempt times out; a timer whose task cannot run on the executor gives up right away
+            Runnable giveUp = () -> connection.complete(true);
+            TimerWheel.Timeout timeout;
+            try {
+                timeout = Delayer.runAfter(GET_STATE_TIMEOUT_MILLIS, executor, giveUp, giveUp);
+            } catch (RuntimeException e) {
+                timeout = null;
+                connection.complete(true);
+            }
+
+            // Forget the attempt once it is done so a node that failed can be tried again later
+            var pendingTimeout = timeout;
+            connection.whenComplete((failed, error) -> {
+                pendingConnection.compareAndSet(connection, null);
+                if (pendingTimeout != null) {
+                    pendingTimeout.cancel();
+                }
+                JfrEvents.endChannelConnect(connectEvent, this, error == null && !failed);
+            });
+
+            try {
+                watchConnectivity(getChannel(), connection);
+            } catch (RuntimeException e) {
+                connection.complete(true);
+            }
+
+            return connection;
+        }
+    }
+
+    private void watchConnectivity(ManagedChannel channel, CompletableFuture<Boolean> connection) {
+        if (connection.isDone()) {
+            return;
+        }
+
+        var state = channel.getState(true);
+        if (state == ConnectivityState.READY) {
+            hasConnected = true;
+            connection.complete(false);
+        } else if (state == ConnectivityState.SHUTDOWN) {
+            connection.complete(true);
+        } else {
+            // Keep waiting through transient failures; gRPC reconnects on its own until the attempt times out
+            channel.notifyWhenStateChanged(state, () -> watchConnectivity(channel, connection));
+        }
     }
 
     /**
@@ -328,12 +652,36 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      * @param timeout                   the timeout value
      * @throws InterruptedException     thrown when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
-    synchronized void close(Duration timeout) throws InterruptedException {
-        if (channel != null) {
-            channel.shutdown();
-            channel.awaitTermination(timeout.getSeconds(), TimeUnit.SECONDS);
+    void close(Duration timeout) throws InterruptedException {
+        var closing = shutdownChannel();
+        if (closing != null) {
+            closing.awaitTermination(timeout.getSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Detach the current channel from this node and begin an orderly shutdown of it without waiting for it to
+     * terminate.
+     *
+     * @return                          the channel being shut down, or null if there was none
+     */
+    @Nullable
+    ManagedChannel shutdownChannel() {
+        ManagedChannel closing;
+
+        channelLock.lock();
+        try {
+            closing = channel;
             channel = null;
+        } finally {
+            channelLock.unlock();
+        }
+
+        if (closing != null) {
+            closing.shutdown();
         }
+
+        return closing;
     }
 
     /**
@@ -346,4 +694,22 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         var implementationVersion = thePackage != null ? thePackage.getImplementationVersion() : null;
         return "hedera-sdk-java/" + ((implementationVersion != null) ? ("v" + implementationVersion) : "DEV");
     }
+
+    /**
+     * State of the circuit breaker of a node.
+     */
+    enum CircuitState {
+        /**
+         * Requests go to the node as normal
+         */
+        CLOSED,
+        /**
+         * The node failed and gets no requests; it is probed once its backoff is over
+         */
+        OPEN,
+        /**
+         * A probe of the node is in flight; requests go back to the node only if it succeeds
+         */
+        HALF_OPEN,
+    }
 }
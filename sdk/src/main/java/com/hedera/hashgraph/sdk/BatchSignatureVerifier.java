@@ -0,0 +1,265 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.SignatureMapOrBuilder;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+
+/**
+ * Checks every signature of many signed transactions at once, such as transactions received through
+ * {@link Transaction#fromBytes(byte[])} that must be validated before they are countersigned.
+ * <p>
+ * Each distinct public key is decoded once for the whole batch, and the signatures are then verified on all cores,
+ * both Ed25519 and ECDSA (secp256k1) ones. The result has one entry per signature pair, in the order of the input.
+ */
+public final class BatchSignatureVerifier {
+    /**
+     * Constructor.
+     */
+    private BatchSignatureVerifier() {}
+
+    /**
+     * Verify the signatures of frozen transactions, for every node and chunk.
+     * <p>
+     * Only signatures already present are checked; those of signers given to
+     * {@link Transaction#signWith(PublicKey, java.util.function.UnaryOperator)} are added when the transaction is
+     * built, for example by {@link Transaction#toBytes()}.
+     *
+     * @param transactions              the transactions
+     * @return                          one check per signature pair, in order of transaction, body and pair
+     */
+    public static List<SignatureCheck> verifyTransactions(List<? extends Transaction<?>> transactions) {
+        var bodies = new ArrayList<Body>();
+
+        for (var i = 0; i < transactions.size(); i++) {
+            var transaction = transactions.get(i);
+            if (!transaction.isFrozen()) {
+                throw new IllegalStateException("Transaction must be frozen in order to have signatures.");
+            }
+
+            for (var j = 0; j < transaction.innerSignedTransactions.size(); j++) {
+                bodies.add(new Body(
+                        i,
+                        j,
+                        transaction.innerSignedTransactions.get(j).getBodyBytes(),
+                        transaction.sigPairLists.get(j)));
+            }
+        }
+
+        return verify(bodies);
+    }
+
+    /**
+     * Verify the signatures of signed transactions, as found in the transaction list of
+     * {@link Transaction#toBytes()}.
+     *
+     * @param signedTransactions        the signed transactions
+     * @return                          one check per signature pair, in order of signed transaction and pair
+     */
+    public static List<SignatureCheck> verifySignedTransactions(List<SignedTransaction> signedTransactions) {
+        var bodies = new ArrayList<Body>(signedTransactions.size());
+
+        for (var i = 0; i < signedTransactions.size(); i++) {
+            var signedTransaction = signedTransactions.get(i);
+            bodies.add(new Body(i, 0, signedTransaction.getBodyBytes(), signedTransaction.getSigMap()));
+        }
+
+        return verify(bodies);
+    }
+
+    private static List<SignatureCheck> verify(List<Body> bodies) {
+        // Keys that do not decode map to null, which HashMap does not keep; they are rare and cheap to reject
+        var keys = new HashMap<ByteString, DecodedKey>();
+        var tasks = new ArrayList<Task>();
+
+        for (var body : bodies) {
+            var message = body.bodyBytes.toByteArray();
+
+            for (var pair : body.signatureMap.getSigPairList()) {
+                var key = keys.computeIfAbsent(pair.getPubKeyPrefix(), BatchSignatureVerifier::decode);
+                tasks.add(new Task(body.transactionIndex, body.bodyIndex, message, key, pair));
+            }
+        }
+
+        var valid = new boolean[tasks.size()];
+        IntStream.range(0, tasks.size()).parallel().forEach(i -> valid[i] = tasks.get(i).verify());
+
+        var checks = new ArrayList<SignatureCheck>(tasks.size());
+        for (var i = 0; i < tasks.size(); i++) {
+            var task = tasks.get(i);
+            checks.add(new SignatureCheck(
+                    task.transactionIndex,
+                    task.bodyIndex,
+                    task.key == null ? null : task.key.publicKey,
+                    valid[i]));
+        }
+        return Collections.unmodifiableList(checks);
+    }
+
+    /**
+     * Decode a public key and prepare it for verification.
+     *
+     * @return                          the decoded key, or null if the prefix is not a whole Ed25519 or ECDSA key
+     */
+    @Nullable
+    private static DecodedKey decode(ByteString prefix) {
+        var bytes = prefix.toByteArray();
+        try {
+            if (bytes.length == Ed25519.PUBLIC_KEY_SIZE) {
+                var point = Ed25519.validatePublicKeyPartialExport(bytes, 0);
+                return point == null ? null : new DecodedKey(PublicKey.fromBytes(bytes), point, null);
+            } else if (bytes.length == 33) {
+                var parameters = new ECPublicKeyParameters(
+                        Key.ECDSA_SECP256K1_CURVE.getCurve().decodePoint(bytes), Key.ECDSA_SECP256K1_DOMAIN);
+                return new DecodedKey(PublicKey.fromBytes(bytes), null, parameters);
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a point on the curve
+        }
+
+        return null;
+    }
+
+    /**
+     * The outcome of one signature pair.
+     */
+    public static final class SignatureCheck {
+        /**
+         * The index of the transaction in the input
+         */
+        public final int transactionIndex;
+
+        /**
+         * The index of the signed body within the transaction, counting nodes first, then chunks
+         */
+        public final int bodyIndex;
+
+        /**
+         * The public key of the pair, or null if its prefix is not a whole public key
+         */
+        @Nullable
+        public final PublicKey publicKey;
+
+        /**
+         * Whether the signature is valid for the body and key
+         */
+        public final boolean valid;
+
+        SignatureCheck(int transactionIndex, int bodyIndex, @Nullable PublicKey publicKey, boolean valid) {
+            this.transactionIndex = transactionIndex;
+            this.bodyIndex = bodyIndex;
+            this.publicKey = publicKey;
+            this.valid = valid;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("transactionIndex", transactionIndex)
+                    .add("bodyIndex", bodyIndex)
+                    .add("publicKey", publicKey)
+                    .add("valid", valid)
+                    .toString();
+        }
+    }
+
+    /**
+     * One signed body and its signatures.
+     */
+    private static final class Body {
+        private final int transactionIndex;
+        private final int bodyIndex;
+        private final ByteString bodyBytes;
+        private final SignatureMapOrBuilder signatureMap;
+
+        Body(int transactionIndex, int bodyIndex, ByteString bodyBytes, SignatureMapOrBuilder signatureMap) {
+            this.transactionIndex = transactionIndex;
+            this.bodyIndex = bodyIndex;
+            this.bodyBytes = bodyBytes;
+            this.signatureMap = signatureMap;
+        }
+    }
+
+    /**
+     * A public key decoded once for the whole batch; exactly one of the two forms is set.
+     */
+    private static final class DecodedKey {
+        private final PublicKey publicKey;
+
+        @Nullable
+        private final Ed25519.PublicPoint ed25519;
+
+        @Nullable
+        private final ECPublicKeyParameters ecdsa;
+
+        DecodedKey(
+                PublicKey publicKey, @Nullable Ed25519.PublicPoint ed25519, @Nullable ECPublicKeyParameters ecdsa) {
+            this.publicKey = publicKey;
+            this.ed25519 = ed25519;
+            this.ecdsa = ecdsa;
+        }
+    }
+
+    /**
+     * One signature pair to verify.
+     */
+    private static final class Task {
+        private final int transactionIndex;
+        private final int bodyIndex;
+        private final byte[] message;
+
+        @Nullable
+        private final DecodedKey key;
+
+        private final SignaturePair pair;
+
+        Task(int transactionIndex, int bodyIndex, byte[] message, @Nullable DecodedKey key, SignaturePair pair) {
+            this.transactionIndex = transactionIndex;
+            this.bodyIndex = bodyIndex;
+            this.message = message;
+            this.key = key;
+            this.pair = pair;
+        }
+
+        boolean verify() {
+            if (key == null) {
+                return false;
+            }
+
+            if (key.ed25519 != null && pair.getSignatureCase() == SignaturePair.SignatureCase.ED25519) {
+                var signature = pair.getEd25519().toByteArray();
+                return signature.length == Ed25519.SIGNATURE_SIZE
+                        && Ed25519.verify(signature, 0, key.ed25519, message, 0, message.length);
+            }
+
+            if (key.ecdsa != null && pair.getSignatureCase() == SignaturePair.SignatureCase.ECDSA_SECP256K1) {
+                var signature = pair.getECDSASecp256K1().toByteArray();
+                if (signature.length != 64) {
+                    return false;
+                }
+
+                var signer = new ECDSASigner();
+                signer.init(false, key.ecdsa);
+                return signer.verifySignature(
+                        Crypto.calcKeccak256(message),
+                        new BigInteger(1, Arrays.copyOf(signature, 32)),
+                        new BigInteger(1, Arrays.copyOfRange(signature, 32, 64)));
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Several channels to the same node, presented as one channel.
+ * <p>
+ * Every channel is its own HTTP/2 connection, so spreading calls across them lifts the per-connection limits on
+ * concurrent streams and congestion window. Each call goes to the ready channel with the fewest calls outstanding,
+ * so a broken connection does not take calls, and with them the health of the node, down with it.
+ */
+final class ChannelPool extends ManagedChannel {
+    private final List<ManagedChannel> channels;
+
+    /**
+     * Number of calls started on each channel that have not closed yet
+     */
+    private final AtomicIntegerArray outstandingCalls;
+
+    /**
+     * Where the next scan for a channel starts
+     */
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param channels                  the channels to pool, all to the same node
+     */
+    ChannelPool(List<ManagedChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("a channel pool needs at least one channel");
+        }
+
+        this.channels = List.copyOf(channels);
+        this.outstandingCalls = new AtomicIntegerArray(channels.size());
+    }
+
+    /**
+     * Extract the number of channels in this pool.
+     *
+     * @return                          the number of channels
+     */
+    int size() {
+        return channels.size();
+    }
+
+    /**
+     * Pick the channel for the next call: a ready channel if there is one, and among those the one with the fewest
+     * calls outstanding. The scan starts at a different channel each time, so ties spread across connections.
+     *
+     * @return                          the index of the channel
+     */
+    private int selectChannel() {
+        int size = channels.size();
+        int start = Math.floorMod(nextChannel.getAndIncrement(), size);
+
+        int best = start;
+        int bestRank = Integer.MAX_VALUE;
+        int bestCalls = Integer.MAX_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            int rank = rank(channels.get(index));
+            int calls = outstandingCalls.get(index);
+
+            if (rank < bestRank || (rank == bestRank && calls < bestCalls)) {
+                best = index;
+                bestRank = rank;
+                bestCalls = calls;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Rank a channel by its state; lower is better. A failing channel fails its calls straight away, which would make
+     * it look idle, so it is only used when no channel is doing better.
+     *
+     * @param channel                   the channel
+     * @return                          the rank of the channel
+     */
+    private static int rank(ManagedChannel channel) {
+        switch (channel.getState(false)) {
+            case READY:
+                return 0;
+            case IDLE:
+                // Start connecting so the channel is ready for later calls
+                channel.getState(true);
+                return 1;
+            case CONNECTING:
+                return 1;
+            case TRANSIENT_FAILURE:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+        int index = selectChannel();
+        var call = channels.get(index).newCall(methodDescriptor, callOptions);
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(call) {
+            @Override
+            public void start(Listener<ResponseT> responseListener, Metadata headers) {
+                outstandingCalls.incrementAndGet(index);
+
+                var released = new AtomicBoolean();
+                var listener = new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        if (released.compareAndSet(false, true)) {
+                            outstandingCalls.decrementAndGet(index);
+                        }
+                        super.onClose(status, trailers);
+                    }
+                };
+
+                try {
+                    super.start(listener, headers);
+                } catch (RuntimeException e) {
+                    if (released.compareAndSet(false, true)) {
+                        outstandingCalls.decrementAndGet(index);
+                    }
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String authority() {
+        return channels.get(0).authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        for (var channel : channels) {
+            channel.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (var channel : channels) {
+            if (!channel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (var channel : channels) {
+            if (!channel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        for (var channel : channels) {
+            channel.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for (var channel : channels) {
+            var remaining = deadline - System.nanoTime();
+            if (!channel.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The pool is ready as soon as any of its channels is, so requests can start while the rest connect.
+     */
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+        boolean connecting = false;
+        boolean failing = false;
+        boolean shutdown = true;
+
+        for (var channel : channels) {
+            var state = channel.getState(requestConnection);
+
+            switch (state) {
+                case READY:
+                    return ConnectivityState.READY;
+                case CONNECTING:
+                    connecting = true;
+                    break;
+                case TRANSIENT_FAILURE:
+                    failing = true;
+                    break;
+                default:
+                    break;
+            }
+
+            shutdown &= state == ConnectivityState.SHUTDOWN;
+        }
+
+        if (shutdown) {
+            return ConnectivityState.SHUTDOWN;
+        } else if (connecting) {
+            return ConnectivityState.CONNECTING;
+        } else if (failing) {
+            return ConnectivityState.TRANSIENT_FAILURE;
+        }
+        return ConnectivityState.IDLE;
+    }
+
+    @Override
+    public void notifyWhenStateChanged(ConnectivityState source, Runnable callback) {
+        var notified = new AtomicBoolean();
+
+        for (var channel : channels) {
+            watchChannel(channel, source, callback, notified);
+        }
+    }
+
+    private void watchChannel(
+            ManagedChannel channel, ConnectivityState source, Runnable callback, AtomicBoolean notified) {
+        if (notified.get()) {
+            return;
+        }
+
+        if (getState(false) != source) {
+            if (notified.compareAndSet(false, true)) {
+                callback.run();
+            }
+            return;
+        }
+
+        // Wait for this channel to move on, then check whether that changed the state of the pool as a whole
+        channel.notifyWhenStateChanged(
+                channel.getState(false), () -> watchChannel(channel, source, callback, notified));
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        for (var channel : channels) {
+            channel.resetConnectBackoff();
+        }
+    }
+
+    @Override
+    public void enterIdle() {
+        for (var channel : channels) {
+            channel.enterIdle();
+        }
+    }
+}
@@ -309,6 +309,12 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
      */
     public List<TransactionResponse> executeAll(Client client, Duration timeoutPerChunk)
             throws PrecheckStatusException, TimeoutException {
+        return TraceContext.traceFlow(
+                client, getClass().getSimpleName() + ".executeAll", () -> executeChunks(client, timeoutPerChunk));
+    }
+
+    private List<TransactionResponse> executeChunks(Client client, Duration timeoutPerChunk)
+            throws PrecheckStatusException, TimeoutException {
         freezeAndSign(client);
 
         var responses = new ArrayList<TransactionResponse>(transactionIds.size());
@@ -347,10 +353,17 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
      * @return Future result of execution for each chunk
      */
     public CompletableFuture<List<TransactionResponse>> executeAllAsync(Client client, Duration timeoutPerChunk) {
+        return TraceContext.traceFlowAsync(
+                client, getClass().getSimpleName() + ".executeAll", () -> executeChunksAsync(client, timeoutPerChunk));
+    }
+
+    private CompletableFuture<List<TransactionResponse>> executeChunksAsync(Client client, Duration timeoutPerChunk) {
         freezeAndSign(client);
 
-        CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> future =
-                CompletableFuture.supplyAsync(() -> new ArrayList<>(transactionIds.size()));
+        // With a tracer the first chunk is started on this thread, so it runs under the caller's span
+        CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> future = client.getTracer() == null
+                ? CompletableFuture.supplyAsync(() -> new ArrayList<>(transactionIds.size()))
+                : CompletableFuture.completedFuture(new ArrayList<>(transactionIds.size()));
 
         for (var i = 0; i < transactionIds.size(); i++) {
             future = future.thenCompose(list -> {
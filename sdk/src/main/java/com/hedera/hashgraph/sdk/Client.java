@@ -8,8 +8,10 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.logger.LogLevel;
 import com.hedera.hashgraph.sdk.logger.Logger;
+import com.hedera.hashgraph.sdk.proto.ThrottleDefinitions;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
@@ -26,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -63,6 +66,7 @@ public final class Client implements AutoCloseable {
     final ExecutorService executor;
     private final AtomicReference<Duration> grpcDeadline = new AtomicReference(DEFAULT_GRPC_DEADLINE);
     private final Set<SubscriptionHandle> subscriptions = ConcurrentHashMap.newKeySet();
+    final InFlightLimiter inFlightLimiter = new InFlightLimiter();
 
     @Nullable
     Hbar defaultMaxTransactionFee = null;
@@ -91,6 +95,27 @@ public final class Client implements AutoCloseable {
 
     private Logger logger = new Logger(LogLevel.SILENT);
 
+    private volatile NodeSelectionStrategy nodeSelectionStrategy = NodeSelectionStrategy.RANDOM;
+
+    private volatile boolean eagerConnect = false;
+
+    @Nullable
+    private volatile RetryBudget retryBudget = null;
+
+    @Nullable
+    volatile ThrottleModel throttleModel = null;
+
+    @Nullable
+    private volatile ClientMetrics metrics = null;
+
+    @Nullable
+    private volatile Tracer tracer = null;
+
+    private volatile RequestEventListener requestEventListener = RequestEventListener.NONE;
+
+    @Nullable
+    private volatile ReceiptPoller receiptPoller = null;
+
     /**
      * Constructor.
      *
@@ -137,6 +162,19 @@ public final class Client implements AutoCloseable {
                 new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
+    /**
+     * Create the executor for the given execution mode.
+     *
+     * @param executionMode the threading model
+     * @return the executor service
+     */
+    static ExecutorService createExecutor(ExecutionMode executionMode) {
+        return switch (Objects.requireNonNull(executionMode)) {
+            case PLATFORM_THREADS -> createExecutor();
+            case VIRTUAL_THREADS -> ExecutionMode.newVirtualThreadPerTaskExecutor();
+        };
+    }
+
     /**
      *
      * Construct a client given a set of nodes.
@@ -176,6 +214,24 @@ public final class Client implements AutoCloseable {
         return new Client(executor, network, mirrorNetwork, null, true, null);
     }
 
+    /**
+     * Construct a client given a set of nodes, using an executor created for the given execution mode.
+     *
+     * <p>It is the responsibility of the caller to ensure that all nodes in the map are part of the
+     * same Hedera network. Failure to do so will result in undefined behavior.
+     *
+     * @param networkMap    the map of node IDs to node addresses that make up the network.
+     * @param executionMode the threading model of the executor owned by the client
+     * @return {@link com.hedera.hashgraph.sdk.Client}
+     */
+    public static Client forNetwork(Map<String, AccountId> networkMap, ExecutionMode executionMode) {
+        var executor = createExecutor(executionMode);
+        var network = Network.forNetwork(executor, networkMap);
+        var mirrorNetwork = MirrorNetwork.forNetwork(executor, new ArrayList<>());
+
+        return new Client(executor, network, mirrorNetwork, null, true, null);
+    }
+
     /**
      * Set up the client from selected mirror network.
      *
@@ -269,6 +325,22 @@ public final class Client implements AutoCloseable {
                 executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
     }
 
+    /**
+     * Construct a Hedera client pre-configured for Mainnet access, using an executor created for the given
+     * execution mode.
+     *
+     * @param executionMode the threading model of the executor owned by the client
+     * @return {@link com.hedera.hashgraph.sdk.Client}
+     */
+    public static Client forMainnet(ExecutionMode executionMode) {
+        var executor = createExecutor(executionMode);
+        var network = Network.forMainnet(executor);
+        var mirrorNetwork = MirrorNetwork.forMainnet(executor);
+
+        return new Client(
+                executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
+    }
+
     /**
      * Construct a Hedera client pre-configured for <a href="https://docs.hedera.com/guides/testnet/nodes">Testnet
      * access</a>.
@@ -284,6 +356,22 @@ public final class Client implements AutoCloseable {
                 executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
     }
 
+    /**
+     * Construct a Hedera client pre-configured for Testnet access, using an executor created for the given
+     * execution mode.
+     *
+     * @param executionMode the threading model of the executor owned by the client
+     * @return {@link com.hedera.hashgraph.sdk.Client}
+     */
+    public static Client forTestnet(ExecutionMode executionMode) {
+        var executor = createExecutor(executionMode);
+        var network = Network.forTestnet(executor);
+        var mirrorNetwork = MirrorNetwork.forTestnet(executor);
+
+        return new Client(
+                executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
+    }
+
     /**
      * Construct a Hedera client pre-configured for <a
      * href="https://docs.hedera.com/guides/testnet/testnet-nodes#previewnet-node-public-keys">Preview Testnet
@@ -300,6 +388,22 @@ public final class Client implements AutoCloseable {
                 executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
     }
 
+    /**
+     * Construct a Hedera client pre-configured for Previewnet access, using an executor created for the given
+     * execution mode.
+     *
+     * @param executionMode the threading model of the executor owned by the client
+     * @return {@link com.hedera.hashgraph.sdk.Client}
+     */
+    public static Client forPreviewnet(ExecutionMode executionMode) {
+        var executor = createExecutor(executionMode);
+        var network = Network.forPreviewnet(executor);
+        var mirrorNetwork = MirrorNetwork.forPreviewnet(executor);
+
+        return new Client(
+                executor, network, mirrorNetwork, NETWORK_UPDATE_INITIAL_DELAY, true, DEFAULT_NETWORK_UPDATE_PERIOD);
+    }
+
     /**
      * Configure a client based off the given JSON string.
      *
@@ -377,6 +481,10 @@ public final class Client implements AutoCloseable {
             throw new RuntimeException(e);
         }
 
+        if (eagerConnect) {
+            warmUpInBackground();
+        }
+
         return this;
     }
 
@@ -443,6 +551,11 @@ public final class Client implements AutoCloseable {
             throws InterruptedException, TimeoutException {
         network.setNetwork(Network.addressBookToNetwork(addressBook.nodeAddresses));
         network.setAddressBook(addressBook);
+
+        if (eagerConnect) {
+            warmUpInBackground();
+        }
+
         return this;
     }
 
@@ -466,6 +579,79 @@ public final class Client implements AutoCloseable {
     public synchronized Client setNetwork(Map<String, AccountId> network)
             throws InterruptedException, TimeoutException {
         this.network.setNetwork(network);
+
+        if (eagerConnect) {
+            warmUpInBackground();
+        }
+
+        return this;
+    }
+
+    /**
+     * Open the connections to every consensus and mirror node at once, instead of waiting for the first request to
+     * each node to do it.
+     * <br>
+     * Nodes that do not connect within the timeout are put into backoff, so requests avoid them until they are
+     * readmitted. The returned future can be used to hold back readiness until the client is connected.
+     *
+     * @param timeout how long to wait for each node
+     * @return a future of the addresses of the nodes that failed to connect
+     */
+    public CompletableFuture<List<String>> warmUp(Duration timeout) {
+        Objects.requireNonNull(timeout);
+
+        var nodes = network.warmUp(timeout);
+        var mirrorNodes = mirrorNetwork.warmUp(timeout);
+
+        return nodes.thenCombine(mirrorNodes, (failedNodes, failedMirrorNodes) -> {
+            var addresses = new ArrayList<String>(failedNodes.size() + failedMirrorNodes.size());
+
+            for (var node : failedNodes) {
+                addresses.add(node.getAddress().toString());
+            }
+
+            for (var node : failedMirrorNodes) {
+                addresses.add(node.getAddress().toString());
+            }
+
+            return addresses;
+        });
+    }
+
+    private void warmUpInBackground() {
+        warmUp(getGrpcDeadline()).whenComplete((failedAddresses, error) -> {
+            if (error != null) {
+                logger.warn("Failed to warm up node connections", error);
+            } else if (!failedAddresses.isEmpty()) {
+                logger.warn("Failed to connect to nodes {}", failedAddresses);
+            }
+        });
+    }
+
+    /**
+     * Are connections opened as soon as nodes are added to the client?
+     *
+     * @return whether connections are opened eagerly
+     */
+    public boolean isEagerConnect() {
+        return eagerConnect;
+    }
+
+    /**
+     * Set whether connections to nodes are opened as soon as the nodes are added to the client, rather than when
+     * the first request is sent to them. Enabling this starts a {@link #warmUp(Duration)} of the current network,
+     * and another one whenever the network or mirror network is replaced.
+     *
+     * @param eagerConnect whether connections should be opened eagerly
+     * @return {@code this}
+     */
+    public Client setEagerConnect(boolean eagerConnect) {
+        this.eagerConnect = eagerConnect;
+
+        if (eagerConnect) {
+            warmUpInBackground();
+        }
+
         return this;
     }
 
@@ -1050,6 +1236,344 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Extract the number of connections opened to each consensus node.
+     *
+     * @return the number of connections per node
+     */
+    public int getChannelsPerNode() {
+        return network.getChannelsPerNode();
+    }
+
+    /**
+     * Set the number of connections opened to each consensus node. Defaults to 1.
+     * <br>
+     * Every connection is a separate HTTP/2 connection, so raising this lets a node serve more concurrent requests
+     * than one connection's stream limit allows. Each request goes to the connection with the fewest requests in
+     * flight. Nodes that are already connected keep their current connections, so set this before sending requests.
+     *
+     * @param channelsPerNode the number of connections per node
+     * @return {@code this}
+     */
+    public Client setChannelsPerNode(int channelsPerNode) {
+        network.setChannelsPerNode(channelsPerNode);
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of asynchronous requests this client has in flight at once.
+     *
+     * @return the limit, or 0 if there is none
+     */
+    public int getMaxInFlightRequests() {
+        return inFlightLimiter.getLimit();
+    }
+
+    /**
+     * Set the maximum number of asynchronous requests this client has in flight at once. Defaults to 0, no limit.
+     * <br>
+     * Once the limit is reached, {@link Executable#executeAsync(Client)} queues further requests until earlier ones
+     * finish, and {@link Executable#tryExecuteAsync(Client)} refuses them with an
+     * {@link InFlightLimitExceededException}. Use {@link #awaitInFlightCapacity()} to hold back producers until there
+     * is room again.
+     *
+     * @param maxInFlightRequests the limit, or 0 for none
+     * @return {@code this}
+     */
+    public Client setMaxInFlightRequests(int maxInFlightRequests) {
+        inFlightLimiter.setLimit(maxInFlightRequests);
+        return this;
+    }
+
+    /**
+     * Extract the number of requests in flight to a single node above which other nodes are preferred.
+     *
+     * @return the limit per node, or 0 if there is none
+     */
+    public int getMaxInFlightRequestsPerNode() {
+        return network.getMaxInFlightRequestsPerNode();
+    }
+
+    /**
+     * Set the number of requests in flight to a single node above which other nodes are preferred. Defaults to 0, no
+     * limit.
+     * <br>
+     * A request skips nodes that are at their limit in favour of the other nodes it may be sent to. It only goes to a
+     * node at its limit when all of its nodes are at their limit or unhealthy.
+     *
+     * @param maxInFlightRequestsPerNode the limit per node, or 0 for none
+     * @return {@code this}
+     */
+    public Client setMaxInFlightRequestsPerNode(int maxInFlightRequestsPerNode) {
+        network.setMaxInFlightRequestsPerNode(maxInFlightRequestsPerNode);
+        return this;
+    }
+
+    /**
+     * Extract the number of asynchronous requests this client has in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlightRequests() {
+        return inFlightLimiter.getInFlight();
+    }
+
+    /**
+     * Wait until this client is below its limit of requests in flight. The future does not reserve a place, so a
+     * request started after it completes can still be refused if other callers got there first.
+     *
+     * @return a future that completes once a new request would be admitted without waiting
+     */
+    public CompletableFuture<Void> awaitInFlightCapacity() {
+        return inFlightLimiter.awaitCapacity();
+    }
+
+    /**
+     * Extract the budget that caps the retries of this client.
+     *
+     * @return the retry budget, or null if retries are not budgeted
+     */
+    @Nullable
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Set a budget that caps the retries of all requests sent by this client, including the resubscriptions of
+     * {@link TopicMessageQuery}. Defaults to null, which lets every request retry up to its own maximum attempts.
+     *
+     * @param retryBudget the retry budget, or null to stop budgeting retries
+     * @return {@code this}
+     */
+    public Client setRetryBudget(@Nullable RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+        return this;
+    }
+
+    /**
+     * Extract the listener that receives the metrics of this client's requests.
+     *
+     * @return the metrics listener, or null if metrics are not collected
+     */
+    @Nullable
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set a listener that is told about every attempt made by the requests of this client, for exporting metrics.
+     * Requests that are already executing keep the listener they started with. Defaults to null.
+     *
+     * @param metrics the metrics listener, such as a {@link HistogramClientMetrics}, or null to stop collecting metrics
+     * @return {@code this}
+     */
+    public Client setMetrics(@Nullable ClientMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Extract the tracer that receives the spans of this client's flows, requests and attempts.
+     *
+     * @return the tracer, or null if requests are not traced
+     */
+    @Nullable
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Set a tracer that receives a span for every flow, every execution of a request and every attempt of an
+     * execution made with this client. Defaults to null, which starts no spans.
+     *
+     * @param tracer the tracer, such as an adapter for a tracing library, or null to stop tracing
+     * @return {@code this}
+     * @see TraceContext
+     */
+    public Client setTracer(@Nullable Tracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    /**
+     * Extract the listener that receives the events of this client's requests.
+     *
+     * @return the listener, {@link RequestEventListener#NONE} if none is set
+     */
+    public RequestEventListener getRequestEventListener() {
+        return requestEventListener;
+    }
+
+    /**
+     * Set a listener that is told when the requests of this client send attempts, receive responses, fail and are
+     * retried. It is called alongside the logger of the request, which stays in use. Requests that are already
+     * executing keep the listener they started with. Defaults to {@link RequestEventListener#NONE}.
+     *
+     * @param requestEventListener the listener, or null to stop listening
+     * @return {@code this}
+     */
+    public Client setRequestEventListener(@Nullable RequestEventListener requestEventListener) {
+        this.requestEventListener = requestEventListener == null ? RequestEventListener.NONE : requestEventListener;
+        return this;
+    }
+
+    /**
+     * Pace the transactions sent by this client against the throttle definitions of the network, so they are held
+     * back locally instead of being sent only to come back {@link Status#BUSY}. The definitions are shared by every
+     * client of the network, so this cannot rule out {@link Status#BUSY} entirely. Defaults to null, which sends
+     * transactions as soon as they are executed.
+     *
+     * @param throttleDefinitions the throttle definitions, or null to stop pacing transactions
+     * @return {@code this}
+     * @see #updateThrottleDefinitions()
+     */
+    public Client setThrottleDefinitions(@Nullable ThrottleDefinitions throttleDefinitions) {
+        this.throttleModel = throttleDefinitions == null ? null : new ThrottleModel(throttleDefinitions);
+        return this;
+    }
+
+    /**
+     * Load the throttle definitions from the network's {@link FileId#THROTTLE_DEFINITIONS} file and pace transactions
+     * against them.
+     *
+     * @return {@code this}
+     * @throws TimeoutException                when the transaction times out
+     * @throws PrecheckStatusException         when the precheck fails
+     * @throws InvalidProtocolBufferException  when the file does not hold throttle definitions
+     * @see #setThrottleDefinitions(ThrottleDefinitions)
+     */
+    public Client updateThrottleDefinitions()
+            throws TimeoutException, PrecheckStatusException, InvalidProtocolBufferException {
+        var contents = new FileContentsQuery()
+                .setFileId(FileId.THROTTLE_DEFINITIONS)
+                .execute(this);
+
+        return setThrottleDefinitions(ThrottleDefinitions.parseFrom(contents));
+    }
+
+    /**
+     * Load the throttle definitions from the network's {@link FileId#THROTTLE_DEFINITIONS} file and pace transactions
+     * against them.
+     *
+     * @return future that completes once the definitions are in use
+     * @see #setThrottleDefinitions(ThrottleDefinitions)
+     */
+    public CompletableFuture<Void> updateThrottleDefinitionsAsync() {
+        return new FileContentsQuery()
+                .setFileId(FileId.THROTTLE_DEFINITIONS)
+                .executeAsync(this)
+                .thenAccept(contents -> {
+                    try {
+                        setThrottleDefinitions(ThrottleDefinitions.parseFrom(contents));
+                    } catch (InvalidProtocolBufferException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Extract the strategy used to pick between nodes.
+     *
+     * @return the node selection strategy
+     */
+    public NodeSelectionStrategy getNodeSelectionStrategy() {
+        return nodeSelectionStrategy;
+    }
+
+    /**
+     * Set the strategy used to pick between nodes, both when choosing the nodes for a request and when choosing
+     * between the proxies of a node. Defaults to {@link NodeSelectionStrategy#RANDOM}.
+     *
+     * @param nodeSelectionStrategy the node selection strategy
+     * @return {@code this}
+     */
+    public Client setNodeSelectionStrategy(NodeSelectionStrategy nodeSelectionStrategy) {
+        Objects.requireNonNull(nodeSelectionStrategy);
+        network.setNodeSelectionStrategy(nodeSelectionStrategy);
+        this.nodeSelectionStrategy = nodeSelectionStrategy;
+        return this;
+    }
+
+    /**
+     * Submit many transactions through a {@link TransactionPipeline} with its default settings. Each transaction is
+     * frozen and signed if it is not already, and those without node account IDs are spread over the healthy nodes.
+     *
+     * @param transactions the transactions to submit
+     * @param listener     receives the outcome of each transaction as it completes
+     * @return future that completes once every transaction has been reported to the listener
+     */
+    public CompletableFuture<Void> submitAll(
+            Iterable<? extends Transaction<?>> transactions, TransactionPipeline.Listener listener) {
+        return new TransactionPipeline(this).submitAll(transactions, listener);
+    }
+
+    /**
+     * Are nodes that failed probed before requests go back to them?
+     *
+     * @return whether the node circuit breaker is enabled
+     */
+    public boolean isNodeCircuitBreaker() {
+        return network.isCircuitBreaker();
+    }
+
+    /**
+     * Set whether every node gets a circuit breaker. A node that fails is taken out of rotation as usual, but once
+     * its backoff is over it is not readmitted blindly: its circuit goes half-open and a background task sends it
+     * the free query used by {@link #ping(AccountId)}. Requests only go back to the node if the probe succeeds;
+     * otherwise the node backs off for longer. Defaults to false, which readmits nodes when their backoff is over.
+     *
+     * @param nodeCircuitBreaker whether to probe failed nodes before readmitting them
+     * @return {@code this}
+     */
+    public Client setNodeCircuitBreaker(boolean nodeCircuitBreaker) {
+        network.setCircuitBreaker(nodeCircuitBreaker);
+        return this;
+    }
+
+    /**
+     * Are receipts waited for by the shared {@link ReceiptPoller}?
+     *
+     * @return whether receipt polling is enabled
+     */
+    public boolean isReceiptPolling() {
+        return receiptPoller != null;
+    }
+
+    /**
+     * Set whether {@link TransactionResponse#getReceiptAsync(Client)} and
+     * {@link TransactionResponse#getRecordAsync(Client)} wait for receipts through one {@link ReceiptPoller} shared by
+     * the whole client, instead of each running its own {@link TransactionReceiptQuery} with backoff. This pays off
+     * when thousands of receipts are waited for at once. Defaults to false.
+     * <p>
+     * Polls back off their nodes and report to the metrics, tracer and request event listener like other requests,
+     * but they are not held back by {@link #setMaxInFlightRequests(int)} or
+     * {@link #setMaxInFlightRequestsPerNode(int)}; {@link ReceiptPoller#setMaxPollsInFlightPerNode(int)} bounds them
+     * instead.
+     * <p>
+     * Disabling it lets the receipts already being polled finish.
+     *
+     * @param receiptPolling whether to use the shared receipt poller
+     * @return {@code this}
+     */
+    public synchronized Client setReceiptPolling(boolean receiptPolling) {
+        if (!receiptPolling) {
+            receiptPoller = null;
+        } else if (receiptPoller == null) {
+            receiptPoller = new ReceiptPoller(this);
+        }
+        return this;
+    }
+
+    /**
+     * Extract the shared receipt poller.
+     *
+     * @return the receipt poller, or null if receipt polling is disabled
+     */
+    @Nullable
+    public ReceiptPoller getReceiptPoller() {
+        return receiptPoller;
+    }
+
     /**
      * Enable or disable automatic entity ID checksum validation.
      *
@@ -1347,6 +1871,11 @@ public final class Client implements AutoCloseable {
         cancelScheduledNetworkUpdate();
         cancelAllSubscriptions();
 
+        var poller = receiptPoller;
+        if (poller != null) {
+            poller.cancelAll(new IllegalStateException("client was closed while waiting for the receipt"));
+        }
+
         network.beginClose();
         mirrorNetwork.beginClose();
 
@@ -1355,6 +1884,9 @@ public final class Client implements AutoCloseable {
 
         // https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ExecutorService.html
         if (shouldShutdownExecutor) {
+            // Retries and backoffs still waiting would only be rejected by the executor once it is shut down
+            Delayer.cancelAll(executor);
+
             try {
                 executor.shutdown();
                 if (!executor.awaitTermination(timeout.getSeconds() / 2, TimeUnit.SECONDS)) {
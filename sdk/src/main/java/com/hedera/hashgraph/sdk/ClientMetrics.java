@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Listener for the attempts made by the requests of a {@link Client}, for exporting metrics.
+ * <p>
+ * Methods are called on the thread that drives the request, often a gRPC or executor thread, so they must return
+ * quickly and must not throw. Every method does nothing by default.
+ *
+ * @see Client#setMetrics(ClientMetrics)
+ * @see HistogramClientMetrics
+ */
+public interface ClientMetrics {
+    /**
+     * Called when an attempt is sent to a node.
+     *
+     * @param nodeAccountId the account ID of the node
+     * @param methodName    the full name of the gRPC method, such as {@code proto.CryptoService/cryptoTransfer}
+     * @param attempt       the attempt number, starting at 1
+     */
+    default void onAttemptStarted(AccountId nodeAccountId, String methodName, int attempt) {}
+
+    /**
+     * Called when an attempt sent to a node has finished.
+     *
+     * @param nodeAccountId the account ID of the node
+     * @param methodName    the full name of the gRPC method
+     * @param attempt       the attempt number, starting at 1
+     * @param latencyNanos  the time from sending the attempt to its completion, in nanoseconds
+     * @param status        the precheck status of the response, or null if the node did not respond
+     */
+    default void onAttemptFinished(
+            AccountId nodeAccountId, String methodName, int attempt, long latencyNanos, @Nullable Status status) {}
+
+    /**
+     * Called when an attempt has failed and the request will be retried.
+     *
+     * @param nodeAccountId the account ID of the node the failed attempt was sent to
+     * @param methodName    the full name of the gRPC method
+     * @param attempt       the number of the failed attempt
+     * @param reason        why the attempt failed
+     * @param backoffMillis how long the request or the node backs off before it is tried again, in milliseconds
+     */
+    default void onRetry(
+            AccountId nodeAccountId, String methodName, int attempt, RetryReason reason, long backoffMillis) {}
+
+    /**
+     * Why an attempt is retried.
+     */
+    enum RetryReason {
+        /**
+         * The channel to the node could not connect; the node backs off and another node is tried.
+         */
+        CONNECTION_FAILURE,
+        /**
+         * The call failed in gRPC before the node responded; the node backs off and another node is tried.
+         */
+        GRPC_ERROR,
+        /**
+         * The node responded with a status that asks for another node, such as {@link Status#PLATFORM_NOT_ACTIVE}.
+         */
+        SERVER_ERROR,
+        /**
+         * The node responded with a status that asks to try again later, such as {@link Status#BUSY}.
+         */
+        RETRYABLE_STATUS,
+    }
+}
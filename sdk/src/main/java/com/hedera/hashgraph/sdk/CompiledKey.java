@@ -0,0 +1,367 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.SignatureMapOrBuilder;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Key} structure compiled to check quickly whether a set of signatures satisfies it, so that a signing
+ * coordinator can stop collecting signatures as soon as the thresholds are met instead of waiting for the network to
+ * answer {@link Status#INVALID_SIGNATURE}.
+ * <p>
+ * The tree of nested {@link KeyList}s is flattened into arrays in post-order and every distinct public key is given a
+ * bit. Checking a signature map marks the bits of the keys that signed, then evaluates the arrays in one pass with a
+ * stack of results. When the signature pairs carry whole public keys, as this SDK writes them, a check takes time
+ * linear in the size of the key and the signature map.
+ * <p>
+ * The rules follow the network:
+ * <ul>
+ *     <li>a key list without a threshold needs all of its keys;</li>
+ *     <li>a key list with a threshold needs at least that many of its keys, and at least one;</li>
+ *     <li>an empty key list can never be satisfied;</li>
+ *     <li>an {@link EvmAddress} is satisfied by a full ECDSA key with that address;</li>
+ *     <li>a {@link ContractId} or {@link DelegateContractId} is only satisfied by the contract itself calling, so never
+ *     by signatures.</li>
+ * </ul>
+ * A signature pair is matched to a key by its public key prefix, which must match exactly one key.
+ */
+public final class CompiledKey {
+    private static final int OP_KEY = 0;
+    private static final int OP_EVM_ADDRESS = 1;
+    private static final int OP_LIST = 2;
+    private static final int OP_NEVER = 3;
+
+    // The nodes of the tree in post-order; the argument is the key index, address index or number of children
+    private final int[] ops;
+    private final int[] args;
+    private final int[] thresholds;
+
+    private final List<PublicKey> keys;
+    private final byte[][] keyBytes;
+    private final Map<ByteString, Integer> keyIndexes;
+    private final List<EvmAddress> evmAddresses;
+    private final Map<EvmAddress, Integer> evmAddressIndexes;
+
+    private CompiledKey(Builder builder) {
+        var size = builder.ops.size();
+        ops = new int[size];
+        args = new int[size];
+        thresholds = new int[size];
+        for (var i = 0; i < size; i++) {
+            ops[i] = builder.ops.get(i);
+            args[i] = builder.args.get(i);
+            thresholds[i] = builder.thresholds.get(i);
+        }
+
+        keys = Collections.unmodifiableList(builder.keys);
+        keyBytes = new byte[keys.size()][];
+        keyIndexes = builder.keyIndexes;
+        for (var i = 0; i < keys.size(); i++) {
+            keyBytes[i] = keys.get(i).toBytesRaw();
+        }
+
+        evmAddresses = builder.evmAddresses;
+        evmAddressIndexes = builder.evmAddressIndexes;
+    }
+
+    /**
+     * Compile a key structure.
+     *
+     * @param key                       the key, such as a {@link KeyList} or a {@link PublicKey}
+     * @return                          the compiled key
+     */
+    public static CompiledKey compile(Key key) {
+        var builder = new Builder();
+        builder.add(key);
+        return new CompiledKey(builder);
+    }
+
+    /**
+     * Extract the distinct public keys of the structure.
+     *
+     * @return                          the public keys, in the order they first appear
+     */
+    public List<PublicKey> getPublicKeys() {
+        return keys;
+    }
+
+    /**
+     * Is the key satisfied by signatures of the given public keys?
+     *
+     * @param signers                   the public keys that signed
+     * @return                          whether the key is satisfied
+     */
+    public boolean isSatisfiedBy(Collection<PublicKey> signers) {
+        var signed = new BitSet(keys.size());
+        var signedAddresses = new BitSet(evmAddresses.size());
+
+        for (var signer : signers) {
+            var index = keyIndexes.get(ByteString.copyFrom(signer.toBytesRaw()));
+            if (index != null) {
+                signed.set(index);
+            }
+            markEvmAddress(signer, signedAddresses);
+        }
+
+        return evaluate(signed, signedAddresses);
+    }
+
+    /**
+     * Is the key satisfied by the signatures of a signature map? The signatures themselves are not checked.
+     *
+     * @param signatureMap              the signature map
+     * @return                          whether the key is satisfied
+     */
+    public boolean isSatisfiedBy(SignatureMapOrBuilder signatureMap) {
+        return isSatisfiedBy(null, signatureMap);
+    }
+
+    /**
+     * Is the key satisfied by the valid signatures of a signature map? Each signature that matches a key of the
+     * structure is verified against the body as it is marked; invalid signatures are ignored.
+     *
+     * @param bodyBytes                 the signed body, or null to not verify the signatures
+     * @param signatureMap              the signature map
+     * @return                          whether the key is satisfied
+     */
+    public boolean isSatisfiedBy(@Nullable byte[] bodyBytes, SignatureMapOrBuilder signatureMap) {
+        return check(bodyBytes, signatureMap, List.of());
+    }
+
+    /**
+     * Is the key satisfied for every node and chunk of a frozen transaction?
+     * <p>
+     * Without verification, the public keys of signers that have not signed yet because the transaction is not built
+     * count as well; with verification only signatures already present do.
+     *
+     * @param transaction               the frozen transaction
+     * @param verifySignatures          whether to verify each signature that matches a key
+     * @return                          whether the key is satisfied by the signatures of every body
+     */
+    public boolean isSatisfiedBy(Transaction<?> transaction, boolean verifySignatures) {
+        if (!transaction.isFrozen()) {
+            throw new IllegalStateException("Transaction must be frozen in order to have signatures.");
+        }
+
+        var pendingSigners = new ArrayList<PublicKey>();
+        if (!verifySignatures) {
+            for (var i = 0; i < transaction.publicKeys.size(); i++) {
+                if (transaction.signers.get(i) != null) {
+                    pendingSigners.add(transaction.publicKeys.get(i));
+                }
+            }
+        }
+
+        for (var i = 0; i < transaction.innerSignedTransactions.size(); i++) {
+            var bodyBytes = verifySignatures
+                    ? transaction.innerSignedTransactions.get(i).getBodyBytes().toByteArray()
+                    : null;
+            if (!check(bodyBytes, transaction.sigPairLists.get(i), pendingSigners)) {
+                return false;
+            }
+        }
+
+        return !transaction.innerSignedTransactions.isEmpty();
+    }
+
+    private boolean check(
+            @Nullable byte[] bodyBytes, SignatureMapOrBuilder signatureMap, List<PublicKey> pendingSigners) {
+        var signed = new BitSet(keys.size());
+        var signedAddresses = new BitSet(evmAddresses.size());
+
+        for (var signer : pendingSigners) {
+            var index = keyIndexes.get(ByteString.copyFrom(signer.toBytesRaw()));
+            if (index != null) {
+                signed.set(index);
+            }
+            markEvmAddress(signer, signedAddresses);
+        }
+
+        for (var pair : signatureMap.getSigPairList()) {
+            var index = findKey(pair.getPubKeyPrefix());
+            if (index < 0) {
+                markEvmAddress(bodyBytes, pair, signedAddresses);
+                continue;
+            }
+
+            var key = keys.get(index);
+            if (bodyBytes != null && !verify(key, bodyBytes, pair)) {
+                continue;
+            }
+
+            signed.set(index);
+            markEvmAddress(key, signedAddresses);
+        }
+
+        return evaluate(signed, signedAddresses);
+    }
+
+    /**
+     * Find the key a public key prefix refers to.
+     *
+     * @return                          the index of the key, or -1 if no key or more than one matches
+     */
+    private int findKey(ByteString prefix) {
+        var index = keyIndexes.get(prefix);
+        if (index != null) {
+            return index;
+        }
+
+        var found = -1;
+        for (var i = 0; i < keyBytes.length; i++) {
+            if (startsWith(keyBytes[i], prefix)) {
+                if (found >= 0) {
+                    return -1;
+                }
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    private static boolean startsWith(byte[] bytes, ByteString prefix) {
+        if (prefix.isEmpty() || prefix.size() > bytes.length) {
+            return false;
+        }
+
+        for (var i = 0; i < prefix.size(); i++) {
+            if (bytes[i] != prefix.byteAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean verify(PublicKey key, byte[] bodyBytes, SignaturePair pair) {
+        ByteString signature;
+        if (key.isED25519() && pair.getSignatureCase() == SignaturePair.SignatureCase.ED25519) {
+            signature = pair.getEd25519();
+        } else if (key.isECDSA() && pair.getSignatureCase() == SignaturePair.SignatureCase.ECDSA_SECP256K1) {
+            signature = pair.getECDSASecp256K1();
+        } else {
+            return false;
+        }
+
+        return key.verify(bodyBytes, signature.toByteArray());
+    }
+
+    /**
+     * Mark the address of a signature pair that carries a whole ECDSA key that is not itself part of the structure.
+     */
+    private void markEvmAddress(@Nullable byte[] bodyBytes, SignaturePair pair, BitSet signedAddresses) {
+        if (evmAddresses.isEmpty()
+                || pair.getPubKeyPrefix().size() != 33
+                || pair.getSignatureCase() != SignaturePair.SignatureCase.ECDSA_SECP256K1) {
+            return;
+        }
+
+        PublicKey key;
+        try {
+            key = PublicKey.fromBytesECDSA(pair.getPubKeyPrefix().toByteArray());
+        } catch (IllegalArgumentException e) {
+            // Not a point on the curve
+            return;
+        }
+
+        if (bodyBytes == null || verify(key, bodyBytes, pair)) {
+            markEvmAddress(key, signedAddresses);
+        }
+    }
+
+    private void markEvmAddress(PublicKey key, BitSet signedAddresses) {
+        if (evmAddresses.isEmpty() || !key.isECDSA()) {
+            return;
+        }
+
+        var index = evmAddressIndexes.get(key.toEvmAddress());
+        if (index != null) {
+            signedAddresses.set(index);
+        }
+    }
+
+    /**
+     * Evaluate the tree bottom-up with a stack of results.
+     */
+    private boolean evaluate(BitSet signed, BitSet signedAddresses) {
+        var stack = new boolean[ops.length];
+        var top = 0;
+
+        for (var i = 0; i < ops.length; i++) {
+            boolean satisfied;
+            switch (ops[i]) {
+                case OP_KEY -> satisfied = signed.get(args[i]);
+                case OP_EVM_ADDRESS -> satisfied = signedAddresses.get(args[i]);
+                case OP_LIST -> {
+                    var children = args[i];
+                    var count = 0;
+                    for (var j = top - children; j < top; j++) {
+                        if (stack[j]) {
+                            count++;
+                        }
+                    }
+                    top -= children;
+                    satisfied = children > 0 && count >= thresholds[i];
+                }
+                default -> satisfied = false;
+            }
+
+            stack[top++] = satisfied;
+        }
+
+        return top == 1 && stack[0];
+    }
+
+    /**
+     * Flattens a key tree in post-order.
+     */
+    private static final class Builder {
+        private final List<Integer> ops = new ArrayList<>();
+        private final List<Integer> args = new ArrayList<>();
+        private final List<Integer> thresholds = new ArrayList<>();
+        private final List<PublicKey> keys = new ArrayList<>();
+        private final Map<ByteString, Integer> keyIndexes = new HashMap<>();
+        private final List<EvmAddress> evmAddresses = new ArrayList<>();
+        private final Map<EvmAddress, Integer> evmAddressIndexes = new HashMap<>();
+
+        void add(Key key) {
+            if (key instanceof KeyList keyList) {
+                for (var child : keyList) {
+                    add(child);
+                }
+
+                var threshold = keyList.getThreshold();
+                emit(OP_LIST, keyList.size(), threshold == null ? keyList.size() : Math.max(1, threshold));
+            } else if (key instanceof PublicKey publicKey) {
+                var index = keyIndexes.computeIfAbsent(ByteString.copyFrom(publicKey.toBytesRaw()), bytes -> {
+                    keys.add(publicKey);
+                    return keys.size() - 1;
+                });
+                emit(OP_KEY, index, 0);
+            } else if (key instanceof EvmAddress evmAddress) {
+                var index = evmAddressIndexes.computeIfAbsent(evmAddress, address -> {
+                    evmAddresses.add(address);
+                    return evmAddresses.size() - 1;
+                });
+                emit(OP_EVM_ADDRESS, index, 0);
+            } else {
+                // Contract keys, and anything else that signatures cannot satisfy
+                emit(OP_NEVER, 0, 0);
+            }
+        }
+
+        private void emit(int op, int arg, int threshold) {
+            ops.add(op);
+            args.add(arg);
+            thresholds.add(threshold);
+        }
+    }
+}
@@ -656,6 +656,12 @@ public class ContractCreateFlow {
      */
     public TransactionResponse execute(Client client, Duration timeoutPerTransaction)
             throws PrecheckStatusException, TimeoutException {
+        return TraceContext.traceFlow(
+                client, "ContractCreateFlow", () -> executeSteps(client, timeoutPerTransaction));
+    }
+
+    private TransactionResponse executeSteps(Client client, Duration timeoutPerTransaction)
+            throws PrecheckStatusException, TimeoutException {
         try {
             splitBytecode();
             var fileId = createFileCreateTransaction(client)
@@ -693,6 +699,11 @@ public class ContractCreateFlow {
      * @return the response
      */
     public CompletableFuture<TransactionResponse> executeAsync(Client client, Duration timeoutPerTransaction) {
+        return TraceContext.traceFlowAsync(
+                client, "ContractCreateFlow", () -> executeStepsAsync(client, timeoutPerTransaction));
+    }
+
+    private CompletableFuture<TransactionResponse> executeStepsAsync(Client client, Duration timeoutPerTransaction) {
         splitBytecode();
         return createFileCreateTransaction(client)
                 .executeAsync(client, timeoutPerTransaction)
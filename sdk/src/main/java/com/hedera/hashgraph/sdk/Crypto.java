@@ -18,13 +18,13 @@ import javax.crypto.spec.SecretKeySpec;
 import org.bouncycastle.asn1.sec.SECNamedCurves;
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA384Digest;
 import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
 import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.jcajce.provider.digest.Keccak;
 import org.bouncycastle.math.ec.ECAlgorithms;
 import org.bouncycastle.math.ec.ECPoint;
 
@@ -47,6 +47,8 @@ final class Crypto {
             ECDSA_SECP256K1_CURVE.getN(),
             ECDSA_SECP256K1_CURVE.getH());
 
+    private static final ThreadLocal<KeccakDigest> KECCAK_256 = ThreadLocal.withInitial(() -> new KeccakDigest(256));
+
     /**
      * Constructor.
      */
@@ -234,9 +236,12 @@ final class Crypto {
      * @return                          the hash
      */
     static byte[] calcKeccak256(byte[] message) {
-        var digest = new Keccak.Digest256();
-        digest.update(message);
-        return digest.digest();
+        // doFinal resets the digest, so the one of the thread can be reused
+        var digest = KECCAK_256.get();
+        var hash = new byte[32];
+        digest.update(message, 0, message.length);
+        digest.doFinal(hash, 0);
+        return hash;
     }
 
     /**
@@ -4,10 +4,9 @@ package com.hedera.hashgraph.sdk;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,11 +16,8 @@ import org.slf4j.LoggerFactory;
 final class Delayer {
     private static final Logger logger = LoggerFactory.getLogger(Delayer.class);
 
-    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread t = new Thread(r);
-        t.setDaemon(true);
-        return t;
-    });
+    // Backoffs are at least hundreds of milliseconds, so a 10 ms tick is plenty; 512 buckets cover ~5 s per turn
+    private static final TimerWheel TIMER = new TimerWheel(10, TimeUnit.MILLISECONDS, 512, "hedera-sdk-delayer");
 
     private static final Duration MIN_DELAY = Duration.ofMillis(500);
 
@@ -53,10 +49,61 @@ final class Delayer {
     static CompletableFuture<Void> delayFor(long milliseconds, Executor executor) {
         logger.trace("waiting for {} seconds before trying again", (double) milliseconds / 1000.0);
 
-        return CompletableFuture.runAsync(() -> {}, delayedExecutor(milliseconds, TimeUnit.MILLISECONDS, executor));
+        var future = new CompletableFuture<Void>();
+        var timeout = TIMER.schedule(
+                milliseconds, TimeUnit.MILLISECONDS, executor, () -> future.complete(null), () -> future.cancel(false));
+
+        // Take the delay off the wheel if the caller gives up on it
+        future.whenComplete((ignored, error) -> {
+            if (future.isCancelled()) {
+                timeout.cancel();
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Run a task on the executor once the delay has passed, without creating a future for it.
+     *
+     * @param milliseconds              the milliseconds
+     * @param executor                  the executor
+     * @param task                      the task to run
+     * @return                          the pending timeout, or null if the task was run right away
+     */
+    @Nullable
+    static TimerWheel.Timeout runAfter(long milliseconds, Executor executor, Runnable task) {
+        return runAfter(milliseconds, executor, task, null);
     }
 
-    private static Executor delayedExecutor(long delay, TimeUnit unit, Executor executor) {
-        return r -> SCHEDULER.schedule(() -> executor.execute(r), delay, unit);
+    /**
+     * Run a task on the executor once the delay has passed, without creating a future for it.
+     *
+     * @param milliseconds              the milliseconds
+     * @param executor                  the executor
+     * @param task                      the task to run
+     * @param onCancelled               run instead of the task if the delay is dropped by {@link #cancelAll(Executor)}
+     * @return                          the pending timeout, or null if the task was run right away
+     */
+    @Nullable
+    static TimerWheel.Timeout runAfter(
+            long milliseconds, Executor executor, Runnable task, @Nullable Runnable onCancelled) {
+        if (milliseconds <= 0) {
+            executor.execute(task);
+            return null;
+        }
+
+        logger.trace("waiting for {} seconds before trying again", (double) milliseconds / 1000.0);
+
+        return TIMER.schedule(milliseconds, TimeUnit.MILLISECONDS, executor, task, onCancelled);
+    }
+
+    /**
+     * Drop every pending delay that would run on the executor, for when the executor is being shut down.
+     *
+     * @param executor                  the executor
+     */
+    static void cancelAll(Executor executor) {
+        TIMER.cancelAll(executor);
     }
 }
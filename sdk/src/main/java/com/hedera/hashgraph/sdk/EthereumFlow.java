@@ -159,6 +159,11 @@ public class EthereumFlow {
      */
     public TransactionResponse execute(Client client, Duration timeoutPerTransaction)
             throws PrecheckStatusException, TimeoutException {
+        return TraceContext.traceFlow(client, "EthereumFlow", () -> executeSteps(client, timeoutPerTransaction));
+    }
+
+    private TransactionResponse executeSteps(Client client, Duration timeoutPerTransaction)
+            throws PrecheckStatusException, TimeoutException {
         if (ethereumData == null) {
             throw new IllegalStateException("Cannot execute a ethereum flow when ethereum data was not provided");
         }
@@ -204,6 +209,11 @@ public class EthereumFlow {
      * @return the response
      */
     public CompletableFuture<TransactionResponse> executeAsync(Client client, Duration timeoutPerTransaction) {
+        return TraceContext.traceFlowAsync(
+                client, "EthereumFlow", () -> executeStepsAsync(client, timeoutPerTransaction));
+    }
+
+    private CompletableFuture<TransactionResponse> executeStepsAsync(Client client, Duration timeoutPerTransaction) {
         if (ethereumData == null) {
             return CompletableFuture.failedFuture(
                     new IllegalStateException("Cannot execute a ethereum flow when ethereum data was not provided"));
@@ -1,18 +1,18 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
-import static com.hedera.hashgraph.sdk.FutureConverter.toCompletableFuture;
-
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.MessageLite;
 import com.hedera.hashgraph.sdk.logger.LogLevel;
 import com.hedera.hashgraph.sdk.logger.Logger;
+import com.hedera.hashgraph.sdk.proto.HederaFunctionality;
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.MethodDescriptor;
 import io.grpc.Status.Code;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -26,7 +26,6 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -64,6 +63,49 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     @Nullable
     protected Duration minBackoff = null;
 
+    /**
+     * The policy used to hedge asynchronous execution, or null when hedging is disabled. Ignored unless
+     * {@link #canHedge()}, which only queries are.
+     */
+    @Nullable
+    protected HedgePolicy hedgePolicy = null;
+
+    /**
+     * The retry budget of the client executing this request, or null when retries are not budgeted
+     */
+    @Nullable
+    RetryBudget retryBudget = null;
+
+    /**
+     * The metrics listener of the client executing this request, or null when metrics are not collected
+     */
+    @Nullable
+    ClientMetrics metrics = null;
+
+    /**
+     * The tracer of the client executing this request, or null when requests are not traced
+     */
+    @Nullable
+    Tracer tracer = null;
+
+    /**
+     * Receives the events of this request: the client's listener, this request's logger, or both
+     */
+    RequestEventListener events = RequestEventListener.NONE;
+
+    // Reused between executions as long as the logger stays the same
+    @Nullable
+    private LoggingRequestEventListener loggingEvents;
+
+    // Why the previous attempt was retried and how long it backed off, for the span of the next attempt
+    @Nullable
+    private ClientMetrics.RetryReason lastRetryReason;
+
+    private long lastBackoffMillis;
+
+    // The backoff before the previous retry, which decorrelated jitter builds on
+    private long lastRetryDelayMillis;
+
     /**
      * List of account IDs for nodes with which execution will be attempted.
      */
@@ -306,11 +348,35 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
     abstract CompletableFuture<Void> onExecuteAsync(Client client);
 
+    /**
+     * The kind of transaction this request submits, for pacing it against the client's throttle definitions.
+     *
+     * @return the functionality, or null if the request is not throttled locally
+     */
+    @Nullable
+    HederaFunctionality getThrottledFunctionality() {
+        return null;
+    }
+
+    private long reserveThrottle(Client client) {
+        var model = client.throttleModel;
+        if (model == null) {
+            return 0;
+        }
+
+        var functionality = getThrottledFunctionality();
+        return functionality == null ? 0 : model.reserve(functionality);
+    }
+
     void mergeFromClient(Client client) {
         if (maxAttempts == null) {
             maxAttempts = client.getMaxAttempts();
         }
 
+        retryBudget = client.getRetryBudget();
+        metrics = client.getMetrics();
+        tracer = client.getTracer();
+
         if (maxBackoff == null) {
             maxBackoff = client.getMaxBackoff();
         }
@@ -324,7 +390,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
     }
 
-    private void delay(long delay) {
+    private void delay(long delay, @Nullable Node node, int attempt) {
         if (delay <= 0) {
             return;
         }
@@ -334,7 +400,9 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     logger.debug("Sleeping for: " + delay + " | Thread name: "
                             + Thread.currentThread().getName());
                 }
+                var backoffEvent = JfrEvents.beginBackoff();
                 Thread.sleep(delay);
+                JfrEvents.endBackoff(backoffEvent, getClass().getSimpleName(), node, attempt, delay);
             }
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
@@ -363,6 +431,23 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
      * @throws PrecheckStatusException when the precheck fails
      */
     public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var span = TraceContext.startSpan(client.getTracer(), getClass().getSimpleName());
+        if (span == null) {
+            return executeAttempts(client, timeout, null);
+        }
+
+        try (var ignored = TraceContext.makeCurrent(span)) {
+            var result = executeAttempts(client, timeout, span);
+            TraceContext.endSpan(span, null);
+            return result;
+        } catch (Throwable error) {
+            TraceContext.endSpan(span, error);
+            throw error;
+        }
+    }
+
+    private O executeAttempts(Client client, Duration timeout, @Nullable Span span)
+            throws TimeoutException, PrecheckStatusException {
         Throwable lastException = null;
 
         // If the logger on the request is not set, use the logger in client
@@ -372,6 +457,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
 
         mergeFromClient(client);
+        prepareEvents(client);
         onExecute(client);
         checkNodeAccountIds();
         setNodesFromNodeAccountIds(client);
@@ -383,23 +469,27 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                 throw new MaxAttemptsExceededException(lastException);
             }
 
+            if (attempt > 1 && retryBudget != null && !retryBudget.tryWithdraw()) {
+                throw new RetryBudgetExhaustedException(lastException);
+            }
+
             Duration currentTimeout = Duration.between(Instant.now(), timeoutTime);
             if (currentTimeout.isNegative() || currentTimeout.isZero()) {
                 throw new TimeoutException();
             }
 
             GrpcRequest grpcRequest = new GrpcRequest(client.network, attempt, currentTimeout);
+            grpcRequest.parentSpan = span;
             Node node = grpcRequest.getNode();
             ResponseT response = null;
 
             // If we get an unhealthy node here, we've cycled through all the "good" nodes that have failed
             // and have no choice but to try a bad one.
             if (!node.isHealthy()) {
-                delay(node.getRemainingTimeForBackoff());
+                delay(node.getRemainingTimeForBackoff(), node, attempt);
             }
 
             if (node.channelFailedToConnect(timeoutTime)) {
-                logger.trace("Failed to connect channel for node {} for request #{}", node.getAccountId(), attempt);
                 lastException = grpcRequest.reactToConnectionFailure();
                 continue;
             }
@@ -407,10 +497,13 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             currentTimeout = Duration.between(Instant.now(), timeoutTime);
             grpcRequest.setGrpcDeadline(currentTimeout);
 
+            grpcRequest.markSent();
             try {
                 response = blockingUnaryCall.apply(grpcRequest);
-                logTransaction(this.getTransactionIdInternal(), client, node, false, attempt, response, null);
+                grpcRequest.markCompleted(true);
             } catch (Throwable e) {
+                grpcRequest.markCompleted(false);
+                grpcRequest.reportCallFailed(e);
                 if (e instanceof StatusRuntimeException) {
                     StatusRuntimeException statusRuntimeException = (StatusRuntimeException) e;
                     if (statusRuntimeException.getStatus().getCode().equals(Code.DEADLINE_EXCEEDED)) {
@@ -418,7 +511,6 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     }
                 }
                 lastException = e;
-                logTransaction(this.getTransactionIdInternal(), client, node, false, attempt, null, e);
             }
 
             if (response == null) {
@@ -442,13 +534,16 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     lastException = grpcRequest.mapStatusException();
                     if (attempt < maxAttempts) {
                         currentTimeout = Duration.between(Instant.now(), timeoutTime);
-                        delay(Math.min(currentTimeout.toMillis(), grpcRequest.getDelay()));
+                        delay(Math.min(currentTimeout.toMillis(), grpcRequest.getDelay()), null, attempt + 1);
                     }
                     continue;
                 case REQUEST_ERROR:
                     throw grpcRequest.mapStatusException();
                 case SUCCESS:
                 default:
+                    if (retryBudget != null) {
+                        retryBudget.deposit();
+                    }
                     return grpcRequest.mapResponse();
             }
         }
@@ -478,22 +573,106 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
      * @return Future result of execution
      */
     public CompletableFuture<O> executeAsync(Client client, Duration timeout) {
+        return executeAsyncAdmitted(client, timeout, client.inFlightLimiter.acquire());
+    }
+
+    /**
+     * Execute this transaction or query asynchronously if the client is below its limit of requests in flight.
+     *
+     * @param client The client with which this will be executed.
+     * @return Future result of execution, which fails with {@link InFlightLimitExceededException} right away if the
+     *     client is at its limit
+     * @see Client#setMaxInFlightRequests(int)
+     */
+    public CompletableFuture<O> tryExecuteAsync(Client client) {
+        return tryExecuteAsync(client, client.getRequestTimeout());
+    }
+
+    /**
+     * Execute this transaction or query asynchronously if the client is below its limit of requests in flight.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Future result of execution, which fails with {@link InFlightLimitExceededException} right away if the
+     *     client is at its limit
+     * @see Client#setMaxInFlightRequests(int)
+     */
+    public CompletableFuture<O> tryExecuteAsync(Client client, Duration timeout) {
+        if (!client.inFlightLimiter.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new InFlightLimitExceededException(client.inFlightLimiter.getLimit()));
+        }
+
+        return executeAsyncAdmitted(client, timeout, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Execute this transaction or query asynchronously on behalf of a request that already holds a permit of the
+     * client's in-flight limit, such as the cost query of a paid query. Taking a second permit could wait forever
+     * when every permit is held by a request waiting for its own nested one.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Future result of execution
+     */
+    CompletableFuture<O> executeAsyncWithinPermit(Client client, Duration timeout) {
+        return executeAsyncAdmitted(client, timeout, null);
+    }
+
+    /**
+     * @param admission future that completes once a permit is held, or null if the request needs none
+     */
+    private CompletableFuture<O> executeAsyncAdmitted(
+            Client client, Duration timeout, @Nullable CompletableFuture<Void> admission) {
+        var parentSpan = TraceContext.current();
+        var span = TraceContext.startSpan(client.getTracer(), getClass().getSimpleName());
         var retval = new CompletableFuture<O>().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
 
-        mergeFromClient(client);
+        if (admission != null) {
+            // Give the permit back once the request is done, or leave the queue if it ends before being admitted
+            retval.whenComplete((ignored, error) -> {
+                if (!admission.cancel(false)) {
+                    client.inFlightLimiter.release();
+                }
+            });
+        }
 
-        onExecuteAsync(client)
-                .thenRun(() -> {
-                    checkNodeAccountIds();
-                    setNodesFromNodeAccountIds(client);
+        Runnable start = () -> {
+            try {
+                mergeFromClient(client);
+
+                onExecuteAsync(client)
+                        .thenRun(() -> {
+                            checkNodeAccountIds();
+                            setNodesFromNodeAccountIds(client);
+
+                            new AsyncExecution(client, retval, timeout, span).start(reserveThrottle(client));
+                        })
+                        .exceptionally(error -> {
+                            retval.completeExceptionally(error);
+                            return null;
+                        });
+            } catch (RuntimeException error) {
+                // Fail the request, which also frees its permit, rather than leave it pending until it times out
+                retval.completeExceptionally(error);
+            }
+        };
 
-                    executeAsyncInternal(client, 1, null, retval, timeout);
-                })
-                .exceptionally(error -> {
-                    retval.completeExceptionally(error);
-                    return null;
-                });
-        return retval;
+        if (span != null) {
+            // Requests started while getting ready, such as a cost query, belong to this execution
+            var untraced = start;
+            start = () -> TraceContext.runWith(span, untraced);
+        }
+
+        if (admission == null || admission.isDone()) {
+            start.run();
+        } else {
+            // Admitted by another request finishing; start on the executor rather than on that request's thread
+            admission.thenRunAsync(start, client.executor);
+        }
+
+        // Continuations run under the caller's span, so the requests they start are its children too
+        return span == null ? retval : TraceContext.completeWith(parentSpan, retval, span);
     }
 
     /**
@@ -541,44 +720,41 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     }
 
     /**
-     * Logs the transaction's parameters
+     * Pick the listeners that receive the events of this execution. Runs once the logger of the request is known.
      *
-     * @param transactionId the transaction's id
-     * @param client        the client that executed the transaction
-     * @param node          the node the transaction was sent to
-     * @param isAsync       whether the transaction was executed asynchronously
-     * @param attempt       the attempt number
-     * @param response      the transaction response if the transaction was successful
-     * @param error         the error if the transaction was not successful
-     */
-    protected void logTransaction(
-            TransactionId transactionId,
-            Client client,
-            Node node,
-            boolean isAsync,
-            int attempt,
-            @Nullable ResponseT response,
-            @Nullable Throwable error) {
-
-        if (!logger.isEnabledForLevel(LogLevel.TRACE)) {
-            return;
+     * @param client the client executing this request
+     */
+    void prepareEvents(Client client) {
+        RequestEventListener logging = RequestEventListener.NONE;
+        if (logger != null && logger.isEnabledForLevel(LogLevel.WARN)) {
+            if (loggingEvents == null || loggingEvents.logger != logger) {
+                loggingEvents = new LoggingRequestEventListener(logger);
+            }
+            logging = loggingEvents;
         }
 
-        logger.trace(
-                "Execute{} Transaction ID: {}, submit to {}, node: {}, attempt: {}",
-                isAsync ? "Async" : "",
-                transactionId,
-                client.network,
-                node.getAccountId(),
-                attempt);
+        events = RequestEventListener.both(logging, client.getRequestEventListener());
+    }
 
-        if (response != null) {
-            logger.trace(" - Response: {}", response);
+    /**
+     * Take what the client reports requests to, for requests sent on their own rather than by {@link #execute(Client)}
+     * or {@link #executeAsync(Client)}, such as receipt polls.
+     *
+     * @param client the client
+     */
+    void prepareReporting(Client client) {
+        metrics = client.getMetrics();
+        tracer = client.getTracer();
+
+        if (grpcDeadline == null) {
+            grpcDeadline = client.getGrpcDeadline();
         }
 
-        if (error != null) {
-            logger.trace(" - Error: {}", error.getMessage());
+        if (logger == null && client.getLogger() != null) {
+            logger = client.getLogger();
         }
+
+        prepareEvents(client);
     }
 
     @SuppressWarnings("java:S2245")
@@ -610,7 +786,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                 continue;
             }
 
-            var node = nodeProxies.get(random.nextInt(nodeProxies.size()));
+            var node = client.getNodeSelectionStrategy().select(nodeProxies, random);
 
             nodes.add(Objects.requireNonNull(node));
         }
@@ -637,9 +813,9 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             // the next node.
             node = nodes.getCurrent();
 
-            if (!node.isHealthy()) {
+            if (!node.isHealthy() || node.isSaturated()) {
                 // Keep track of the node with the smallest delay seen thus far. If we go through the entire list
-                // (meaning all nodes are unhealthy) then we will select the node with the smallest delay.
+                // (meaning all nodes are unhealthy or saturated) then we will select the node with the smallest delay.
                 long backoff = node.getRemainingTimeForBackoff();
                 if (backoff < smallestDelay) {
                     candidate = node;
@@ -663,7 +839,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
         // node won't be null at this point because execute() validates before this method is called.
         // Add null check here to work around sonar NPE detection.
-        if (node != null && logger != null) {
+        if (node != null && logger != null && logger.isEnabledForLevel(LogLevel.TRACE)) {
             logger.trace("Using node {} for request #{}: {}", node.getAccountId(), attempt, this);
         }
 
@@ -681,131 +857,28 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         return request;
     }
 
-    private void executeAsyncInternal(
-            Client client,
-            int attempt,
-            @Nullable Throwable lastException,
-            CompletableFuture<O> returnFuture,
-            Duration timeout) {
-        // If the logger on the request is not set, use the logger in client
-        // (if set, otherwise do not use logger)
-        if (this.logger == null && client.getLogger() != null) {
-            this.logger = client.getLogger();
-        }
-
-        if (returnFuture.isCancelled() || returnFuture.isCompletedExceptionally() || returnFuture.isDone()) {
-            return;
-        }
-
-        if (attempt > maxAttempts) {
-            returnFuture.completeExceptionally(
-                    new CompletionException(new MaxAttemptsExceededException(lastException)));
-            return;
-        }
-
-        var timeoutTime = Instant.now().plus(timeout);
-
-        GrpcRequest grpcRequest =
-                new GrpcRequest(client.network, attempt, Duration.between(Instant.now(), timeoutTime));
-
-        Supplier<CompletableFuture<Void>> afterUnhealthyDelay = () -> {
-            return grpcRequest.getNode().isHealthy()
-                    ? CompletableFuture.completedFuture((Void) null)
-                    : Delayer.delayFor(grpcRequest.getNode().getRemainingTimeForBackoff(), client.executor);
-        };
+    abstract ProtoRequestT makeRequest();
 
-        afterUnhealthyDelay.get().thenRun(() -> {
-            grpcRequest
-                    .getNode()
-                    .channelFailedToConnectAsync()
-                    .thenAccept(connectionFailed -> {
-                        if (connectionFailed) {
-                            var connectionException = grpcRequest.reactToConnectionFailure();
-                            executeAsyncInternal(
-                                    client,
-                                    attempt + 1,
-                                    connectionException,
-                                    returnFuture,
-                                    Duration.between(Instant.now(), timeoutTime));
-                            return;
-                        }
-
-                        toCompletableFuture(
-                                        ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest()))
-                                .handle((response, error) -> {
-                                    logTransaction(
-                                            this.getTransactionIdInternal(),
-                                            client,
-                                            grpcRequest.getNode(),
-                                            true,
-                                            attempt,
-                                            response,
-                                            error);
-
-                                    if (grpcRequest.shouldRetryExceptionally(error)) {
-                                        // the transaction had a network failure reaching Hedera
-                                        executeAsyncInternal(
-                                                client,
-                                                attempt + 1,
-                                                error,
-                                                returnFuture,
-                                                Duration.between(Instant.now(), timeoutTime));
-                                        return null;
-                                    }
-
-                                    if (error != null) {
-                                        // not a network failure, some other weirdness going on; just fail fast
-                                        returnFuture.completeExceptionally(new CompletionException(error));
-                                        return null;
-                                    }
-
-                                    var status = mapResponseStatus(response);
-                                    var executionState = getExecutionState(status, response);
-                                    grpcRequest.handleResponse(response, status, executionState);
-
-                                    switch (executionState) {
-                                        case SERVER_ERROR:
-                                            executeAsyncInternal(
-                                                    client,
-                                                    attempt + 1,
-                                                    grpcRequest.mapStatusException(),
-                                                    returnFuture,
-                                                    Duration.between(Instant.now(), timeoutTime));
-                                            break;
-                                        case RETRY:
-                                            Delayer.delayFor(
-                                                            (attempt < maxAttempts) ? grpcRequest.getDelay() : 0,
-                                                            client.executor)
-                                                    .thenRun(() -> executeAsyncInternal(
-                                                            client,
-                                                            attempt + 1,
-                                                            grpcRequest.mapStatusException(),
-                                                            returnFuture,
-                                                            Duration.between(Instant.now(), timeoutTime)));
-                                            break;
-                                        case REQUEST_ERROR:
-                                            returnFuture.completeExceptionally(
-                                                    new CompletionException(grpcRequest.mapStatusException()));
-                                            break;
-                                        case SUCCESS:
-                                        default:
-                                            returnFuture.complete(grpcRequest.mapResponse());
-                                    }
-                                    return null;
-                                })
-                                .exceptionally(error -> {
-                                    returnFuture.completeExceptionally(error);
-                                    return null;
-                                });
-                    })
-                    .exceptionally(error -> {
-                        returnFuture.completeExceptionally(error);
-                        return null;
-                    });
-        });
+    /**
+     * Can an attempt of this request be hedged? A request that can must also override
+     * {@link #makeRequestForNode(int)}.
+     *
+     * @return whether a {@link #hedgePolicy} applies to this request
+     */
+    boolean canHedge() {
+        return false;
     }
 
-    abstract ProtoRequestT makeRequest();
+    /**
+     * Build the request for the node account id at the given index of {@link #nodeAccountIds} without moving the
+     * current index, for a hedged call made alongside the current attempt. Only called when {@link #canHedge()}.
+     *
+     * @param nodeIndex the index of the node account id
+     * @return the request
+     */
+    ProtoRequestT makeRequestForNode(int nodeIndex) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot be hedged");
+    }
 
     GrpcRequest getGrpcRequest(int attempt) {
         return new GrpcRequest(null, attempt, this.grpcDeadline);
@@ -875,39 +948,123 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         @Nullable
         private final Network network;
 
-        private final Node node;
-        private final int attempt;
+        private Node node;
+        private int attempt;
         // private final ClientCall<ProtoRequestT, ResponseT> call;
-        private final ProtoRequestT request;
-        private final long startAt;
-        private final long delay;
-        private Duration grpcDeadline;
+        private ProtoRequestT request;
+        private long startAt;
+        private long delay;
+        private long grpcDeadlineMillis;
+        private boolean inFlight;
         private ResponseT response;
-        private double latency;
+        private long latencyNanos;
         private Status responseStatus;
 
+        @Nullable
+        private Object attemptEvent;
+
+        // The span of the execution this request belongs to, and the span of the current attempt
+        @Nullable
+        Span parentSpan;
+
+        @Nullable
+        private Span attemptSpan;
+
         GrpcRequest(@Nullable Network network, int attempt, Duration grpcDeadline) {
             this.network = network;
+            reset(attempt, grpcDeadline.toMillis());
+        }
+
+        /**
+         * Create the hedged call of an attempt. Unlike {@link #reset(int, long)}, this leaves the current node of the
+         * request and its retry state alone.
+         *
+         * @param primary the request of the attempt being hedged
+         * @param node    the node to hedge to
+         * @param request the request built for that node
+         */
+        GrpcRequest(GrpcRequest primary, Node node, ProtoRequestT request) {
+            this.network = primary.network;
+            this.attempt = primary.attempt;
+            this.grpcDeadlineMillis = primary.grpcDeadlineMillis;
+            this.delay = primary.delay;
+            this.parentSpan = primary.parentSpan;
+            this.node = node;
+            this.request = request;
+            this.startAt = System.nanoTime();
+        }
+
+        /**
+         * Create a request to a given node that is sent on its own, such as a receipt poll. It reports to the node's
+         * backoff, the metrics, the events and the spans like an attempt of an execution.
+         *
+         * @param network            the network of the node
+         * @param node               the node to send to
+         * @param attempt            the attempt number
+         * @param request            the request
+         * @param grpcDeadlineMillis the deadline of the call in milliseconds
+         * @param delayMillis        how long until the request is sent again if the node asks for a retry
+         */
+        GrpcRequest(
+                Network network,
+                Node node,
+                int attempt,
+                ProtoRequestT request,
+                long grpcDeadlineMillis,
+                long delayMillis) {
+            this.network = network;
+            this.node = node;
             this.attempt = attempt;
-            this.grpcDeadline = grpcDeadline;
+            this.request = request;
+            this.grpcDeadlineMillis = grpcDeadlineMillis;
+            this.delay = delayMillis;
+            this.startAt = System.nanoTime();
+        }
+
+        /**
+         * Prepare this request for the given attempt. The async path keeps a single instance per execution and
+         * resets it between attempts instead of allocating a new one.
+         *
+         * @param attempt            the attempt number
+         * @param grpcDeadlineMillis the deadline for this attempt in milliseconds
+         */
+        void reset(int attempt, long grpcDeadlineMillis) {
+            this.attempt = attempt;
+            this.grpcDeadlineMillis = grpcDeadlineMillis;
             this.node = getNodeForExecute(attempt);
             this.request = getRequestForExecute(); // node index gets incremented here
             this.startAt = System.nanoTime();
-
-            // Exponential back-off for Delayer: 250ms, 500ms, 1s, 2s, 4s, 8s, ... 8s
-            delay = (long) Math.min(
-                    Objects.requireNonNull(minBackoff).toMillis() * Math.pow(2, attempt - 1.0),
-                    Objects.requireNonNull(maxBackoff).toMillis());
+            this.response = null;
+            this.responseStatus = null;
+            this.latencyNanos = 0;
+            this.inFlight = false;
+
+            var minBackoffMillis = Objects.requireNonNull(minBackoff).toMillis();
+            var maxBackoffMillis = Objects.requireNonNull(maxBackoff).toMillis();
+
+            if (retryBudget != null) {
+                // Decorrelated jitter, so that requests which failed together do not retry together
+                var previous = attempt == 1 ? minBackoffMillis : lastRetryDelayMillis;
+                delay = RetryBudget.decorrelatedJitterMillis(previous, minBackoffMillis, maxBackoffMillis);
+                lastRetryDelayMillis = delay;
+            } else {
+                // Exponential back-off for Delayer: 250ms, 500ms, 1s, 2s, 4s, 8s, ... 8s
+                delay = (long) Math.min(minBackoffMillis * Math.pow(2, attempt - 1.0), maxBackoffMillis);
+            }
         }
 
         public CallOptions getCallOptions() {
-            long deadline = Math.min(this.grpcDeadline.toMillis(), Executable.this.grpcDeadline.toMillis());
+            long deadline = Math.min(this.grpcDeadlineMillis, Executable.this.grpcDeadline.toMillis());
 
             return CallOptions.DEFAULT.withDeadlineAfter(deadline, TimeUnit.MILLISECONDS);
         }
 
         public void setGrpcDeadline(Duration grpcDeadline) {
-            this.grpcDeadline = grpcDeadline;
+            this.grpcDeadlineMillis = grpcDeadline.toMillis();
+        }
+
+        void setGrpcDeadlineMillis(long grpcDeadlineMillis) {
+            this.grpcDeadlineMillis = grpcDeadlineMillis;
         }
 
         public Node getNode() {
@@ -915,7 +1072,6 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
 
         public ClientCall<ProtoRequestT, ResponseT> createCall() {
-            verboseLog(node);
             return this.node.getChannel().newCall(Executable.this.getMethodDescriptor(), getCallOptions());
         }
 
@@ -927,31 +1083,146 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             return delay;
         }
 
+        /**
+         * Record that the request is about to be sent to the node.
+         */
+        void markSent() {
+            startAt = System.nanoTime();
+            inFlight = true;
+            node.onRequestStarted();
+            attemptEvent = JfrEvents.beginAttempt();
+
+            if (metrics != null) {
+                metrics.onAttemptStarted(node.getAccountId(), getMethodDescriptor().getFullMethodName(), attempt);
+            }
+
+            // Without a listener the arguments are not even built, so attempts allocate nothing for their events
+            if (events != RequestEventListener.NONE) {
+                events.onAttemptSent(
+                        Executable.this.getClass().getSimpleName(),
+                        getTransactionIdInternal(),
+                        node.getAccountId(),
+                        node.address == null ? null : node.address.getAddress(),
+                        attempt);
+            }
+
+            if (tracer != null) {
+                var span = tracer.startSpan(getMethodDescriptor().getFullMethodName(), parentSpan);
+                span.setAttribute("node", node.getAccountId().toString());
+                span.setAttribute("attempt", attempt);
+                if (attempt > 1 && lastRetryReason != null) {
+                    span.setAttribute("retry.reason", lastRetryReason.name());
+                    span.setAttribute("backoff.ms", lastBackoffMillis);
+                }
+                attemptSpan = span;
+            }
+        }
+
+        /**
+         * Record that the request sent to the node has completed. Only calls that produced a response feed the
+         * latency of the node.
+         *
+         * @param responded did the node respond
+         */
+        void markCompleted(boolean responded) {
+            if (!inFlight) {
+                return;
+            }
+
+            inFlight = false;
+            latencyNanos = System.nanoTime() - startAt;
+            node.onRequestFinished(responded ? latencyNanos : -1);
+
+            // Attempts that got a response are reported once their status is known
+            if (!responded) {
+                reportFinished(null);
+            }
+        }
+
+        private void reportFinished(@Nullable Status status) {
+            if (metrics != null) {
+                metrics.onAttemptFinished(
+                        node.getAccountId(), getMethodDescriptor().getFullMethodName(), attempt, latencyNanos, status);
+            }
+
+            var event = attemptEvent;
+            if (event != null) {
+                attemptEvent = null;
+                JfrEvents.endAttempt(
+                        event,
+                        Executable.this.getClass().getSimpleName(),
+                        getMethodDescriptor().getFullMethodName(),
+                        node,
+                        attempt,
+                        status);
+            }
+
+            var span = attemptSpan;
+            if (span != null) {
+                attemptSpan = null;
+                if (status != null) {
+                    span.setAttribute("status", status.name());
+                }
+                span.end();
+            }
+        }
+
+        private void reportRetry(
+                ClientMetrics.RetryReason reason,
+                long backoffMillis,
+                @Nullable Status status,
+                @Nullable Throwable error) {
+            lastRetryReason = reason;
+            lastBackoffMillis = backoffMillis;
+
+            if (metrics != null) {
+                metrics.onRetry(
+                        node.getAccountId(), getMethodDescriptor().getFullMethodName(), attempt, reason, backoffMillis);
+            }
+
+            if (events != RequestEventListener.NONE) {
+                events.onRetry(
+                        Executable.this.getClass().getSimpleName(),
+                        getTransactionIdInternal(),
+                        node.getAccountId(),
+                        attempt,
+                        reason,
+                        backoffMillis,
+                        status,
+                        error);
+            }
+        }
+
+        /**
+         * Report that the call of this attempt failed before the node responded.
+         *
+         * @param error the error the call failed with
+         */
+        void reportCallFailed(Throwable error) {
+            if (events != RequestEventListener.NONE) {
+                events.onCallFailed(
+                        Executable.this.getClass().getSimpleName(),
+                        getTransactionIdInternal(),
+                        node.getAccountId(),
+                        attempt,
+                        latencyNanos,
+                        error);
+            }
+        }
+
         Throwable reactToConnectionFailure() {
             Objects.requireNonNull(network).increaseBackoff(node);
-            logger.warn(
-                    "Retrying in {} ms after channel connection failure with node {} during attempt #{}",
-                    node.getRemainingTimeForBackoff(),
-                    node.getAccountId(),
-                    attempt);
-            verboseLog(node);
+            reportRetry(
+                    ClientMetrics.RetryReason.CONNECTION_FAILURE, node.getRemainingTimeForBackoff(), null, null);
             return new IllegalStateException("Failed to connect to node " + node.getAccountId());
         }
 
         boolean shouldRetryExceptionally(@Nullable Throwable e) {
-            latency = (double) (System.nanoTime() - startAt) / 1000000000.0;
-
             var retry = Executable.this.shouldRetryExceptionally(e);
 
             if (retry) {
                 Objects.requireNonNull(network).increaseBackoff(node);
-                logger.warn(
-                        "Retrying in {} ms after failure with node {} during attempt #{}: {}",
-                        node.getRemainingTimeForBackoff(),
-                        node.getAccountId(),
-                        attempt,
-                        e != null ? e.getMessage() : "NULL");
-                verboseLog(node);
+                reportRetry(ClientMetrics.RetryReason.GRPC_ERROR, node.getRemainingTimeForBackoff(), null, e);
             }
 
             return retry;
@@ -972,52 +1243,532 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
             this.response = Executable.this.responseListener.apply(response);
             this.responseStatus = status;
+            reportFinished(status);
 
-            logger.trace(
-                    "Received {} response in {} s from node {} during attempt #{}: {}",
-                    responseStatus,
-                    latency,
-                    node.getAccountId(),
-                    attempt,
-                    response);
+            if (events != RequestEventListener.NONE) {
+                events.onResponse(
+                        Executable.this.getClass().getSimpleName(),
+                        getTransactionIdInternal(),
+                        node.getAccountId(),
+                        attempt,
+                        latencyNanos,
+                        status,
+                        response);
+            }
 
             if (executionState == ExecutionState.SERVER_ERROR && attemptedAllNodes) {
                 executionState = ExecutionState.RETRY;
                 attemptedAllNodes = false;
             }
             switch (executionState) {
-                case RETRY -> {
-                    logger.warn(
-                            "Retrying in {} ms after failure with node {} during attempt #{}: {}",
-                            delay,
-                            node.getAccountId(),
-                            attempt,
-                            responseStatus);
-                    verboseLog(node);
+                case RETRY -> reportRetry(ClientMetrics.RetryReason.RETRYABLE_STATUS, delay, status, null);
+                case SERVER_ERROR -> reportRetry(ClientMetrics.RetryReason.SERVER_ERROR, 0, status, null);
+                default -> {}
+            }
+        }
+    }
+
+    /**
+     * State machine driving the attempts of a single {@link #executeAsync(Client, Duration)} call.
+     * <p>
+     * Each step hands control to the next one through {@link #run()} instead of chaining a new set of futures and
+     * lambdas per attempt, and a single {@link GrpcRequest} is reset between attempts. Deadlines are tracked as
+     * {@link System#nanoTime()} values.
+     * <p>
+     * With a {@link HedgePolicy} an attempt may have a second call in flight. The first successful response wins;
+     * otherwise the attempt is settled by whichever call finishes last.
+     */
+    private final class AsyncExecution implements Runnable, StreamObserver<ResponseT> {
+        private final Client client;
+        private final CompletableFuture<O> returnFuture;
+        private final long deadlineNanos;
+        private final BiConsumer<Boolean, Throwable> onConnectionChecked = this::onConnectionChecked;
+
+        @Nullable
+        private final Span span;
+
+        @Nullable
+        private GrpcRequest grpcRequest;
+
+        @Nullable
+        private Throwable lastException;
+
+        @Nullable
+        private ResponseT response;
+
+        private int attempt = 1;
+        private AsyncPhase phase = AsyncPhase.START_ATTEMPT;
+
+        // The delay this execution is waiting on, if any, so it can be taken off the timer once the result is known
+        @Nullable
+        private volatile TimerWheel.Timeout pendingDelay;
+
+        // The wait of that delay, and the node it waits on, for the flight recorder
+        @Nullable
+        private Object pendingBackoff;
+
+        @Nullable
+        private Node pendingBackoffNode;
+
+        private long pendingBackoffMillis;
+
+        // Calls of the current attempt that have not finished yet, whether it has been hedged, and the outcome of a
+        // call that finished while the other one was still in flight; guarded by `this`
+        private int outstandingCalls;
+        private boolean hedged;
+        private boolean hasDeferredOutcome;
+
+        @Nullable
+        private Throwable deferredException;
+
+        private boolean deferredRetry;
+        private long deferredDelayMillis;
+
+        // The timer that hedges the current attempt, if any; guarded by `this`
+        @Nullable
+        private TimerWheel.Timeout pendingHedge;
+
+        AsyncExecution(Client client, CompletableFuture<O> returnFuture, Duration timeout, @Nullable Span span) {
+            this.client = client;
+            this.returnFuture = returnFuture;
+            this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+            this.span = span;
+
+            returnFuture.whenComplete((ignored, error) -> {
+                var delay = pendingDelay;
+                if (delay != null) {
+                    delay.cancel();
                 }
-                case SERVER_ERROR -> logger.warn(
-                        "Problem submitting request to node {} for attempt #{}, retry with new node: {}",
-                        node.getAccountId(),
+                cancelHedge();
+            });
+
+            // If the logger on the request is not set, use the logger in client
+            // (if set, otherwise do not use logger)
+            if (logger == null && client.getLogger() != null) {
+                logger = client.getLogger();
+            }
+
+            prepareEvents(client);
+        }
+
+        @Override
+        public void run() {
+            var backoff = pendingBackoff;
+            if (backoff != null) {
+                pendingBackoff = null;
+                JfrEvents.endBackoff(
+                        backoff,
+                        Executable.this.getClass().getSimpleName(),
+                        pendingBackoffNode,
                         attempt,
-                        responseStatus);
-                default -> {}
+                        pendingBackoffMillis);
+            }
+
+            if (returnFuture.isDone()) {
+                return;
+            }
+
+            try {
+                switch (phase) {
+                    case START_ATTEMPT -> startAttempt();
+                    case CHECK_CONNECTION -> checkConnection();
+                }
+            } catch (Throwable error) {
+                returnFuture.completeExceptionally(error);
             }
         }
 
-        void verboseLog(Node node) {
-            String ipAddress;
-            if (node.address == null) {
-                ipAddress = "NULL";
-            } else if (node.address.getAddress() == null) {
-                ipAddress = "NULL";
+        private void startAttempt() {
+            if (attempt > maxAttempts) {
+                returnFuture.completeExceptionally(
+                        new CompletionException(new MaxAttemptsExceededException(lastException)));
+                return;
+            }
+
+            if (attempt > 1 && retryBudget != null && !retryBudget.tryWithdraw()) {
+                returnFuture.completeExceptionally(
+                        new CompletionException(new RetryBudgetExhaustedException(lastException)));
+                return;
+            }
+
+            // Building a request may share builders with the request of a hedged call
+            synchronized (this) {
+                if (grpcRequest == null) {
+                    grpcRequest = new GrpcRequest(client.network, attempt, Duration.ofMillis(remainingMillis()));
+                    grpcRequest.parentSpan = span;
+                } else {
+                    grpcRequest.reset(attempt, remainingMillis());
+                }
+            }
+
+            var node = grpcRequest.getNode();
+            phase = AsyncPhase.CHECK_CONNECTION;
+            if (node.isHealthy()) {
+                checkConnection();
             } else {
-                ipAddress = node.address.getAddress();
+                delay(node.getRemainingTimeForBackoff(), node);
+            }
+        }
+
+        private void checkConnection() {
+            var node = Objects.requireNonNull(grpcRequest).getNode();
+            if (node.isConnected()) {
+                send();
+            } else {
+                node.channelFailedToConnectAsync().whenComplete(onConnectionChecked);
+            }
+        }
+
+        private void onConnectionChecked(@Nullable Boolean connectionFailed, @Nullable Throwable error) {
+            if (error != null) {
+                returnFuture.completeExceptionally(error);
+                return;
+            }
+
+            try {
+                if (Boolean.TRUE.equals(connectionFailed)) {
+                    lastException = Objects.requireNonNull(grpcRequest).reactToConnectionFailure();
+                    nextAttempt(0);
+                } else {
+                    send();
+                }
+            } catch (Throwable e) {
+                returnFuture.completeExceptionally(e);
+            }
+        }
+
+        private void send() {
+            var request = Objects.requireNonNull(grpcRequest);
+            request.setGrpcDeadlineMillis(remainingMillis());
+            response = null;
+
+            synchronized (this) {
+                outstandingCalls = 1;
+                hedged = false;
+                hasDeferredOutcome = false;
+                deferredException = null;
+            }
+
+            request.markSent();
+            try {
+                ClientCalls.asyncUnaryCall(request.createCall(), request.getRequest(), this);
+            } catch (RuntimeException e) {
+                request.markCompleted(false);
+                throw e;
+            }
+
+            var policy = hedgePolicy;
+            if (policy != null && canHedge() && nodes.size() > 1) {
+                var hedgeDelayMillis = policy.getHedgeDelayMillis(request.getNode());
+                if (hedgeDelayMillis >= 0) {
+                    int hedgedAttempt = attempt;
+                    var timeout = Delayer.runAfter(hedgeDelayMillis, client.executor, () -> hedge(hedgedAttempt));
+                    synchronized (this) {
+                        pendingHedge = timeout;
+                    }
+                }
+            }
+        }
+
+        private void cancelHedge() {
+            TimerWheel.Timeout timeout;
+            synchronized (this) {
+                timeout = pendingHedge;
+                pendingHedge = null;
+            }
+
+            if (timeout != null) {
+                timeout.cancel();
             }
-            logger.trace(
-                    "Node IP {} Timestamp {} Transaction Type {}",
-                    ipAddress,
-                    System.currentTimeMillis(),
-                    this.getClass().getSimpleName());
         }
+
+        private void hedge(int hedgedAttempt) {
+            GrpcRequest primary;
+            GrpcRequest request;
+
+            synchronized (this) {
+                pendingHedge = null;
+                if (returnFuture.isDone() || hedgedAttempt != attempt || outstandingCalls == 0 || hedged) {
+                    return;
+                }
+
+                // The node and request of the hedged call are picked without moving the shared node index, which
+                // the next attempt of the primary call goes on from
+                primary = Objects.requireNonNull(grpcRequest);
+                var nodeIndex = findHedgeNode(primary.getNode());
+                if (nodeIndex < 0) {
+                    // No other node to hedge to
+                    return;
+                }
+
+                var node = nodes.get(nodeIndex);
+                try {
+                    request = new GrpcRequest(primary, node, makeRequestForNode(indexOfNodeAccountId(node)));
+                } catch (RuntimeException error) {
+                    // Hedging is best effort; the primary call carries on
+                    return;
+                }
+
+                hedged = true;
+                outstandingCalls++;
+            }
+
+            try {
+                if (events != RequestEventListener.NONE) {
+                    events.onHedged(
+                            Executable.this.getClass().getSimpleName(),
+                            getTransactionIdInternal(),
+                            primary.getNode().getAccountId(),
+                            request.getNode().getAccountId(),
+                            hedgedAttempt);
+                }
+
+                request.markSent();
+                ClientCalls.asyncUnaryCall(request.createCall(), request.getRequest(), new HedgedCall(request));
+            } catch (Throwable error) {
+                request.markCompleted(false);
+                abandonHedge();
+            }
+        }
+
+        /**
+         * Find the node to hedge to: the first healthy node that is not saturated, after the node of the primary call.
+         *
+         * @param primaryNode the node of the primary call
+         * @return the index of the node in {@link #nodes}, or -1 if there is none
+         */
+        private int findHedgeNode(Node primaryNode) {
+            var primaryIndex = -1;
+            for (var i = 0; i < nodes.size(); i++) {
+                if (nodes.get(i) == primaryNode) {
+                    primaryIndex = i;
+                    break;
+                }
+            }
+
+            for (var i = 1; i < nodes.size(); i++) {
+                var index = (Math.max(primaryIndex, 0) + i) % nodes.size();
+                var node = nodes.get(index);
+                if (node != primaryNode && node.isHealthy() && !node.isSaturated()) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Find the node account id of a node, since {@link #nodes} skips account ids that are not in the network.
+         *
+         * @param node the node
+         * @return the index of its account id in {@link #nodeAccountIds}
+         */
+        private int indexOfNodeAccountId(Node node) {
+            for (var i = 0; i < nodeAccountIds.size(); i++) {
+                if (nodeAccountIds.get(i).equals(node.getAccountId())) {
+                    return i;
+                }
+            }
+
+            throw new IllegalStateException("node " + node.getAccountId() + " is not one of the node account ids");
+        }
+
+        /**
+         * Give up on a hedged call that could not be sent. If the primary call finished in the meantime, its
+         * deferred outcome settles the attempt.
+         */
+        private void abandonHedge() {
+            Throwable exception;
+            boolean retry;
+            long delayMillis;
+
+            synchronized (this) {
+                if (--outstandingCalls > 0 || !hasDeferredOutcome) {
+                    return;
+                }
+                exception = deferredException;
+                retry = deferredRetry;
+                delayMillis = deferredDelayMillis;
+            }
+
+            applyOutcome(exception, retry, delayMillis);
+        }
+
+        @Override
+        public void onNext(ResponseT value) {
+            response = value;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            onResponse(Objects.requireNonNull(grpcRequest), null, error);
+        }
+
+        @Override
+        public void onCompleted() {
+            onResponse(Objects.requireNonNull(grpcRequest), response, null);
+        }
+
+        private void onResponse(GrpcRequest request, @Nullable ResponseT response, @Nullable Throwable error) {
+            request.markCompleted(error == null);
+
+            // Once a call of the attempt has finished there is nothing left to hedge
+            cancelHedge();
+
+            try {
+                handleResponse(request, response, error);
+            } catch (Throwable e) {
+                returnFuture.completeExceptionally(e);
+            }
+        }
+
+        private void handleResponse(GrpcRequest request, @Nullable ResponseT response, @Nullable Throwable error) {
+            if (error != null) {
+                request.reportCallFailed(error);
+            }
+
+            if (request.shouldRetryExceptionally(error)) {
+                // the transaction had a network failure reaching Hedera
+                settle(error, true, 0);
+                return;
+            }
+
+            if (error != null) {
+                // not a network failure, some other weirdness going on; just fail fast
+                settle(error, false, 0);
+                return;
+            }
+
+            var status = mapResponseStatus(Objects.requireNonNull(response));
+            var executionState = getExecutionState(status, response);
+            request.handleResponse(response, status, executionState);
+
+            switch (executionState) {
+                case SERVER_ERROR -> settle(request.mapStatusException(), true, 0);
+                case RETRY -> {
+                    // Response is not ready yet from server, need to wait.
+                    long delayMillis = (attempt < maxAttempts) ? request.getDelay() : 0;
+                    settle(request.mapStatusException(), true, delayMillis);
+                }
+                case REQUEST_ERROR -> settle(request.mapStatusException(), false, 0);
+                default -> {
+                    synchronized (this) {
+                        outstandingCalls--;
+                    }
+                    if (retryBudget != null) {
+                        retryBudget.deposit();
+                    }
+                    returnFuture.complete(request.mapResponse());
+                }
+            }
+        }
+
+        /**
+         * Settle the current attempt with the outcome of one of its calls. When the other call of a hedged attempt is
+         * still in flight the outcome is deferred, since that call may still succeed.
+         *
+         * @param exception   the error of the call
+         * @param retry       should another attempt be made
+         * @param delayMillis how long to wait before the next attempt
+         */
+        private void settle(@Nullable Throwable exception, boolean retry, long delayMillis) {
+            synchronized (this) {
+                if (--outstandingCalls > 0) {
+                    hasDeferredOutcome = true;
+                    deferredException = exception;
+                    deferredRetry = retry;
+                    deferredDelayMillis = delayMillis;
+                    return;
+                }
+            }
+
+            applyOutcome(exception, retry, delayMillis);
+        }
+
+        private void applyOutcome(@Nullable Throwable exception, boolean retry, long delayMillis) {
+            if (returnFuture.isDone()) {
+                return;
+            }
+
+            if (retry) {
+                lastException = exception;
+                nextAttempt(delayMillis);
+            } else {
+                returnFuture.completeExceptionally(new CompletionException(exception));
+            }
+        }
+
+        private void nextAttempt(long delayMillis) {
+            synchronized (this) {
+                attempt++;
+            }
+            phase = AsyncPhase.START_ATTEMPT;
+
+            // Always go through the executor so that retries never grow the stack of the current thread
+            delay(delayMillis, null);
+        }
+
+        /**
+         * Start the first attempt, after waiting for the throttle if there is anything to wait for.
+         *
+         * @param delayMillis the milliseconds to wait first
+         */
+        void start(long delayMillis) {
+            if (delayMillis > 0) {
+                delay(delayMillis, null);
+            } else {
+                run();
+            }
+        }
+
+        private void delay(long delayMillis, @Nullable Node node) {
+            pendingBackoff = JfrEvents.beginBackoff();
+            pendingBackoffNode = node;
+            pendingBackoffMillis = delayMillis;
+            pendingDelay = Delayer.runAfter(delayMillis, client.executor, this, this::onDelayCancelled);
+        }
+
+        private void onDelayCancelled() {
+            returnFuture.completeExceptionally(new CompletionException(
+                    new IllegalStateException("client was closed while the request was waiting")));
+        }
+
+        private long remainingMillis() {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        }
+
+        /**
+         * Receives the response of the hedged call of an attempt.
+         */
+        private final class HedgedCall implements StreamObserver<ResponseT> {
+            private final GrpcRequest request;
+
+            @Nullable
+            private ResponseT response;
+
+            HedgedCall(GrpcRequest request) {
+                this.request = request;
+            }
+
+            @Override
+            public void onNext(ResponseT value) {
+                response = value;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                onResponse(request, null, error);
+            }
+
+            @Override
+            public void onCompleted() {
+                onResponse(request, response, null);
+            }
+        }
+    }
+
+    private enum AsyncPhase {
+        START_ATTEMPT,
+        CHECK_CONNECTION
     }
 }
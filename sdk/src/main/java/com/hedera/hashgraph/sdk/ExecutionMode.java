@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+
+/**
+ * Enum for the threading model used by a {@link Client} when it owns its executor.
+ */
+public enum ExecutionMode {
+    /**
+     * A fixed pool of daemon platform threads, one per available processor. This is the default.
+     */
+    PLATFORM_THREADS,
+    /**
+     * A new virtual thread per task. Blocking calls such as {@link Executable#execute(Client)} no longer hold on to a
+     * platform thread while they wait on the network, so a very large number of them can be in flight at once.
+     * <p>
+     * Requires a Java 21 or newer runtime.
+     */
+    VIRTUAL_THREADS;
+
+    @Nullable
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    /**
+     * Is this mode available on the current runtime?
+     *
+     * @return                          is this mode available
+     */
+    public boolean isSupported() {
+        return this == PLATFORM_THREADS || NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create a virtual thread per task executor.
+     * <p>
+     * The SDK is compiled for Java 17 and also runs on Android, so the factory is looked up reflectively.
+     *
+     * @return                          the executor service
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("ExecutionMode.VIRTUAL_THREADS requires Java 21 or newer");
+        }
+
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+        } catch (Throwable error) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", error);
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findVirtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findStatic(
+                            Executors.class,
+                            "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy for hedging an asynchronous query: if the node it was sent to has not answered within a percentile of
+ * that node's recent latency, the query is also sent to the next healthy node and the first successful response wins.
+ * <p>
+ * A node is only hedged once it has answered enough requests for its latency to be known. Hedging a paid query may
+ * pay both nodes.
+ * <p>
+ * Transactions are not hedged: a copy submitted through a second node still reaches consensus as a
+ * {@link Status#DUPLICATE_TRANSACTION} and its fee may be charged.
+ */
+public final class HedgePolicy {
+    static final double DEFAULT_PERCENTILE = 0.95;
+    static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(50);
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private Duration minDelay = DEFAULT_MIN_DELAY;
+
+    /**
+     * Constructor.
+     */
+    public HedgePolicy() {}
+
+    /**
+     * Extract the latency percentile after which the request is hedged.
+     *
+     * @return the percentile, between 0 exclusive and 1 inclusive
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Assign the percentile of the node's recent latency after which the request is hedged. Defaults to 0.95.
+     *
+     * @param percentile the percentile, between 0 exclusive and 1 inclusive
+     * @return {@code this}
+     */
+    public HedgePolicy setPercentile(double percentile) {
+        if (!(percentile > 0.0 && percentile <= 1.0)) {
+            throw new IllegalArgumentException("percentile must be greater than 0 and at most 1");
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * Extract the minimum time to wait before hedging.
+     *
+     * @return the minimum delay
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Assign the minimum time to wait before hedging. Defaults to 50 ms.
+     *
+     * @param minDelay the minimum delay
+     * @return {@code this}
+     */
+    public HedgePolicy setMinDelay(Duration minDelay) {
+        if (minDelay == null || minDelay.isNegative()) {
+            throw new IllegalArgumentException("minDelay must be a non-negative duration");
+        }
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    /**
+     * Compute how long to wait for the given node before hedging.
+     *
+     * @param node the node the request was sent to
+     * @return the delay in milliseconds, or -1 if the node has too few latency samples to be hedged
+     */
+    long getHedgeDelayMillis(BaseNode<?, ?> node) {
+        long latencyNanos = node.getLatencyPercentileNanos(percentile);
+        if (latencyNanos < 0) {
+            return -1;
+        }
+
+        return Math.max(minDelay.toMillis(), TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+    }
+}
@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * {@link ClientMetrics} that keeps a {@link LatencyHistogram} of attempt latencies per node and per gRPC method,
+ * and counts responses by status and retries by reason.
+ * <p>
+ * Recording is lock-free. The getters take snapshots, which can be exported on a timer.
+ */
+public final class HistogramClientMetrics implements ClientMetrics {
+    private final Map<AccountId, LatencyHistogram> latencyByNode = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> latencyByMethod = new ConcurrentHashMap<>();
+    private final Map<Status, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+    private final Map<RetryReason, LongAdder> retriesByReason = new EnumMap<>(RetryReason.class);
+    private final LatencyHistogram backoffs = new LatencyHistogram();
+    private final LongAdder attemptsStarted = new LongAdder();
+    private final LongAdder attemptsWithoutResponse = new LongAdder();
+
+    /**
+     * Constructor.
+     */
+    public HistogramClientMetrics() {
+        // Filled up front so the map is never written to after construction
+        for (var reason : RetryReason.values()) {
+            retriesByReason.put(reason, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onAttemptStarted(AccountId nodeAccountId, String methodName, int attempt) {
+        attemptsStarted.increment();
+    }
+
+    @Override
+    public void onAttemptFinished(
+            AccountId nodeAccountId, String methodName, int attempt, long latencyNanos, @Nullable Status status) {
+        latencyByNode
+                .computeIfAbsent(nodeAccountId, id -> new LatencyHistogram())
+                .recordNanos(latencyNanos);
+        latencyByMethod
+                .computeIfAbsent(methodName, name -> new LatencyHistogram())
+                .recordNanos(latencyNanos);
+
+        if (status == null) {
+            attemptsWithoutResponse.increment();
+        } else {
+            responsesByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    @Override
+    public void onRetry(
+            AccountId nodeAccountId, String methodName, int attempt, RetryReason reason, long backoffMillis) {
+        retriesByReason.get(reason).increment();
+        backoffs.recordNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+    }
+
+    /**
+     * Extract the latencies of the attempts sent to each node.
+     *
+     * @return                          a snapshot of the latencies per node account ID
+     */
+    public Map<AccountId, LatencyHistogram.Snapshot> getLatencyByNode() {
+        return snapshotAll(latencyByNode);
+    }
+
+    /**
+     * Extract the latencies of the attempts of each gRPC method, which tells the kinds of requests apart.
+     *
+     * @return                          a snapshot of the latencies per full gRPC method name
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencyByMethod() {
+        return snapshotAll(latencyByMethod);
+    }
+
+    /**
+     * Extract the backoffs taken before retries.
+     *
+     * @return                          a snapshot of the backoffs
+     */
+    public LatencyHistogram.Snapshot getBackoffs() {
+        return backoffs.snapshot();
+    }
+
+    /**
+     * Extract the number of attempts sent.
+     *
+     * @return                          the number of attempts sent
+     */
+    public long getAttemptsStarted() {
+        return attemptsStarted.sum();
+    }
+
+    /**
+     * Extract the number of attempts that finished without a response from the node.
+     *
+     * @return                          the number of attempts without a response
+     */
+    public long getAttemptsWithoutResponse() {
+        return attemptsWithoutResponse.sum();
+    }
+
+    /**
+     * Extract the number of responses with each precheck status.
+     *
+     * @return                          the number of responses per status
+     */
+    public Map<Status, Long> getResponsesByStatus() {
+        var counts = new EnumMap<Status, Long>(Status.class);
+        responsesByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Extract the number of retries made for a reason.
+     *
+     * @param reason                    the reason
+     * @return                          the number of retries
+     */
+    public long getRetries(RetryReason reason) {
+        return retriesByReason.get(reason).sum();
+    }
+
+    private static <K> Map<K, LatencyHistogram.Snapshot> snapshotAll(Map<K, LatencyHistogram> histograms) {
+        var snapshots = new HashMap<K, LatencyHistogram.Snapshot>();
+        histograms.forEach((key, histogram) -> snapshots.put(key, histogram.snapshot()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,11 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+/**
+ * Thrown when a request is refused because the client already has as many requests in flight as it allows.
+ */
+public class InFlightLimitExceededException extends IllegalStateException {
+    InFlightLimitExceededException(int maxInFlightRequests) {
+        super("client already has the maximum of " + maxInFlightRequests + " requests in flight");
+    }
+}
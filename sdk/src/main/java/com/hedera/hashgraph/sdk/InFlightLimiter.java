@@ -0,0 +1,184 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of asynchronous requests a client has in flight.
+ * <p>
+ * Requests over the limit wait in a FIFO queue for a permit instead of piling up in the executor. A permit freed by a
+ * finished request goes straight to the oldest waiter.
+ */
+final class InFlightLimiter {
+    // A lock instead of `synchronized` so virtual threads do not pin their carrier while holding it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Requests waiting for a permit; guarded by `lock`
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+    // Callers waiting for the client to drop below its limit, without taking a permit; guarded by `lock`
+    private final ArrayList<CompletableFuture<Void>> capacityWaiters = new ArrayList<>();
+
+    // Guarded by `lock`
+    private int inFlight;
+
+    private volatile int limit;
+
+    /**
+     * Extract the maximum number of requests in flight.
+     *
+     * @return                          the limit, or 0 if there is none
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Assign the maximum number of requests in flight. Raising the limit admits waiting requests right away.
+     *
+     * @param limit                     the limit, or 0 for none
+     */
+    void setLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("maxInFlightRequests must not be negative");
+        }
+
+        this.limit = limit;
+        grantFreedPermits();
+    }
+
+    /**
+     * Extract the number of requests holding a permit.
+     *
+     * @return                          the number of requests in flight
+     */
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasCapacity() {
+        var limit = this.limit;
+        return limit <= 0 || inFlight < limit;
+    }
+
+    /**
+     * Take a permit if one is free.
+     *
+     * @return                          whether a permit was taken
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && hasCapacity()) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a permit, waiting for one to be freed if necessary. Cancelling the returned future gives up the place in
+     * the queue.
+     *
+     * @return                          future that completes once the permit is held
+     */
+    CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && hasCapacity()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            var waiter = new CompletableFuture<Void>();
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until a request would be admitted without queueing. No permit is taken, so a following
+     * {@link #tryAcquire()} can still lose the race for it.
+     *
+     * @return                          future that completes once there is capacity
+     */
+    CompletableFuture<Void> awaitCapacity() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && hasCapacity()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            var waiter = new CompletableFuture<Void>();
+            capacityWaiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back a permit taken by {@link #tryAcquire()} or {@link #acquire()}.
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+
+        grantFreedPermits();
+    }
+
+    private void grantFreedPermits() {
+        var granted = new ArrayList<CompletableFuture<Void>>();
+        var available = new ArrayList<CompletableFuture<Void>>();
+
+        lock.lock();
+        try {
+            while (hasCapacity()) {
+                var waiter = waiters.poll();
+                if (waiter == null) {
+                    break;
+                }
+                if (!waiter.isDone()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+
+            if (waiters.isEmpty() && hasCapacity()) {
+                available.addAll(capacityWaiters);
+                capacityWaiters.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Complete outside the lock since the waiters' callbacks start requests
+        for (var waiter : granted) {
+            if (!waiter.complete(null)) {
+                // Cancelled after it was picked; hand the permit on
+                release();
+            }
+        }
+
+        for (var waiter : available) {
+            waiter.complete(null);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * {@link Tracer} that keeps every ended span in memory, for tests and for inspecting a slow flow by hand.
+ */
+public final class InMemoryTracer implements Tracer {
+    private final AtomicLong nextSpanId = new AtomicLong(1);
+    private final ConcurrentLinkedQueue<RecordedSpan> finishedSpans = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor.
+     */
+    public InMemoryTracer() {}
+
+    @Override
+    public Span startSpan(String name, @Nullable Span parent) {
+        var parentId = parent instanceof RecordedSpan recorded ? recorded.spanId : 0;
+        return new RecordedSpan(this, nextSpanId.getAndIncrement(), parentId, name);
+    }
+
+    /**
+     * Extract the spans that have ended, in the order they ended.
+     *
+     * @return the ended spans
+     */
+    public List<RecordedSpan> getFinishedSpans() {
+        return new ArrayList<>(finishedSpans);
+    }
+
+    /**
+     * Forget the spans that have ended.
+     */
+    public void reset() {
+        finishedSpans.clear();
+    }
+
+    /**
+     * A span started by an {@link InMemoryTracer}.
+     */
+    public static final class RecordedSpan implements Span {
+        private final InMemoryTracer tracer;
+        private final long spanId;
+        private final long parentSpanId;
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        private long endNanos;
+
+        @Nullable
+        private Throwable error;
+
+        private boolean ended;
+
+        private RecordedSpan(InMemoryTracer tracer, long spanId, long parentSpanId, String name) {
+            this.tracer = tracer;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+        }
+
+        @Override
+        public synchronized void setAttribute(String key, String value) {
+            if (!ended) {
+                attributes.put(key, value);
+            }
+        }
+
+        @Override
+        public synchronized void setAttribute(String key, long value) {
+            if (!ended) {
+                attributes.put(key, value);
+            }
+        }
+
+        @Override
+        public synchronized void setError(Throwable error) {
+            if (!ended) {
+                this.error = error;
+            }
+        }
+
+        @Override
+        public void end() {
+            synchronized (this) {
+                if (ended) {
+                    return;
+                }
+                ended = true;
+                endNanos = System.nanoTime();
+            }
+
+            tracer.finishedSpans.add(this);
+        }
+
+        /**
+         * Extract the ID of the span, unique within its tracer.
+         *
+         * @return the span ID
+         */
+        public long getSpanId() {
+            return spanId;
+        }
+
+        /**
+         * Extract the ID of the parent span.
+         *
+         * @return the parent span ID, or 0 for a root span
+         */
+        public long getParentSpanId() {
+            return parentSpanId;
+        }
+
+        /**
+         * Extract the name of the span.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Extract the attributes of the span.
+         *
+         * @return the attributes, in the order they were first set
+         */
+        public synchronized Map<String, Object> getAttributes() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+
+        /**
+         * Extract the error the span ended with.
+         *
+         * @return the error, or null if the operation succeeded
+         */
+        @Nullable
+        public synchronized Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Extract how long the span lasted.
+         *
+         * @return the duration in nanoseconds
+         */
+        public synchronized long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + spanId + "(parent=" + parentSpanId + ", attributes=" + getAttributes() + ")";
+        }
+    }
+}
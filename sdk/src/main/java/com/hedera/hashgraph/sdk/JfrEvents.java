@@ -0,0 +1,144 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * JDK Flight Recorder events of the SDK, so its requests can be lined up with GC pauses and thread stalls in one
+ * recording without turning on any logging.
+ * <p>
+ * The events are off unless a recording enables them, for example with
+ * {@code -XX:StartFlightRecording:settings=profile}. An event that is off is never created.
+ * <p>
+ * Runtimes without the {@code jdk.jfr} module, such as Android, record nothing: whether it is present is checked once,
+ * and {@link JfrRecorder}, which holds the events, is only loaded when it is.
+ */
+final class JfrEvents {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private JfrEvents() {}
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Start timing an attempt.
+     *
+     * @return                          the started event, or null if attempts are not recorded
+     */
+    @Nullable
+    static Object beginAttempt() {
+        return AVAILABLE ? JfrRecorder.beginAttempt() : null;
+    }
+
+    /**
+     * Finish timing an attempt and commit it if it passes the recording's threshold.
+     *
+     * @param event                     the event from {@link #beginAttempt()}, or null
+     * @param requestType               the simple class name of the request
+     * @param method                    the full name of the gRPC method
+     * @param node                      the node the attempt was sent to
+     * @param attempt                   the attempt number
+     * @param status                    the precheck status of the response, or null if the node did not respond
+     */
+    static void endAttempt(
+            @Nullable Object event,
+            String requestType,
+            String method,
+            BaseNode<?, ?> node,
+            int attempt,
+            @Nullable Status status) {
+        if (event != null) {
+            JfrRecorder.endAttempt(event, requestType, method, node, attempt, status);
+        }
+    }
+
+    /**
+     * Start timing a backoff.
+     *
+     * @return                          the started event, or null if backoffs are not recorded
+     */
+    @Nullable
+    static Object beginBackoff() {
+        return AVAILABLE ? JfrRecorder.beginBackoff() : null;
+    }
+
+    /**
+     * Finish timing a backoff and commit it if it passes the recording's threshold.
+     *
+     * @param event                     the event from {@link #beginBackoff()}, or null
+     * @param requestType               the simple class name of the request
+     * @param node                      the node being waited on, or null if the request itself is waiting
+     * @param attempt                   the attempt made once the wait is over
+     * @param plannedMillis             how long the wait was meant to be, in milliseconds
+     */
+    static void endBackoff(
+            @Nullable Object event,
+            String requestType,
+            @Nullable BaseNode<?, ?> node,
+            int attempt,
+            long plannedMillis) {
+        if (event != null) {
+            JfrRecorder.endBackoff(event, requestType, node, attempt, plannedMillis);
+        }
+    }
+
+    /**
+     * Start timing a channel connection attempt.
+     *
+     * @return                          the started event, or null if connections are not recorded
+     */
+    @Nullable
+    static Object beginChannelConnect() {
+        return AVAILABLE ? JfrRecorder.beginChannelConnect() : null;
+    }
+
+    /**
+     * Finish timing a channel connection attempt and commit it if it passes the recording's threshold.
+     *
+     * @param event                     the event from {@link #beginChannelConnect()}, or null
+     * @param node                      the node whose channel was connecting
+     * @param connected                 whether the channel became ready
+     */
+    static void endChannelConnect(@Nullable Object event, BaseNode<?, ?> node, boolean connected) {
+        if (event != null) {
+            JfrRecorder.endChannelConnect(event, node, connected);
+        }
+    }
+
+    /**
+     * Record a change in the health of a node.
+     *
+     * @param node                      the node
+     * @param change                    what changed
+     */
+    static void nodeHealthChanged(BaseNode<?, ?> node, NodeHealthChange change) {
+        if (AVAILABLE) {
+            JfrRecorder.nodeHealthChanged(node, change);
+        }
+    }
+
+    /**
+     * How the health of a node changed.
+     */
+    enum NodeHealthChange {
+        /**
+         * The node failed and was taken out of rotation for a longer backoff
+         */
+        BACKOFF_INCREASED,
+        /**
+         * The backoff of the node ran out and it was put back into rotation
+         */
+        READMITTED,
+        /**
+         * The node failed too many times and was removed from the network
+         */
+        REMOVED,
+    }
+}
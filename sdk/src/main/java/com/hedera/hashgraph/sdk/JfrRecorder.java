@@ -0,0 +1,274 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The JDK Flight Recorder events behind {@link JfrEvents}.
+ * <p>
+ * This is the only class that refers to {@code jdk.jfr}, so it must only be loaded once {@link JfrEvents} has found
+ * the module to be present. The started events are handed out as plain objects so that callers do not refer to the
+ * event classes either.
+ */
+final class JfrRecorder {
+    private static final String CATEGORY = "Hedera SDK";
+
+    // Checked before an event is created, so nothing is allocated for events that are off
+    private static final EventType ATTEMPT = EventType.getEventType(AttemptEvent.class);
+    private static final EventType BACKOFF = EventType.getEventType(BackoffEvent.class);
+    private static final EventType CHANNEL_CONNECT = EventType.getEventType(ChannelConnectEvent.class);
+
+    private JfrRecorder() {}
+
+    /**
+     * Start timing an attempt.
+     *
+     * @return                          the started event, or null if attempts are not recorded
+     */
+    @Nullable
+    static Object beginAttempt() {
+        if (!ATTEMPT.isEnabled()) {
+            return null;
+        }
+
+        var event = new AttemptEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing an attempt and commit it if it passes the recording's threshold.
+     *
+     * @param started                   the event from {@link #beginAttempt()}, or null
+     * @param requestType               the simple class name of the request
+     * @param method                    the full name of the gRPC method
+     * @param node                      the node the attempt was sent to
+     * @param attempt                   the attempt number
+     * @param status                    the precheck status of the response, or null if the node did not respond
+     */
+    static void endAttempt(
+            @Nullable Object started,
+            String requestType,
+            String method,
+            BaseNode<?, ?> node,
+            int attempt,
+            @Nullable Status status) {
+        if (started == null) {
+            return;
+        }
+
+        var event = (AttemptEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestType = requestType;
+            event.method = method;
+            event.node = String.valueOf(node.getKey());
+            event.attempt = attempt;
+            event.status = status == null ? null : status.name();
+            event.commit();
+        }
+    }
+
+    /**
+     * Start timing a backoff.
+     *
+     * @return                          the started event, or null if backoffs are not recorded
+     */
+    @Nullable
+    static Object beginBackoff() {
+        if (!BACKOFF.isEnabled()) {
+            return null;
+        }
+
+        var event = new BackoffEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing a backoff and commit it if it passes the recording's threshold.
+     *
+     * @param started                   the event from {@link #beginBackoff()}, or null
+     * @param requestType               the simple class name of the request
+     * @param node                      the node being waited on, or null if the request itself is waiting
+     * @param attempt                   the attempt made once the wait is over
+     * @param plannedMillis             how long the wait was meant to be, in milliseconds
+     */
+    static void endBackoff(
+            @Nullable Object started,
+            String requestType,
+            @Nullable BaseNode<?, ?> node,
+            int attempt,
+            long plannedMillis) {
+        if (started == null) {
+            return;
+        }
+
+        var event = (BackoffEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestType = requestType;
+            event.node = node == null ? null : String.valueOf(node.getKey());
+            event.attempt = attempt;
+            event.plannedWait = plannedMillis;
+            event.commit();
+        }
+    }
+
+    /**
+     * Start timing a channel connection attempt.
+     *
+     * @return                          the started event, or null if connections are not recorded
+     */
+    @Nullable
+    static Object beginChannelConnect() {
+        if (!CHANNEL_CONNECT.isEnabled()) {
+            return null;
+        }
+
+        var event = new ChannelConnectEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing a channel connection attempt and commit it if it passes the recording's threshold.
+     *
+     * @param started                   the event from {@link #beginChannelConnect()}, or null
+     * @param node                      the node whose channel was connecting
+     * @param connected                 whether the channel became ready
+     */
+    static void endChannelConnect(@Nullable Object started, BaseNode<?, ?> node, boolean connected) {
+        if (started == null) {
+            return;
+        }
+
+        var event = (ChannelConnectEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.node = String.valueOf(node.getKey());
+            event.address = String.valueOf(node.getAddress());
+            event.connected = connected;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record a change in the health of a node.
+     *
+     * @param node                      the node
+     * @param change                    what changed
+     */
+    static void nodeHealthChanged(BaseNode<?, ?> node, JfrEvents.NodeHealthChange change) {
+        var event = new NodeHealthEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.node = String.valueOf(node.getKey());
+        event.address = String.valueOf(node.getAddress());
+        event.change = change.name();
+        event.backoff = node.getRemainingTimeForBackoff();
+        event.badGrpcStatusCount = node.getBadGrpcStatusCount();
+        event.commit();
+    }
+
+    /**
+     * One attempt of a request, from sending it to a node until the call finished.
+     */
+    @Name("com.hedera.hashgraph.sdk.Attempt")
+    @Label("Request Attempt")
+    @Category(CATEGORY)
+    @Description("An attempt of a request sent to one node")
+    static final class AttemptEvent extends Event {
+        @Label("Request Type")
+        String requestType;
+
+        @Label("Method")
+        String method;
+
+        @Label("Node")
+        String node;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("Status")
+        @Description("The precheck status of the response, or empty if the node did not respond")
+        String status;
+    }
+
+    /**
+     * A wait before the next attempt of a request, while the request or the node backs off.
+     */
+    @Name("com.hedera.hashgraph.sdk.Backoff")
+    @Label("Request Backoff")
+    @Category(CATEGORY)
+    @Description("A wait before the next attempt of a request")
+    static final class BackoffEvent extends Event {
+        @Label("Request Type")
+        String requestType;
+
+        @Label("Node")
+        @Description("The node being waited on, or empty if the wait is for the request itself")
+        String node;
+
+        @Label("Attempt")
+        @Description("The attempt made once the wait is over")
+        int attempt;
+
+        @Label("Planned Wait")
+        @Timespan(Timespan.MILLISECONDS)
+        long plannedWait;
+    }
+
+    /**
+     * A change in the health of a node.
+     */
+    @Name("com.hedera.hashgraph.sdk.NodeHealth")
+    @Label("Node Health Change")
+    @Category(CATEGORY)
+    @Description("A node was backed off, readmitted or removed")
+    static final class NodeHealthEvent extends Event {
+        @Label("Node")
+        String node;
+
+        @Label("Address")
+        String address;
+
+        @Label("Change")
+        String change;
+
+        @Label("Remaining Backoff")
+        @Timespan(Timespan.MILLISECONDS)
+        long backoff;
+
+        @Label("Bad gRPC Status Count")
+        long badGrpcStatusCount;
+    }
+
+    /**
+     * An attempt to connect the channel of a node, from asking for the connection until it is ready or given up on.
+     */
+    @Name("com.hedera.hashgraph.sdk.ChannelConnect")
+    @Label("Channel Connect")
+    @Category(CATEGORY)
+    @Description("A connection attempt of the channel of a node")
+    static final class ChannelConnectEvent extends Event {
+        @Label("Node")
+        String node;
+
+        @Label("Address")
+        String address;
+
+        @Label("Connected")
+        boolean connected;
+    }
+}
@@ -0,0 +1,152 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with a bounded relative error, in the style of an HDR histogram.
+ * <p>
+ * Values are counted in buckets that are linear within each power of two: every power of two is split into 32
+ * buckets, so a recorded value is reported at most about 3% above what was recorded. Recording never blocks and
+ * never allocates.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor.
+     */
+    public LatencyHistogram() {}
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos                     the latency in nanoseconds; negative values are counted as zero
+     */
+    public void recordNanos(long nanos) {
+        var value = Math.max(0, nanos);
+
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Take a copy of the counts so far. Values recorded while the copy is taken may or may not be included.
+     *
+     * @return                          the snapshot
+     */
+    public Snapshot snapshot() {
+        var copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+
+        return new Snapshot(copy, count, sum.sum(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return (shift + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Counts of a {@link LatencyHistogram} at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Extract the number of recorded latencies.
+         *
+         * @return                      the number of recorded latencies
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Extract the mean of the recorded latencies.
+         *
+         * @return                      the mean, or zero if nothing was recorded
+         */
+        public Duration getMean() {
+            return count == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos / count);
+        }
+
+        /**
+         * Extract the largest recorded latency.
+         *
+         * @return                      the largest latency, or zero if nothing was recorded
+         */
+        public Duration getMax() {
+            return Duration.ofNanos(maxNanos);
+        }
+
+        /**
+         * Extract the latency that the given percentage of recorded latencies are at or below.
+         *
+         * @param percentile            the percentile, between 0 and 100
+         * @return                      the latency, or zero if nothing was recorded
+         */
+        public Duration getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100");
+            }
+
+            if (count == 0) {
+                return Duration.ZERO;
+            }
+
+            long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Duration.ofNanos(Math.min(highestValueOf(i), maxNanos));
+                }
+            }
+
+            return Duration.ofNanos(maxNanos);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.logger.LogLevel;
+import com.hedera.hashgraph.sdk.logger.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * {@link RequestEventListener} that writes the events of a request to its {@link Logger}.
+ * <p>
+ * Every event checks the level before building the arguments of the message, so a logger that is off for the level
+ * costs a comparison.
+ */
+final class LoggingRequestEventListener implements RequestEventListener {
+    final Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param logger                    the logger to write to
+     */
+    LoggingRequestEventListener(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void onAttemptSent(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            @Nullable String nodeAddress,
+            int attempt) {
+        if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+            logger.trace(
+                    "Sending {} {} to node {} ({}) during attempt #{}",
+                    requestName,
+                    transactionId,
+                    nodeAccountId,
+                    nodeAddress,
+                    attempt);
+        }
+    }
+
+    @Override
+    public void onResponse(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            long latencyNanos,
+            Status status,
+            Object response) {
+        if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+            logger.trace(
+                    "Received {} response in {} s from node {} during attempt #{}: {}",
+                    status,
+                    latencyNanos / 1_000_000_000.0,
+                    nodeAccountId,
+                    attempt,
+                    response);
+        }
+    }
+
+    @Override
+    public void onCallFailed(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            long latencyNanos,
+            Throwable error) {
+        if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+            logger.trace(
+                    "Call of {} {} to node {} failed during attempt #{}: {}",
+                    requestName,
+                    transactionId,
+                    nodeAccountId,
+                    attempt,
+                    error.getMessage());
+        }
+    }
+
+    @Override
+    public void onRetry(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            ClientMetrics.RetryReason reason,
+            long backoffMillis,
+            @Nullable Status status,
+            @Nullable Throwable error) {
+        if (!logger.isEnabledForLevel(LogLevel.WARN)) {
+            return;
+        }
+
+        switch (reason) {
+            case CONNECTION_FAILURE -> logger.warn(
+                    "Retrying in {} ms after channel connection failure with node {} during attempt #{}",
+                    backoffMillis,
+                    nodeAccountId,
+                    attempt);
+            case GRPC_ERROR -> logger.warn(
+                    "Retrying in {} ms after failure with node {} during attempt #{}: {}",
+                    backoffMillis,
+                    nodeAccountId,
+                    attempt,
+                    error != null ? error.getMessage() : "NULL");
+            case RETRYABLE_STATUS -> logger.warn(
+                    "Retrying in {} ms after failure with node {} during attempt #{}: {}",
+                    backoffMillis,
+                    nodeAccountId,
+                    attempt,
+                    status);
+            case SERVER_ERROR -> logger.warn(
+                    "Problem submitting request to node {} for attempt #{}, retry with new node: {}",
+                    nodeAccountId,
+                    attempt,
+                    status);
+        }
+    }
+
+    @Override
+    public void onHedged(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            AccountId hedgedNodeAccountId,
+            int attempt) {
+        if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+            logger.trace(
+                    "Hedging attempt #{} to node {} after no response from node {}",
+                    attempt,
+                    hedgedNodeAccountId,
+                    nodeAccountId);
+        }
+    }
+}
@@ -3,14 +3,27 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.common.io.ByteStreams;
 import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceQuery;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.QueryHeader;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import io.grpc.CallOptions;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -21,7 +34,7 @@ import javax.annotation.Nullable;
  */
 class Network extends BaseNetwork<Network, AccountId, Node> {
     @Nullable
-    private Integer maxNodesPerRequest;
+    private volatile Integer maxNodesPerRequest;
 
     /**
      * The protobuf address book converted into a map of node account IDs to NodeAddress
@@ -33,6 +46,10 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
 
     private boolean verifyCertificates = true;
 
+    private volatile int channelsPerNode = 1;
+
+    private volatile int maxInFlightRequestsPerNode = 0;
+
     private Network(ExecutorService executor, Map<String, AccountId> network) {
         super(executor);
 
@@ -111,13 +128,72 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
     synchronized Network setVerifyCertificates(boolean verifyCertificates) {
         this.verifyCertificates = verifyCertificates;
 
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.setVerifyCertificates(verifyCertificates);
         }
 
         return this;
     }
 
+    /**
+     * Extract the number of connections opened to each node.
+     *
+     * @return                          the number of connections per node
+     */
+    int getChannelsPerNode() {
+        return channelsPerNode;
+    }
+
+    /**
+     * Assign the number of connections opened to each node. Nodes whose channel is already open keep their current
+     * connections until the channel is opened again.
+     *
+     * @param channelsPerNode           the number of connections per node
+     * @return {@code this}
+     */
+    synchronized Network setChannelsPerNode(int channelsPerNode) {
+        if (channelsPerNode < 1) {
+            throw new IllegalArgumentException("channelsPerNode must be at least 1");
+        }
+
+        this.channelsPerNode = channelsPerNode;
+
+        for (var node : snapshot.get().nodes) {
+            node.setChannelsPerNode(channelsPerNode);
+        }
+
+        return this;
+    }
+
+    /**
+     * Extract the number of requests in flight above which other nodes are preferred.
+     *
+     * @return                          the limit per node, or 0 for none
+     */
+    int getMaxInFlightRequestsPerNode() {
+        return maxInFlightRequestsPerNode;
+    }
+
+    /**
+     * Assign the number of requests in flight above which other nodes are preferred.
+     *
+     * @param maxInFlightRequestsPerNode the limit per node, or 0 for none
+     * @return {@code this}
+     */
+    synchronized Network setMaxInFlightRequestsPerNode(int maxInFlightRequestsPerNode) {
+        if (maxInFlightRequestsPerNode < 0) {
+            throw new IllegalArgumentException("maxInFlightRequestsPerNode must not be negative");
+        }
+
+        this.maxInFlightRequestsPerNode = maxInFlightRequestsPerNode;
+
+        for (var node : snapshot.get().nodes) {
+            node.setMaxInFlightRequests(maxInFlightRequestsPerNode);
+        }
+
+        return this;
+    }
+
     @Override
     synchronized Network setLedgerId(@Nullable LedgerId ledgerId) {
         return setLedgerIdInternal(ledgerId, getAddressBookForLedger(ledgerId));
@@ -128,7 +204,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
         super.setLedgerId(ledgerId);
 
         this.addressBook = addressBook;
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.setAddressBookEntry(addressBook == null ? null : addressBook.get(node.getAccountId()));
         }
 
@@ -170,7 +246,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
             }
         }
         this.addressBook = newAddressBook;
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             node.setAddressBookEntry(this.addressBook.get(node.getAccountId()));
         }
     }
@@ -224,9 +300,9 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      *
      * @return                          list of network records
      */
-    synchronized Map<String, AccountId> getNetwork() {
+    Map<String, AccountId> getNetwork() {
         Map<String, AccountId> returnMap = new HashMap<>();
-        for (var node : nodes) {
+        for (var node : snapshot.get().nodes) {
             returnMap.put(node.address.toString(), node.getAccountId());
         }
         return returnMap;
@@ -234,7 +310,54 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
 
     @Override
     protected Node createNodeFromNetworkEntry(Map.Entry<String, AccountId> entry) {
-        return new Node(entry.getValue(), entry.getKey(), executor).setVerifyCertificates(verifyCertificates);
+        return new Node(entry.getValue(), entry.getKey(), executor)
+                .setVerifyCertificates(verifyCertificates)
+                .setChannelsPerNode(channelsPerNode)
+                .setMaxInFlightRequests(maxInFlightRequestsPerNode);
+    }
+
+    /**
+     * Probe a node with the free account balance query that {@link Client#ping(AccountId)} also sends, asking for
+     * the balance of the node's own account. The query goes straight to the channel of this node, so the answer
+     * cannot come from another address of the same account.
+     *
+     * @param node                      the node to probe
+     * @return                          future that completes with whether the node answered with {@link Status#OK}
+     */
+    @Override
+    CompletableFuture<Boolean> probe(Node node) {
+        var query = Query.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceQuery.newBuilder()
+                        .setHeader(QueryHeader.newBuilder().setResponseType(ResponseType.ANSWER_ONLY))
+                        .setAccountID(node.getAccountId().toProtobuf()))
+                .build();
+        var callOptions = CallOptions.DEFAULT.withDeadlineAfter(
+                Client.DEFAULT_GRPC_DEADLINE.toMillis(), TimeUnit.MILLISECONDS);
+
+        var result = new CompletableFuture<Boolean>();
+        ClientCalls.asyncUnaryCall(
+                node.getChannel().newCall(CryptoServiceGrpc.getCryptoGetBalanceMethod(), callOptions),
+                query,
+                new StreamObserver<Response>() {
+                    @Override
+                    public void onNext(Response response) {
+                        var precheckCode = response.getCryptogetAccountBalance()
+                                .getHeader()
+                                .getNodeTransactionPrecheckCode();
+                        result.complete(precheckCode == ResponseCodeEnum.OK);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.complete(false);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        result.complete(false);
+                    }
+                });
+        return result;
     }
 
     /**
@@ -243,7 +366,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      *
      * @return {@link java.util.List<com.hedera.hashgraph.sdk.AccountId>}
      */
-    synchronized List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
+    List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
         var nodes = getNumberOfMostHealthyNodes(getNumberOfNodesForRequest());
         var nodeAccountIds = new ArrayList<AccountId>(nodes.size());
 
@@ -254,6 +377,22 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
         return nodeAccountIds;
     }
 
+    /**
+     * Extract the account IDs of the healthy nodes, each once, in the order of the network.
+     *
+     * @return                          the account IDs of the healthy nodes
+     */
+    List<AccountId> getHealthyNodeAccountIds() {
+        readmitNodes();
+
+        var nodeAccountIds = new LinkedHashSet<AccountId>();
+        for (var node : snapshot.get().healthyNodes) {
+            nodeAccountIds.add(node.getAccountId());
+        }
+
+        return new ArrayList<>(nodeAccountIds);
+    }
+
     /**
      * Assign the maximum nodes to be returned for each request.
      *
@@ -271,20 +410,13 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      * @return                          the number of nodes for each request
      */
     int getNumberOfNodesForRequest() {
-        if (maxNodesPerRequest != null) {
-            return Math.min(maxNodesPerRequest, network.size());
-        } else {
-            return (network.size() + 3 - 1) / 3;
-        }
-    }
+        var maxNodesPerRequest = this.maxNodesPerRequest;
+        var networkSize = snapshot.get().network.size();
 
-    private List<Node> getNodesForKey(AccountId key) {
-        if (network.containsKey(key)) {
-            return network.get(key);
+        if (maxNodesPerRequest != null) {
+            return Math.min(maxNodesPerRequest, networkSize);
         } else {
-            var newList = new ArrayList<Node>();
-            network.put(key, newList);
-            return newList;
+            return (networkSize + 3 - 1) / 3;
         }
     }
 
@@ -296,21 +428,18 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      * @throws InterruptedException     when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
     synchronized Network setTransportSecurity(boolean transportSecurity) throws InterruptedException {
-        if (this.transportSecurity != transportSecurity) {
-            network.clear();
+        var nodes = new ArrayList<>(snapshot.get().nodes);
 
+        if (this.transportSecurity != transportSecurity) {
             for (int i = 0; i < nodes.size(); i++) {
                 var node = nodes.get(i);
-                node.close(closeTimeout);
-
-                node = transportSecurity ? node.toSecure() : node.toInsecure();
+                node.shutdownChannel();
 
-                nodes.set(i, node);
-                getNodesForKey(node.getKey()).add(node);
+                nodes.set(i, transportSecurity ? node.toSecure() : node.toInsecure());
             }
         }
 
-        healthyNodes = new ArrayList<>(nodes);
+        snapshot.set(NetworkSnapshot.of(nodes, nodes));
 
         this.transportSecurity = transportSecurity;
 
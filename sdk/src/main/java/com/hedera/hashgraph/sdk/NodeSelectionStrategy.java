@@ -0,0 +1,55 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Enum for the strategy used to pick a node when the SDK is free to choose between several of them.
+ */
+public enum NodeSelectionStrategy {
+    /**
+     * Pick a node uniformly at random. This is the default.
+     */
+    RANDOM {
+        @Override
+        <N extends BaseNode<?, ?>> N select(List<N> candidates, Random random) {
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+    },
+    /**
+     * Pick two nodes at random and use the one with the lower expected load, estimated from its recent latency and
+     * the number of requests currently in flight to it.
+     * <p>
+     * Comparing two random candidates rather than always taking the single best node keeps a briefly fast node from
+     * being flooded, while still steering traffic away from slow ones.
+     */
+    LEAST_LOADED {
+        @Override
+        <N extends BaseNode<?, ?>> N select(List<N> candidates, Random random) {
+            int size = candidates.size();
+            if (size == 1) {
+                return candidates.get(0);
+            }
+
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            var firstNode = candidates.get(first);
+            var secondNode = candidates.get(second);
+            return firstNode.getLoadScore() <= secondNode.getLoadScore() ? firstNode : secondNode;
+        }
+    };
+
+    /**
+     * Pick one of the candidates.
+     *
+     * @param candidates                the nodes to choose from, must not be empty
+     * @param random                    the source of randomness
+     * @return                          the chosen node
+     */
+    abstract <N extends BaseNode<?, ?>> N select(List<N> candidates, Random random);
+}
@@ -11,7 +11,6 @@ import org.bouncycastle.asn1.*;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.sec.ECPrivateKey;
 import org.bouncycastle.asn1.x9.X962Parameters;
-import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.generators.ECKeyPairGenerator;
 import org.bouncycastle.crypto.macs.HMac;
@@ -19,8 +18,6 @@ import org.bouncycastle.crypto.params.ECKeyGenerationParameters;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
 import org.bouncycastle.crypto.params.ECPublicKeyParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.signers.ECDSASigner;
-import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
 import org.bouncycastle.util.Arrays;
 
 /**
@@ -232,19 +229,23 @@ public class PrivateKeyECDSA extends PrivateKey {
 
     @Override
     public byte[] sign(byte[] message) {
-        var hash = Crypto.calcKeccak256(message);
-
-        var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        signer.init(true, new ECPrivateKeyParameters(keyData, ECDSA_SECP256K1_DOMAIN));
-        BigInteger[] bigSig = signer.generateSignature(hash);
+        var signature = Secp256k1Signer.sign(keyData, message);
 
-        byte[] sigBytes = Arrays.copyOf(bigIntTo32Bytes(bigSig[0]), 64);
-        System.arraycopy(bigIntTo32Bytes(bigSig[1]), 0, sigBytes, 32, 32);
+        byte[] sigBytes = Arrays.copyOf(bigIntTo32Bytes(signature.r), 64);
+        System.arraycopy(bigIntTo32Bytes(signature.s), 0, sigBytes, 32, 32);
 
         return sigBytes;
     }
 
     public int getRecoveryId(byte[] r, byte[] s, byte[] message) {
+        // Signatures are deterministic, so if this key made the signature, signing again yields its nonce point
+        var signature = Secp256k1Signer.sign(keyData, message);
+        if (signature.recoveryId != -1
+                && signature.r.equals(new BigInteger(1, r))
+                && signature.s.equals(new BigInteger(1, s))) {
+            return signature.recoveryId;
+        }
+
         int recId = -1;
         var hash = Crypto.calcKeccak256(message);
         var publicKey = getPublicKey().toBytesRaw();
@@ -104,6 +104,30 @@ public abstract class Query<O, T extends Query<O, T>>
         return (T) this;
     }
 
+    /**
+     * Get the policy used to hedge asynchronous execution.
+     *
+     * @return the hedge policy, or null when hedging is disabled
+     */
+    @Nullable
+    public final HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Set the policy used to hedge asynchronous execution. When set, an attempt made by {@code executeAsync} that
+     * has not been answered within the delay given by the policy is also sent to the next healthy node, and the first
+     * successful response is used. Synchronous {@code execute} is not hedged.
+     *
+     * @param hedgePolicy the hedge policy, or null to disable hedging
+     * @return {@code this}
+     */
+    public final T setHedgePolicy(@Nullable HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+        // noinspection unchecked
+        return (T) this;
+    }
+
     /**
      * Set the maximum payment allowable for this query.
      * <p>
@@ -181,6 +205,20 @@ public abstract class Query<O, T extends Query<O, T>>
                 .executeAsync(client, timeout);
     }
 
+    /**
+     * Fetch the expected cost asynchronously under the in-flight permit already held by this query, since waiting for
+     * a second permit could stall every paid query when all permits are held by queries fetching their cost.
+     *
+     * @param client                    the client
+     * @return                          future result of the cost
+     */
+    private CompletableFuture<Hbar> getCostAsyncWithinPermit(Client client) {
+        initWithNodeIds(client);
+        return getCostExecutable()
+                .setNodeAccountIds(Objects.requireNonNull(getNodeAccountIds()))
+                .executeAsyncWithinPermit(client, client.getRequestTimeout());
+    }
+
     /**
      * Fetch the expected cost asynchronously.
      *
@@ -318,7 +356,7 @@ public abstract class Query<O, T extends Query<O, T>>
                             if (grpcCostQuery.getCost() == null) {
                                 // No payment was specified so we need to go ask
                                 // This is a query in its own right so we use a nested future here
-                                return getCostAsync(client).thenCompose(cost -> {
+                                return getCostAsyncWithinPermit(client).thenCompose(cost -> {
                                     grpcCostQuery.setCost(cost);
 
                                     if (grpcCostQuery.shouldError()) {
@@ -377,9 +415,19 @@ public abstract class Query<O, T extends Query<O, T>>
 
     @Override
     final com.hedera.hashgraph.sdk.proto.Query makeRequest() {
-        // If payment is required, set the next payment transaction on the query
+        return makeRequestForNode(nodeAccountIds.getIndex());
+    }
+
+    @Override
+    final boolean canHedge() {
+        return true;
+    }
+
+    @Override
+    final com.hedera.hashgraph.sdk.proto.Query makeRequestForNode(int nodeIndex) {
+        // If payment is required, set the payment transaction to the node on the query
         if (isPaymentRequired() && paymentTransactions != null) {
-            headerBuilder.setPayment(getPaymentTransaction(nodeAccountIds.getIndex()));
+            headerBuilder.setPayment(getPaymentTransaction(nodeIndex));
         }
 
         // Delegate to the derived class to apply the header because the common header struct is
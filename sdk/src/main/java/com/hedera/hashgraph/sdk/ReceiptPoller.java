@@ -0,0 +1,555 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.Response;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * Waits for the receipts of many transactions at once.
+ * <p>
+ * Every pending transaction ID is filed under the node it was submitted to, and each node has a single timer that
+ * polls the receipts that are due, with at most {@link #getMaxPollsInFlightPerNode()} polls in flight per node. A
+ * transaction asked for more than once is polled once for all its callers. The first poll of a transaction waits for
+ * about as long as the network took to reach consensus on recent ones, and later polls follow at a fraction of that,
+ * so receipts are not asked for long before they can exist.
+ * <p>
+ * Polls are made with the free {@link TransactionReceiptQuery} and report to the client's metrics, tracer, request
+ * event listener and the flight recorder like any other attempt. A poll that fails backs off its node as usual and is
+ * made again once the node is healthy, until the receipt arrives or the caller's timeout runs out. Polls are not
+ * counted against the client's in-flight limits.
+ *
+ * @see Client#setReceiptPolling(boolean)
+ */
+public final class ReceiptPoller {
+    /**
+     * The default number of polls in flight per node
+     */
+    public static final int DEFAULT_MAX_POLLS_IN_FLIGHT_PER_NODE = 32;
+
+    static final long INITIAL_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(3);
+    static final long MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    static final long MAX_RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Client client;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Everything below is guarded by `lock`
+    private final Map<AccountId, NodePolls> nodes = new HashMap<>();
+    private long latencyNanos = INITIAL_LATENCY_NANOS;
+    private int maxPollsInFlightPerNode = DEFAULT_MAX_POLLS_IN_FLIGHT_PER_NODE;
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client whose network and executor are used
+     */
+    ReceiptPoller(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Extract the maximum number of polls in flight per node.
+     *
+     * @return                          the maximum number of polls in flight per node
+     */
+    public int getMaxPollsInFlightPerNode() {
+        lock.lock();
+        try {
+            return maxPollsInFlightPerNode;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Assign the maximum number of polls in flight per node. Defaults to
+     * {@link #DEFAULT_MAX_POLLS_IN_FLIGHT_PER_NODE}.
+     *
+     * @param maxPollsInFlightPerNode   the maximum, at least 1
+     * @return {@code this}
+     */
+    public ReceiptPoller setMaxPollsInFlightPerNode(int maxPollsInFlightPerNode) {
+        if (maxPollsInFlightPerNode < 1) {
+            throw new IllegalArgumentException("maxPollsInFlightPerNode must be at least 1");
+        }
+
+        lock.lock();
+        try {
+            this.maxPollsInFlightPerNode = maxPollsInFlightPerNode;
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Extract how long transactions currently take from submission until their receipt is found, averaged over the
+     * recent receipts.
+     *
+     * @return                          the estimated consensus latency
+     */
+    public Duration getConsensusLatencyEstimate() {
+        lock.lock();
+        try {
+            return Duration.ofNanos(latencyNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Extract the number of transactions whose receipts are still being waited for.
+     *
+     * @return                          the number of pending transactions
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            var count = 0;
+            for (var node : nodes.values()) {
+                count += node.pending.size();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for the receipt of a transaction. The receipt is returned as the node reports it; its status is not
+     * validated.
+     *
+     * @param transactionId             the ID of the transaction
+     * @param nodeId                    the node the transaction was submitted to
+     * @param timeout                   how long to wait for the receipt
+     * @return                          future that completes with the receipt, or exceptionally with a
+     *                                  {@link TimeoutException} or {@link PrecheckStatusException}
+     */
+    public CompletableFuture<TransactionReceipt> poll(TransactionId transactionId, AccountId nodeId, Duration timeout) {
+        var now = System.nanoTime();
+        Waiter waiter;
+
+        lock.lock();
+        try {
+            var node = nodes.computeIfAbsent(nodeId, NodePolls::new);
+            var pending = node.pending.get(transactionId);
+            if (pending == null) {
+                pending = new Pending(client, transactionId, now, now + firstPollDelayNanos());
+                node.pending.put(transactionId, pending);
+                node.due.add(pending);
+            }
+
+            waiter = new Waiter(pending, now + timeout.toNanos());
+            pending.waiters.add(waiter);
+            node.deadlines.add(waiter);
+            scheduleTick(node, now);
+        } finally {
+            lock.unlock();
+        }
+
+        return waiter.future;
+    }
+
+    /**
+     * Fail every pending poll and stop the timers. Polls already in flight are ignored when they return.
+     *
+     * @param error                     the error to fail the pending polls with
+     */
+    void cancelAll(Throwable error) {
+        var waiters = new ArrayList<Waiter>();
+
+        lock.lock();
+        try {
+            for (var node : nodes.values()) {
+                cancelTimer(node);
+                for (var pending : node.pending.values()) {
+                    waiters.addAll(pending.waiters);
+                }
+            }
+            nodes.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        for (var waiter : waiters) {
+            waiter.future.completeExceptionally(error);
+        }
+    }
+
+    private long firstPollDelayNanos() {
+        return Math.max(MIN_INTERVAL_NANOS, latencyNanos - retryIntervalNanos());
+    }
+
+    private long retryIntervalNanos() {
+        return Math.min(MAX_RETRY_INTERVAL_NANOS, Math.max(MIN_INTERVAL_NANOS, latencyNanos / 8));
+    }
+
+    /**
+     * Fold the time one receipt took to arrive into the latency estimate, weighting it by 1/8.
+     */
+    private void observeLatency(long sampleNanos) {
+        latencyNanos += (sampleNanos - latencyNanos) / 8;
+    }
+
+    /**
+     * Make sure the timer of a node fires by the time its next poll is due or its next waiter times out. Called with
+     * the lock held.
+     */
+    private void scheduleTick(NodePolls node, long now) {
+        var at = Long.MAX_VALUE;
+        if (node.inFlight < maxPollsInFlightPerNode && !node.due.isEmpty()) {
+            at = node.due.peek().nextPollNanos;
+        }
+
+        // Waiters that completed are dropped from the deadlines lazily
+        while (!node.deadlines.isEmpty() && node.deadlines.peek().future.isDone()) {
+            node.deadlines.poll();
+        }
+        if (!node.deadlines.isEmpty()) {
+            at = Math.min(at, node.deadlines.peek().deadlineNanos);
+        }
+
+        if (at == Long.MAX_VALUE || (node.timer != null && node.timerAtNanos <= at)) {
+            return;
+        }
+
+        cancelTimer(node);
+        node.timerAtNanos = at;
+        node.timer = Delayer.runAfter(
+                TimeUnit.NANOSECONDS.toMillis(Math.max(0, at - now) + 999_999),
+                client.executor,
+                () -> tick(node),
+                () -> cancelNode(node));
+    }
+
+    /**
+     * Fail the waiters of a node whose timer was dropped because the executor is shutting down, since nothing else
+     * would complete them.
+     */
+    private void cancelNode(NodePolls node) {
+        var waiters = new ArrayList<Waiter>();
+
+        lock.lock();
+        try {
+            if (nodes.get(node.nodeId) != node) {
+                return;
+            }
+
+            node.timer = null;
+            for (var pending : node.pending.values()) {
+                waiters.addAll(pending.waiters);
+            }
+            nodes.remove(node.nodeId);
+        } finally {
+            lock.unlock();
+        }
+
+        var error = new IllegalStateException("client was closed while waiting for the receipt");
+        for (var waiter : waiters) {
+            waiter.future.completeExceptionally(error);
+        }
+    }
+
+    private static void cancelTimer(NodePolls node) {
+        if (node.timer != null) {
+            node.timer.cancel();
+            node.timer = null;
+        }
+    }
+
+    /**
+     * Time out the waiters whose deadline passed and send the polls that are due.
+     */
+    private void tick(NodePolls node) {
+        var toSend = new ArrayList<Pending>();
+        var expired = new ArrayList<Waiter>();
+        var now = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (nodes.get(node.nodeId) != node) {
+                return;
+            }
+
+            node.timer = null;
+
+            while (!node.deadlines.isEmpty() && node.deadlines.peek().deadlineNanos - now <= 0) {
+                var waiter = node.deadlines.poll();
+                if (waiter.future.isDone()) {
+                    continue;
+                }
+
+                expired.add(waiter);
+                var pending = waiter.pending;
+                pending.waiters.remove(waiter);
+                if (pending.waiters.isEmpty() && node.pending.remove(pending.transactionId, pending)) {
+                    node.due.remove(pending);
+                }
+            }
+
+            while (node.inFlight < maxPollsInFlightPerNode
+                    && !node.due.isEmpty()
+                    && node.due.peek().nextPollNanos - now <= 0) {
+                node.inFlight++;
+                toSend.add(node.due.poll());
+            }
+
+            if (node.pending.isEmpty() && node.inFlight == 0) {
+                nodes.remove(node.nodeId);
+            } else {
+                scheduleTick(node, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (var waiter : expired) {
+            waiter.future.completeExceptionally(new TimeoutException("timed out while waiting for the receipt"));
+        }
+
+        for (var pending : toSend) {
+            send(node, pending);
+        }
+    }
+
+    private void send(NodePolls node, Pending pending) {
+        var proxies = client.network.getNodeProxies(node.nodeId);
+        if (proxies == null || proxies.isEmpty()) {
+            finish(node, pending, null, new IllegalStateException("node " + node.nodeId + " is not in the network"));
+            return;
+        }
+
+        Node proxy = null;
+        for (var candidate : proxies) {
+            if (candidate.isHealthy()) {
+                proxy = candidate;
+                break;
+            }
+        }
+
+        if (proxy == null) {
+            // Wait out the backoff of the node, or its open circuit, like any other request
+            var backoffMillis = Long.MAX_VALUE;
+            for (var candidate : proxies) {
+                backoffMillis = Math.min(backoffMillis, candidate.getRemainingTimeForBackoff());
+            }
+            retry(node, pending, TimeUnit.MILLISECONDS.toNanos(Math.max(0, backoffMillis)));
+            return;
+        }
+
+        var retryIntervalNanos = getRetryIntervalNanos();
+        var request = pending.query.new GrpcRequest(
+                client.network,
+                proxy,
+                ++pending.attempts,
+                pending.request,
+                client.getGrpcDeadline().toMillis(),
+                TimeUnit.NANOSECONDS.toMillis(retryIntervalNanos));
+
+        request.markSent();
+        try {
+            ClientCalls.asyncUnaryCall(request.createCall(), request.getRequest(), new StreamObserver<Response>() {
+                @Override
+                public void onNext(Response response) {
+                    request.markCompleted(true);
+                    onPolled(node, pending, request, response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    request.markCompleted(false);
+                    request.reportCallFailed(t);
+
+                    // Backs off the node when the error is one that would be retried elsewhere; any error is polled
+                    // again, since the receipt may still arrive
+                    request.shouldRetryExceptionally(t);
+                    retry(node, pending, retryIntervalNanos);
+                }
+
+                @Override
+                public void onCompleted() {
+                    // The response, if any, has already been handled
+                }
+            });
+        } catch (RuntimeException e) {
+            request.markCompleted(false);
+            request.reportCallFailed(e);
+            retry(node, pending, retryIntervalNanos);
+        }
+    }
+
+    private void onPolled(
+            NodePolls node,
+            Pending pending,
+            Executable<TransactionReceiptQuery, com.hedera.hashgraph.sdk.proto.Query, Response, TransactionReceipt>
+                            .GrpcRequest
+                    request,
+            Response response) {
+        var status = pending.query.mapResponseStatus(response);
+        var executionState = pending.query.getExecutionState(status, response);
+        request.handleResponse(response, status, executionState);
+
+        switch (executionState) {
+            case SUCCESS:
+                finish(node, pending, pending.query.mapResponse(response, node.nodeId, pending.request), null);
+                break;
+
+            case REQUEST_ERROR:
+                finish(node, pending, null, new PrecheckStatusException(status, pending.transactionId));
+                break;
+
+            default:
+                retry(node, pending, getRetryIntervalNanos());
+                break;
+        }
+    }
+
+    private long getRetryIntervalNanos() {
+        lock.lock();
+        try {
+            return retryIntervalNanos();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put a poll back in line to be made again after a delay.
+     */
+    private void retry(NodePolls node, Pending pending, long delayNanos) {
+        var now = System.nanoTime();
+
+        lock.lock();
+        try {
+            node.inFlight--;
+            if (node.pending.get(pending.transactionId) == pending) {
+                pending.nextPollNanos = now + delayNanos;
+                node.due.add(pending);
+            }
+
+            if (nodes.get(node.nodeId) == node) {
+                scheduleTick(node, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Complete every waiter of a transaction and stop polling it.
+     */
+    private void finish(
+            NodePolls node, Pending pending, @Nullable TransactionReceipt receipt, @Nullable Throwable error) {
+        var now = System.nanoTime();
+        List<Waiter> waiters = List.of();
+
+        lock.lock();
+        try {
+            node.inFlight--;
+            if (node.pending.remove(pending.transactionId, pending)) {
+                waiters = pending.waiters;
+                if (receipt != null) {
+                    observeLatency(now - pending.registeredNanos);
+                }
+            }
+
+            if (nodes.get(node.nodeId) == node) {
+                if (node.pending.isEmpty() && node.inFlight == 0) {
+                    cancelTimer(node);
+                    nodes.remove(node.nodeId);
+                } else {
+                    scheduleTick(node, now);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (var waiter : waiters) {
+            if (error != null) {
+                waiter.future.completeExceptionally(error);
+            } else {
+                waiter.future.complete(receipt);
+            }
+        }
+    }
+
+    /**
+     * The transactions pending on one node. Guarded by the lock of the poller.
+     */
+    private static final class NodePolls {
+        private final AccountId nodeId;
+        private final Map<TransactionId, Pending> pending = new HashMap<>();
+
+        // The pending transactions that are not in flight, soonest poll first
+        private final PriorityQueue<Pending> due =
+                new PriorityQueue<>(Comparator.comparingLong(pending -> pending.nextPollNanos));
+
+        // The waiters of the pending transactions, soonest deadline first
+        private final PriorityQueue<Waiter> deadlines =
+                new PriorityQueue<>(Comparator.comparingLong(waiter -> waiter.deadlineNanos));
+
+        private int inFlight;
+
+        @Nullable
+        private TimerWheel.Timeout timer;
+
+        private long timerAtNanos;
+
+        NodePolls(AccountId nodeId) {
+            this.nodeId = nodeId;
+        }
+    }
+
+    /**
+     * One transaction whose receipt is waited for, and everyone waiting for it.
+     */
+    private static final class Pending {
+        private final TransactionId transactionId;
+        private final TransactionReceiptQuery query;
+        private final com.hedera.hashgraph.sdk.proto.Query request;
+        private final long registeredNanos;
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        // Only changed while the pending transaction is out of the due queue
+        private long nextPollNanos;
+        private int attempts;
+
+        Pending(Client client, TransactionId transactionId, long registeredNanos, long nextPollNanos) {
+            this.transactionId = transactionId;
+            this.query = new TransactionReceiptQuery().setTransactionId(transactionId);
+            this.query.prepareReporting(client);
+            this.request = query.makeRequest();
+            this.registeredNanos = registeredNanos;
+            this.nextPollNanos = nextPollNanos;
+        }
+    }
+
+    /**
+     * A caller of {@link #poll(TransactionId, AccountId, Duration)}.
+     */
+    private static final class Waiter {
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private final Pending pending;
+        private final long deadlineNanos;
+
+        Waiter(Pending pending, long deadlineNanos) {
+            this.pending = pending;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
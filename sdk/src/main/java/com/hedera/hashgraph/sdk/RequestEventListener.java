@@ -0,0 +1,199 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Listener for the events in the life of a request: attempts being sent, responses, failed calls and retries.
+ * <p>
+ * Events are delivered as plain arguments rather than event objects, so the request path allocates nothing for
+ * them. The response and the error are the ones the SDK already holds; anything derived from them, such as a
+ * string, is only built if the listener builds it. The SDK's own logging is one such listener, so nothing is
+ * formatted unless its logger is enabled for the level.
+ * <p>
+ * Methods are called on the thread that drives the request, often a gRPC or executor thread, so they must return
+ * quickly and must not throw. Every method does nothing by default.
+ *
+ * @see Client#setRequestEventListener(RequestEventListener)
+ */
+public interface RequestEventListener {
+    /**
+     * Listener that ignores every event.
+     */
+    RequestEventListener NONE = new RequestEventListener() {};
+
+    /**
+     * Combine two listeners into one that passes every event to the first and then the second.
+     *
+     * @param first         the listener called first
+     * @param second        the listener called second
+     * @return              the combined listener, or one of the two if the other is {@link #NONE}
+     */
+    static RequestEventListener both(RequestEventListener first, RequestEventListener second) {
+        if (first == NONE) {
+            return second;
+        }
+
+        if (second == NONE) {
+            return first;
+        }
+
+        return new RequestEventListener() {
+            @Override
+            public void onAttemptSent(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    @Nullable String nodeAddress,
+                    int attempt) {
+                first.onAttemptSent(requestName, transactionId, nodeAccountId, nodeAddress, attempt);
+                second.onAttemptSent(requestName, transactionId, nodeAccountId, nodeAddress, attempt);
+            }
+
+            @Override
+            public void onResponse(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    long latencyNanos,
+                    Status status,
+                    Object response) {
+                first.onResponse(requestName, transactionId, nodeAccountId, attempt, latencyNanos, status, response);
+                second.onResponse(requestName, transactionId, nodeAccountId, attempt, latencyNanos, status, response);
+            }
+
+            @Override
+            public void onCallFailed(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    long latencyNanos,
+                    Throwable error) {
+                first.onCallFailed(requestName, transactionId, nodeAccountId, attempt, latencyNanos, error);
+                second.onCallFailed(requestName, transactionId, nodeAccountId, attempt, latencyNanos, error);
+            }
+
+            @Override
+            public void onRetry(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    ClientMetrics.RetryReason reason,
+                    long backoffMillis,
+                    @Nullable Status status,
+                    @Nullable Throwable error) {
+                first.onRetry(
+                        requestName, transactionId, nodeAccountId, attempt, reason, backoffMillis, status, error);
+                second.onRetry(
+                        requestName, transactionId, nodeAccountId, attempt, reason, backoffMillis, status, error);
+            }
+
+            @Override
+            public void onHedged(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    AccountId hedgedNodeAccountId,
+                    int attempt) {
+                first.onHedged(requestName, transactionId, nodeAccountId, hedgedNodeAccountId, attempt);
+                second.onHedged(requestName, transactionId, nodeAccountId, hedgedNodeAccountId, attempt);
+            }
+        };
+    }
+
+    /**
+     * Called when an attempt is sent to a node.
+     *
+     * @param requestName   the simple class name of the request, such as {@code TransferTransaction}
+     * @param transactionId the transaction ID of the request, or of the payment of a query
+     * @param nodeAccountId the account ID of the node
+     * @param nodeAddress   the address of the node, or null if it has none
+     * @param attempt       the attempt number, starting at 1
+     */
+    default void onAttemptSent(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            @Nullable String nodeAddress,
+            int attempt) {}
+
+    /**
+     * Called when the node responded to an attempt.
+     *
+     * @param requestName   the simple class name of the request, such as {@code TransferTransaction}
+     * @param transactionId the transaction ID of the request, or of the payment of a query
+     * @param nodeAccountId the account ID of the node
+     * @param attempt       the attempt number, starting at 1
+     * @param latencyNanos  the time from sending the attempt to the response, in nanoseconds
+     * @param status        the precheck status of the response
+     * @param response      the protobuf response
+     */
+    default void onResponse(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            long latencyNanos,
+            Status status,
+            Object response) {}
+
+    /**
+     * Called when the call of an attempt failed before the node responded.
+     *
+     * @param requestName   the simple class name of the request, such as {@code TransferTransaction}
+     * @param transactionId the transaction ID of the request, or of the payment of a query
+     * @param nodeAccountId the account ID of the node
+     * @param attempt       the attempt number, starting at 1
+     * @param latencyNanos  the time from sending the attempt to the failure, in nanoseconds
+     * @param error         the error the call failed with
+     */
+    default void onCallFailed(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            long latencyNanos,
+            Throwable error) {}
+
+    /**
+     * Called when an attempt has failed and the request will be retried.
+     *
+     * @param requestName   the simple class name of the request, such as {@code TransferTransaction}
+     * @param transactionId the transaction ID of the request, or of the payment of a query
+     * @param nodeAccountId the account ID of the node the failed attempt was sent to
+     * @param attempt       the number of the failed attempt
+     * @param reason        why the attempt failed
+     * @param backoffMillis how long the request or the node backs off before it is tried again, in milliseconds
+     * @param status        the precheck status the node responded with, or null if it did not respond
+     * @param error         the error the call failed with, or null if the node responded
+     */
+    default void onRetry(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            int attempt,
+            ClientMetrics.RetryReason reason,
+            long backoffMillis,
+            @Nullable Status status,
+            @Nullable Throwable error) {}
+
+    /**
+     * Called when an attempt is hedged to a second node because the first one has not responded yet.
+     *
+     * @param requestName          the simple class name of the request, such as {@code TransferTransaction}
+     * @param transactionId        the transaction ID of the request, or of the payment of a query
+     * @param nodeAccountId        the account ID of the node that has not responded
+     * @param hedgedNodeAccountId  the account ID of the node the attempt is hedged to
+     * @param attempt              the attempt number, starting at 1
+     * @see HedgePolicy
+     */
+    default void onHedged(
+            String requestName,
+            @Nullable TransactionId transactionId,
+            AccountId nodeAccountId,
+            AccountId hedgedNodeAccountId,
+            int attempt) {}
+}
@@ -0,0 +1,171 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps how many retries a {@link Client} sends, relative to how many of its requests succeed.
+ * <p>
+ * Every successful request adds {@link #getRetryRatio()} tokens and every retry spends one, so when the network starts
+ * answering BUSY the retries die down instead of multiplying the load. A small reserve of
+ * {@link #getMinRetriesPerSecond()} refills over time so that a quiet client can still retry. Requests that find the
+ * bucket empty fail with {@link RetryBudgetExhaustedException}.
+ * <p>
+ * While a budget is set, retries also wait for a decorrelated-jitter backoff rather than a plain exponential one, so
+ * requests that failed together do not retry together.
+ */
+public final class RetryBudget {
+    static final double DEFAULT_RETRY_RATIO = 0.1;
+    static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+    static final int DEFAULT_MAX_TOKENS = 100;
+
+    // Balances are kept in thousandths of a token so the ratio can be applied without floating point state
+    private static final long MILLI_TOKENS = 1000;
+
+    private volatile double retryRatio = DEFAULT_RETRY_RATIO;
+    private volatile int minRetriesPerSecond = DEFAULT_MIN_RETRIES_PER_SECOND;
+    private volatile int maxTokens = DEFAULT_MAX_TOKENS;
+
+    private final AtomicLong balance = new AtomicLong(DEFAULT_MAX_TOKENS * MILLI_TOKENS);
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Constructor.
+     */
+    public RetryBudget() {}
+
+    /**
+     * Extract the number of retries earned by each successful request.
+     *
+     * @return the retry ratio
+     */
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    /**
+     * Assign the number of retries earned by each successful request. Defaults to 0.1, that is one retry for every ten
+     * successful requests.
+     *
+     * @param retryRatio the retry ratio, at least 0
+     * @return {@code this}
+     */
+    public RetryBudget setRetryRatio(double retryRatio) {
+        if (!(retryRatio >= 0.0) || Double.isInfinite(retryRatio)) {
+            throw new IllegalArgumentException("retryRatio must be a finite number of at least 0");
+        }
+        this.retryRatio = retryRatio;
+        return this;
+    }
+
+    /**
+     * Extract the number of retries allowed each second regardless of how many requests succeed.
+     *
+     * @return the minimum retries per second
+     */
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    /**
+     * Assign the number of retries allowed each second regardless of how many requests succeed. Defaults to 10.
+     *
+     * @param minRetriesPerSecond the minimum retries per second, at least 0
+     * @return {@code this}
+     */
+    public RetryBudget setMinRetriesPerSecond(int minRetriesPerSecond) {
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("minRetriesPerSecond must be at least 0");
+        }
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        return this;
+    }
+
+    /**
+     * Extract the most retries that can be saved up.
+     *
+     * @return the maximum number of tokens
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Assign the most retries that can be saved up, which bounds the size of a burst of retries. Defaults to 100.
+     *
+     * @param maxTokens the maximum number of tokens, at least 1
+     * @return {@code this}
+     */
+    public RetryBudget setMaxTokens(int maxTokens) {
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("maxTokens must be at least 1");
+        }
+        this.maxTokens = maxTokens;
+        balance.getAndUpdate(current -> Math.min(current, maxTokens * MILLI_TOKENS));
+        return this;
+    }
+
+    /**
+     * Record a successful request.
+     */
+    void deposit() {
+        add((long) (retryRatio * MILLI_TOKENS));
+    }
+
+    /**
+     * Take the token for one retry if there is one.
+     *
+     * @return whether the retry may go ahead
+     */
+    boolean tryWithdraw() {
+        refill();
+
+        while (true) {
+            long current = balance.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+
+        // nanoseconds * retries per second / 10^6 = thousandths of a retry
+        long amount = (now - last) * minRetriesPerSecond / 1_000_000;
+        if (amount > 0 && lastRefillNanos.compareAndSet(last, now)) {
+            add(amount);
+        }
+    }
+
+    private void add(long milliTokens) {
+        if (milliTokens <= 0) {
+            return;
+        }
+
+        long cap = maxTokens * MILLI_TOKENS;
+        balance.getAndUpdate(current -> current >= cap ? current : Math.min(cap, current + milliTokens));
+    }
+
+    /**
+     * Pick the next backoff with decorrelated jitter: a random delay between the minimum and three times the previous
+     * delay, capped at the maximum.
+     *
+     * @param previousMillis the previous delay, or the minimum for the first retry
+     * @param minMillis      the minimum delay
+     * @param maxMillis      the maximum delay
+     * @return the next delay in milliseconds
+     */
+    static long decorrelatedJitterMillis(long previousMillis, long minMillis, long maxMillis) {
+        long upper = Math.max(minMillis, Math.min(maxMillis, previousMillis * 3));
+        if (upper <= minMillis) {
+            return Math.min(minMillis, maxMillis);
+        }
+        return ThreadLocalRandom.current().nextLong(minMillis, upper + 1);
+    }
+}
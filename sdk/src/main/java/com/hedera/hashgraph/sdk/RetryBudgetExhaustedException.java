@@ -0,0 +1,13 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Thrown when a request needs a retry but the client's {@link RetryBudget} has none left.
+ */
+public class RetryBudgetExhaustedException extends IllegalStateException {
+    RetryBudgetExhaustedException(@Nullable Throwable e) {
+        super("retry budget exhausted with last exception being", e);
+    }
+}
@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.math.BigInteger;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
+
+/**
+ * Internal utility class that signs with secp256k1 keys.
+ * <p>
+ * Produces the same deterministic (RFC 6979) signatures as Bouncy Castle's {@code ECDSASigner}, but reuses the nonce
+ * generator of each thread, multiplies with a comb table of the generator that is built once, and keeps the nonce
+ * point so the recovery id comes for free instead of from two public key recoveries.
+ */
+final class Secp256k1Signer {
+    private static final ECPoint G = Key.ECDSA_SECP256K1_DOMAIN.getG();
+    private static final BigInteger N = Key.ECDSA_SECP256K1_DOMAIN.getN();
+
+    private static final FixedPointCombMultiplier BASE_POINT_MULTIPLIER = new FixedPointCombMultiplier();
+
+    private static final ThreadLocal<HMacDSAKCalculator> K_CALCULATOR =
+            ThreadLocal.withInitial(() -> new HMacDSAKCalculator(new SHA256Digest()));
+
+    static {
+        // Build the comb table now rather than on the first signature
+        FixedPointUtil.precompute(G);
+    }
+
+    /**
+     * Constructor.
+     */
+    private Secp256k1Signer() {}
+
+    /**
+     * Sign the Keccak-256 hash of a message.
+     *
+     * @param privateKey                the private scalar
+     * @param message                   the message
+     * @return                          the signature
+     */
+    static Signature sign(BigInteger privateKey, byte[] message) {
+        var hash = Crypto.calcKeccak256(message);
+        var e = new BigInteger(1, hash);
+
+        // The calculator is fully reset by init, so the one of the thread can be reused
+        var kCalculator = K_CALCULATOR.get();
+        kCalculator.init(N, privateKey, hash);
+
+        while (true) {
+            var k = kCalculator.nextK();
+            var p = BASE_POINT_MULTIPLIER.multiply(G, k).normalize();
+
+            var x = p.getAffineXCoord().toBigInteger();
+            var r = x.mod(N);
+            if (r.signum() == 0) {
+                continue;
+            }
+
+            var s = k.modInverse(N).multiply(e.add(privateKey.multiply(r))).mod(N);
+            if (s.signum() == 0) {
+                continue;
+            }
+
+            // When x is at least N the x coordinate cannot be recovered from r and 0 or 1 does not apply
+            var recoveryId = x.compareTo(N) < 0 ? (p.getAffineYCoord().testBitZero() ? 1 : 0) : -1;
+            return new Signature(r, s, recoveryId);
+        }
+    }
+
+    /**
+     * A signature and the recovery id of its nonce point.
+     */
+    static final class Signature {
+        final BigInteger r;
+        final BigInteger s;
+
+        /**
+         * 0 or 1, or -1 in the astronomically rare case that the recovery id would be 2 or 3
+         */
+        final int recoveryId;
+
+        Signature(BigInteger r, BigInteger s, int recoveryId) {
+            this.r = r;
+            this.s = s;
+            this.recoveryId = recoveryId;
+        }
+    }
+}
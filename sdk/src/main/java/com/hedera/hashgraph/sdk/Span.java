@@ -0,0 +1,38 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+/**
+ * A timed operation reported to a {@link Tracer}, such as a flow, one execution of a request or one attempt of it.
+ * <p>
+ * Implementations adapt the span of a tracing library. They are called from gRPC and executor threads, so they must
+ * be thread-safe and must not throw.
+ */
+public interface Span {
+    /**
+     * Attach an attribute to the span.
+     *
+     * @param key   the name of the attribute
+     * @param value the value of the attribute
+     */
+    void setAttribute(String key, String value);
+
+    /**
+     * Attach a numeric attribute to the span.
+     *
+     * @param key   the name of the attribute
+     * @param value the value of the attribute
+     */
+    void setAttribute(String key, long value);
+
+    /**
+     * Record that the operation failed.
+     *
+     * @param error the error the operation failed with
+     */
+    void setError(Throwable error);
+
+    /**
+     * End the span. Nothing is recorded on the span after this.
+     */
+    void end();
+}
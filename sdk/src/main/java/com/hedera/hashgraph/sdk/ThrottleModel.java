@@ -0,0 +1,203 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.HederaFunctionality;
+import com.hedera.hashgraph.sdk.proto.ThrottleBucket;
+import com.hedera.hashgraph.sdk.proto.ThrottleDefinitions;
+import com.hedera.hashgraph.sdk.proto.ThrottleGroup;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Local copy of the network's throttles, used to pace submissions so they stay under the limits instead of coming
+ * back {@link Status#BUSY}.
+ * <p>
+ * Every bucket of the throttle definitions is modelled as a leaky bucket that drains one nanosecond per nanosecond
+ * and holds {@code burstPeriodMs} worth of nanoseconds. A transaction costs {@code 1e12 / milliOpsPerSec}
+ * nanoseconds in each bucket whose groups list its functionality, and may only go out once it fits in all of them.
+ * Reserving capacity pushes the bucket forward, so callers that are told to wait are queued behind each other in the
+ * order they asked.
+ * <p>
+ * The definitions describe the whole network, which other clients share, so this keeps one client from tripping
+ * the throttles on its own but cannot rule out {@link Status#BUSY} entirely.
+ */
+final class ThrottleModel {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long MILLI_OPS_NANOS = 1_000_000_000_000L;
+
+    private final Map<HederaFunctionality, List<Usage>> usages = new EnumMap<>(HederaFunctionality.class);
+
+    /**
+     * Constructor.
+     *
+     * @param definitions               the throttle definitions of the network
+     */
+    ThrottleModel(ThrottleDefinitions definitions) {
+        for (var bucketDefinition : definitions.getThrottleBucketsList()) {
+            var bucket = new Bucket(bucketDefinition);
+
+            for (var group : bucketDefinition.getThrottleGroupsList()) {
+                if (group.getMilliOpsPerSec() <= 0) {
+                    continue;
+                }
+
+                var cost = costOf(group);
+                for (var functionality : group.getOperationsList()) {
+                    var list = usages.computeIfAbsent(functionality, f -> new ArrayList<>());
+
+                    // A functionality listed in several groups of one bucket is held to the slowest of them
+                    var existing = list.stream().filter(u -> u.bucket == bucket).findFirst();
+                    if (existing.isPresent()) {
+                        existing.get().cost = Math.max(existing.get().cost, cost);
+                    } else {
+                        list.add(new Usage(bucket, cost));
+                    }
+
+                    bucket.capacityNanos = Math.max(bucket.capacityNanos, cost);
+                }
+            }
+        }
+    }
+
+    private static long costOf(ThrottleGroup group) {
+        return MILLI_OPS_NANOS / group.getMilliOpsPerSec();
+    }
+
+    /**
+     * Reserve room for one transaction of the given kind.
+     *
+     * @param functionality             the kind of transaction
+     * @return                          how many milliseconds to wait before sending it, rounded up
+     */
+    long reserve(HederaFunctionality functionality) {
+        return reserve(functionality, System.nanoTime());
+    }
+
+    /**
+     * Reserve room for one transaction of the given kind.
+     *
+     * @param functionality             the kind of transaction
+     * @param nowNanos                  the current {@link System#nanoTime()}
+     * @return                          how many milliseconds to wait before sending it, rounded up
+     */
+    synchronized long reserve(HederaFunctionality functionality, long nowNanos) {
+        var list = usages.get(functionality);
+        if (list == null) {
+            return 0;
+        }
+
+        var sendAt = nowNanos;
+        for (var usage : list) {
+            var bucket = usage.bucket;
+            if (!bucket.started) {
+                bucket.started = true;
+                bucket.theoreticalArrival = nowNanos;
+            }
+
+            sendAt = Math.max(sendAt, bucket.theoreticalArrival + usage.cost - bucket.capacityNanos);
+        }
+
+        for (var usage : list) {
+            var bucket = usage.bucket;
+            bucket.theoreticalArrival = Math.max(bucket.theoreticalArrival, sendAt) + usage.cost;
+        }
+
+        return (sendAt - nowNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Find the throttled functionality of a transaction.
+     *
+     * @param dataCase                  the kind of body of the transaction
+     * @return                          the functionality, or null if the transaction is not one the model knows
+     */
+    @Nullable
+    static HederaFunctionality functionalityOf(TransactionBody.DataCase dataCase) {
+        return switch (dataCase) {
+            case CONTRACTCALL -> HederaFunctionality.ContractCall;
+            case CONTRACTCREATEINSTANCE -> HederaFunctionality.ContractCreate;
+            case CONTRACTUPDATEINSTANCE -> HederaFunctionality.ContractUpdate;
+            case CONTRACTDELETEINSTANCE -> HederaFunctionality.ContractDelete;
+            case ETHEREUMTRANSACTION -> HederaFunctionality.EthereumTransaction;
+            case CRYPTOCREATEACCOUNT -> HederaFunctionality.CryptoCreate;
+            case CRYPTODELETE -> HederaFunctionality.CryptoDelete;
+            case CRYPTOTRANSFER -> HederaFunctionality.CryptoTransfer;
+            case CRYPTOUPDATEACCOUNT -> HederaFunctionality.CryptoUpdate;
+            case CRYPTOAPPROVEALLOWANCE -> HederaFunctionality.CryptoApproveAllowance;
+            case CRYPTODELETEALLOWANCE -> HederaFunctionality.CryptoDeleteAllowance;
+            case FILEAPPEND -> HederaFunctionality.FileAppend;
+            case FILECREATE -> HederaFunctionality.FileCreate;
+            case FILEDELETE -> HederaFunctionality.FileDelete;
+            case FILEUPDATE -> HederaFunctionality.FileUpdate;
+            case NODECREATE -> HederaFunctionality.NodeCreate;
+            case NODEUPDATE -> HederaFunctionality.NodeUpdate;
+            case NODEDELETE -> HederaFunctionality.NodeDelete;
+            case SYSTEMDELETE -> HederaFunctionality.SystemDelete;
+            case SYSTEMUNDELETE -> HederaFunctionality.SystemUndelete;
+            case FREEZE -> HederaFunctionality.Freeze;
+            case CONSENSUSCREATETOPIC -> HederaFunctionality.ConsensusCreateTopic;
+            case CONSENSUSUPDATETOPIC -> HederaFunctionality.ConsensusUpdateTopic;
+            case CONSENSUSDELETETOPIC -> HederaFunctionality.ConsensusDeleteTopic;
+            case CONSENSUSSUBMITMESSAGE -> HederaFunctionality.ConsensusSubmitMessage;
+            case TOKENASSOCIATE -> HederaFunctionality.TokenAssociateToAccount;
+            case TOKENBURN -> HederaFunctionality.TokenBurn;
+            case TOKENCREATION -> HederaFunctionality.TokenCreate;
+            case TOKENDELETION -> HederaFunctionality.TokenDelete;
+            case TOKENDISSOCIATE -> HederaFunctionality.TokenDissociateFromAccount;
+            case TOKENFREEZE -> HederaFunctionality.TokenFreezeAccount;
+            case TOKENGRANTKYC -> HederaFunctionality.TokenGrantKycToAccount;
+            case TOKENMINT -> HederaFunctionality.TokenMint;
+            case TOKENREVOKEKYC -> HederaFunctionality.TokenRevokeKycFromAccount;
+            case TOKENUNFREEZE -> HederaFunctionality.TokenUnfreezeAccount;
+            case TOKENUPDATE -> HederaFunctionality.TokenUpdate;
+            case TOKEN_UPDATE_NFTS -> HederaFunctionality.TokenUpdateNfts;
+            case TOKENWIPE -> HederaFunctionality.TokenAccountWipe;
+            case TOKEN_FEE_SCHEDULE_UPDATE -> HederaFunctionality.TokenFeeScheduleUpdate;
+            case TOKEN_PAUSE -> HederaFunctionality.TokenPause;
+            case TOKEN_UNPAUSE -> HederaFunctionality.TokenUnpause;
+            case TOKENREJECT -> HederaFunctionality.TokenReject;
+            case TOKENAIRDROP -> HederaFunctionality.TokenAirdrop;
+            case TOKENCANCELAIRDROP -> HederaFunctionality.TokenCancelAirdrop;
+            case TOKENCLAIMAIRDROP -> HederaFunctionality.TokenClaimAirdrop;
+            case SCHEDULECREATE -> HederaFunctionality.ScheduleCreate;
+            case SCHEDULEDELETE -> HederaFunctionality.ScheduleDelete;
+            case SCHEDULESIGN -> HederaFunctionality.ScheduleSign;
+            case UTIL_PRNG -> HederaFunctionality.UtilPrng;
+            default -> null;
+        };
+    }
+
+    /**
+     * One bucket of the throttle definitions. Guarded by the model's lock.
+     */
+    private static final class Bucket {
+        private long capacityNanos;
+        private boolean started;
+
+        /**
+         * When the bucket will be empty again, in {@link System#nanoTime()} terms
+         */
+        private long theoreticalArrival;
+
+        Bucket(ThrottleBucket definition) {
+            this.capacityNanos = definition.getBurstPeriodMs() * NANOS_PER_MILLI;
+        }
+    }
+
+    /**
+     * How much of a bucket one transaction of a functionality takes.
+     */
+    private static final class Usage {
+        private final Bucket bucket;
+        private long cost;
+
+        Usage(Bucket bucket, long cost) {
+            this.bucket = bucket;
+            this.cost = cost;
+        }
+    }
+}
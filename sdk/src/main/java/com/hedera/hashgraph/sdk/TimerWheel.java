@@ -0,0 +1,362 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timer wheel used to run delayed tasks on an executor.
+ * <p>
+ * Scheduling and cancelling are O(1): new and cancelled timeouts are handed to the wheel's thread through lock-free
+ * queues, and the thread files them into one of a fixed ring of buckets. On every tick the thread visits a single
+ * bucket and hands the tasks that are due straight to their executor. Delays longer than one turn of the wheel stay
+ * in their bucket for as many turns as needed.
+ * <p>
+ * Tasks fire at most one tick late. The thread parks while nothing is scheduled.
+ */
+final class TimerWheel {
+    private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    // Upper bound on the number of newly scheduled timeouts filed per tick, so a burst cannot stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] buckets;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Executor> closedExecutors = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of timeouts scheduled that have not fired or been removed yet
+     */
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    private final long startNanos;
+    private final Thread worker;
+
+    // Only touched by the worker thread
+    private long tick;
+
+    /**
+     * Constructor.
+     *
+     * @param tickDuration              the duration of one tick
+     * @param unit                      the unit of the tick duration
+     * @param ticksPerWheel             the number of buckets, rounded up to a power of two
+     * @param threadName                the name of the wheel's thread
+     */
+    TimerWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, String threadName) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+        }
+
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        if (ticksPerWheel == 1) {
+            size = 1;
+        }
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::runWorker, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Run a task on an executor once the delay has passed.
+     *
+     * @param delay                     the delay
+     * @param unit                      the unit of the delay
+     * @param executor                  the executor to run the task on
+     * @param task                      the task to run
+     * @param onCancelled               run instead of the task if the timeout is cancelled by
+     *                                  {@link #cancelAll(Executor)} or its executor rejects the task
+     * @return                          the timeout, which can be cancelled
+     */
+    Timeout schedule(
+            long delay, TimeUnit unit, Executor executor, Runnable task, @Nullable Runnable onCancelled) {
+        var deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        var timeout = new Timeout(this, executor, task, onCancelled, deadline);
+
+        newTimeouts.add(timeout);
+        if (pendingTimeouts.getAndIncrement() == 0) {
+            LockSupport.unpark(worker);
+        }
+
+        return timeout;
+    }
+
+    /**
+     * Cancel every pending timeout that would run on the given executor. Their {@code onCancelled} callbacks run on
+     * the wheel's thread.
+     *
+     * @param executor                  the executor being shut down
+     */
+    void cancelAll(Executor executor) {
+        closedExecutors.add(executor);
+        LockSupport.unpark(worker);
+    }
+
+    private void runWorker() {
+        while (true) {
+            if (pendingTimeouts.get() == 0 && closedExecutors.isEmpty()) {
+                LockSupport.park(this);
+
+                // Nothing was on the wheel while parked, so it can jump straight to the current time
+                tick = (System.nanoTime() - startNanos) / tickNanos;
+                continue;
+            }
+
+            var tickDeadline = (tick + 1) * tickNanos;
+            var sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (System.nanoTime() - startNanos < tickDeadline) {
+                    // Woken early by a new timeout or a closing executor
+                    processCancelled();
+                    processClosedExecutors();
+                    continue;
+                }
+            }
+
+            processCancelled();
+            processClosedExecutors();
+            transferNewTimeouts();
+            buckets[(int) (tick & mask)].expire(tickDeadline);
+            tick++;
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            var timeout = newTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state.get() != Timeout.STATE_PENDING) {
+                // Cancelled before it reached the wheel
+                pendingTimeouts.decrementAndGet();
+                continue;
+            }
+
+            long targetTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (targetTick - tick) / buckets.length;
+
+            // A deadline that has already passed goes into the current bucket so it fires on this tick
+            var bucket = buckets[(int) (Math.max(targetTick, tick) & mask)];
+            bucket.add(timeout);
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void processClosedExecutors() {
+        Executor executor;
+        while ((executor = closedExecutors.poll()) != null) {
+            // Timeouts still in the queue have not reached a bucket yet, so file them first
+            transferNewTimeouts();
+
+            for (var bucket : buckets) {
+                bucket.cancelAll(executor);
+            }
+        }
+    }
+
+    /**
+     * A task waiting on the wheel.
+     */
+    static final class Timeout {
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final TimerWheel wheel;
+        private final Executor executor;
+        private final Runnable task;
+
+        @Nullable
+        private final Runnable onCancelled;
+
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Only touched by the worker thread
+        private long remainingRounds;
+
+        @Nullable
+        private Bucket bucket;
+
+        @Nullable
+        private Timeout next;
+
+        @Nullable
+        private Timeout prev;
+
+        private Timeout(
+                TimerWheel wheel,
+                Executor executor,
+                Runnable task,
+                @Nullable Runnable onCancelled,
+                long deadlineNanos) {
+            this.wheel = wheel;
+            this.executor = executor;
+            this.task = task;
+            this.onCancelled = onCancelled;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancel this timeout so its task never runs. The {@code onCancelled} callback is not run.
+         *
+         * @return                      whether the timeout was still pending
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+
+            wheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                runOnCancelled();
+            }
+        }
+
+        private void cancelForClose() {
+            if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                runOnCancelled();
+            }
+        }
+
+        private void runOnCancelled() {
+            if (onCancelled == null) {
+                return;
+            }
+
+            try {
+                onCancelled.run();
+            } catch (Throwable error) {
+                logger.warn("Cancellation callback of a delayed task failed", error);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts filed under one slot of the wheel. Only touched by the worker thread.
+     */
+    private final class Bucket {
+        @Nullable
+        private Timeout head;
+
+        @Nullable
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            var next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.prev = null;
+            pendingTimeouts.decrementAndGet();
+        }
+
+        void expire(long tickDeadlineNanos) {
+            var timeout = head;
+            while (timeout != null) {
+                var next = timeout.next;
+
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= tickDeadlineNanos) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        void cancelAll(Executor executor) {
+            var timeout = head;
+            while (timeout != null) {
+                var next = timeout.next;
+
+                if (timeout.executor == executor) {
+                    remove(timeout);
+                    timeout.cancelForClose();
+                }
+
+                timeout = next;
+            }
+        }
+    }
+}
@@ -258,6 +258,11 @@ public class TokenRejectFlow {
      */
     public TransactionResponse execute(Client client, Duration timeoutPerTransaction)
             throws PrecheckStatusException, TimeoutException {
+        return TraceContext.traceFlow(client, "TokenRejectFlow", () -> executeSteps(client, timeoutPerTransaction));
+    }
+
+    private TransactionResponse executeSteps(Client client, Duration timeoutPerTransaction)
+            throws PrecheckStatusException, TimeoutException {
         try {
             var tokenRejectTxResponse = createTokenRejectTransaction().execute(client, timeoutPerTransaction);
             tokenRejectTxResponse.getReceipt(client, timeoutPerTransaction);
@@ -289,6 +294,11 @@ public class TokenRejectFlow {
      * @return the response
      */
     public CompletableFuture<TransactionResponse> executeAsync(Client client, Duration timeoutPerTransaction) {
+        return TraceContext.traceFlowAsync(
+                client, "TokenRejectFlow", () -> executeStepsAsync(client, timeoutPerTransaction));
+    }
+
+    private CompletableFuture<TransactionResponse> executeStepsAsync(Client client, Duration timeoutPerTransaction) {
         return createTokenRejectTransaction()
                 .executeAsync(client, timeoutPerTransaction)
                 .thenCompose(tokenRejectResponse ->
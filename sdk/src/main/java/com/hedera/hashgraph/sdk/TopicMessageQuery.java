@@ -17,6 +17,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -268,9 +269,19 @@ public final class TopicMessageQuery {
             newBuilder.setConsensusStartTime(nextStartTime);
         }
 
+        var established = new AtomicBoolean();
+
         ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), new StreamObserver<>() {
             @Override
             public void onNext(ConsensusTopicResponse consensusTopicResponse) {
+                // The first message shows the subscription was established, which earns retries like any success
+                if (established.compareAndSet(false, true)) {
+                    var retryBudget = client.getRetryBudget();
+                    if (retryBudget != null) {
+                        retryBudget.deposit();
+                    }
+                }
+
                 counter.incrementAndGet();
                 lastMessage.set(consensusTopicResponse);
 
@@ -321,7 +332,16 @@ public final class TopicMessageQuery {
                     return;
                 }
 
-                var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+                var retryBudget = client.getRetryBudget();
+                if (retryBudget != null && !retryBudget.tryWithdraw()) {
+                    errorHandler.accept(new RetryBudgetExhaustedException(t), null);
+                    return;
+                }
+
+                var delay = retryBudget != null
+                        ? RetryBudget.decorrelatedJitterMillis(
+                                500 * (long) Math.pow(2, attempt - 1), 500, maxBackoff.toMillis())
+                        : Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
                 var topicId = TopicId.fromProtobuf(builder.getTopicID());
                 LOGGER.warn(
                         "Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
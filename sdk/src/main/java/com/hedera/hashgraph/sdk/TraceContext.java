@@ -0,0 +1,198 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the current {@link Span} of a thread, which the flows and requests started on that thread use as their
+ * parent.
+ * <p>
+ * The futures returned by asynchronous execution are completed with the span that was current when the execution
+ * started, so continuations that start further requests keep the same parent.
+ */
+public final class TraceContext {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     */
+    private TraceContext() {}
+
+    /**
+     * Extract the current span of this thread.
+     *
+     * @return the current span, or null if there is none
+     */
+    @Nullable
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make a span the current span of this thread until the returned scope is closed.
+     *
+     * @param span the span, or null to clear the current span
+     * @return the scope, which restores the previous span when closed
+     */
+    public static Scope makeCurrent(@Nullable Span span) {
+        var previous = CURRENT.get();
+        set(span);
+        return () -> set(previous);
+    }
+
+    private static void set(@Nullable Span span) {
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+
+    /**
+     * Run a task with a span as the current span of this thread.
+     *
+     * @param span the span, or null to run without one
+     * @param task the task
+     */
+    static void runWith(@Nullable Span span, Runnable task) {
+        try (var ignored = makeCurrent(span)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Start a child span of the current span.
+     *
+     * @param tracer the tracer, or null when tracing is off
+     * @param name   the name of the span
+     * @return the span, or null when tracing is off
+     */
+    @Nullable
+    static Span startSpan(@Nullable Tracer tracer, String name) {
+        return tracer == null ? null : tracer.startSpan(name, current());
+    }
+
+    /**
+     * End a span, recording the error it failed with if any.
+     *
+     * @param span  the span, or null when tracing is off
+     * @param error the error, or null on success
+     */
+    static void endSpan(@Nullable Span span, @Nullable Throwable error) {
+        if (span == null) {
+            return;
+        }
+
+        if (error != null) {
+            span.setError(error);
+        }
+        span.end();
+    }
+
+    /**
+     * Run a synchronous flow under a span of its own.
+     *
+     * @param client the client the flow runs with
+     * @param name   the name of the flow
+     * @param flow   the flow
+     * @param <T>    the result of the flow
+     * @return the result of the flow
+     * @throws PrecheckStatusException when a step of the flow fails its precheck
+     * @throws TimeoutException        when a step of the flow times out
+     */
+    static <T> T traceFlow(Client client, String name, FlowBody<T> flow)
+            throws PrecheckStatusException, TimeoutException {
+        var span = startSpan(client.getTracer(), name);
+        if (span == null) {
+            return flow.run();
+        }
+
+        try (var ignored = makeCurrent(span)) {
+            var result = flow.run();
+            endSpan(span, null);
+            return result;
+        } catch (Throwable error) {
+            endSpan(span, error);
+            throw error;
+        }
+    }
+
+    /**
+     * Run an asynchronous flow under a span of its own. The span ends when the flow's future completes, and the
+     * returned future is completed with the span that was current before the flow started.
+     *
+     * @param client the client the flow runs with
+     * @param name   the name of the flow
+     * @param flow   starts the flow
+     * @param <T>    the result of the flow
+     * @return the result of the flow
+     */
+    static <T> CompletableFuture<T> traceFlowAsync(Client client, String name, Supplier<CompletableFuture<T>> flow) {
+        var outer = current();
+        var span = startSpan(client.getTracer(), name);
+        if (span == null) {
+            return flow.get();
+        }
+
+        CompletableFuture<T> future;
+        try (var ignored = makeCurrent(span)) {
+            future = flow.get();
+        } catch (RuntimeException error) {
+            endSpan(span, error);
+            throw error;
+        }
+
+        return completeWith(outer, future, span);
+    }
+
+    /**
+     * Copy a future, completing the copy with a span as the current span so that its continuations run under it.
+     * Cancelling the copy cancels the original.
+     *
+     * @param span   the span to complete with
+     * @param future the future
+     * @param ending a span to end once the future completes and before the copy does, or null
+     * @param <T>    the result of the future
+     * @return the copy
+     */
+    static <T> CompletableFuture<T> completeWith(
+            @Nullable Span span, CompletableFuture<T> future, @Nullable Span ending) {
+        var copy = new CompletableFuture<T>();
+        future.whenComplete((result, error) -> {
+            endSpan(ending, error);
+            runWith(span, () -> {
+                if (error != null) {
+                    copy.completeExceptionally(error);
+                } else {
+                    copy.complete(result);
+                }
+            });
+        });
+        copy.whenComplete((result, error) -> {
+            if (copy.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Restores the previous span of a thread when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        /**
+         * Restore the span that was current before this scope was opened.
+         */
+        @Override
+        void close();
+    }
+
+    @FunctionalInterface
+    interface FlowBody<T> {
+        T run() throws PrecheckStatusException, TimeoutException;
+    }
+}
@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Starts the {@link Span}s that trace the requests of a {@link Client}, for plugging in a tracing library.
+ * <p>
+ * With a tracer set, every flow such as {@link ContractCreateFlow} or {@link FileAppendTransaction#executeAll(Client)}
+ * gets a span, every execution of a request gets a child span, and every attempt of that execution gets a child
+ * span of its own with the {@code node}, {@code attempt}, {@code status}, {@code retry.reason} and
+ * {@code backoff.ms} attributes. Executions and flows started while a span is current under {@link TraceContext}
+ * become its children.
+ *
+ * @see Client#setTracer(Tracer)
+ * @see InMemoryTracer
+ */
+public interface Tracer {
+    /**
+     * Start a span.
+     *
+     * @param name   the name of the span
+     * @param parent the parent of the span, or null for a root span
+     * @return the started span
+     */
+    Span startSpan(String name, @Nullable Span parent);
+}
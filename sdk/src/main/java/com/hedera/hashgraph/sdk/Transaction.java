@@ -3,6 +3,7 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.HederaFunctionality;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
@@ -13,6 +14,7 @@ import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.bouncycastle.crypto.digests.SHA384Digest;
 
@@ -122,6 +125,8 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     protected Boolean regenerateTransactionId = null;
 
+    private boolean parallelSigning = false;
+
     private Duration transactionValidDuration;
 
     @Nullable
@@ -210,18 +215,25 @@ public abstract class Transaction<T extends Transaction<T>>
 
             nodeAccountIds.remove(new AccountId(0, 0, 0));
 
-            // Verify that transaction bodies match
+            // Verify that transaction bodies match. Bodies serialized for each node from the same builder only differ
+            // in the bytes of their node account id, so the bodies are only parsed and compared field by field when
+            // their bytes differ otherwise.
             for (int i = 0; i < txCount; i++) {
-                TransactionBody firstTxBody = null;
+                TransactionBodyBytes.Header firstHeader = null;
                 for (int j = 0; j < nodeCount; j++) {
                     int k = i * nodeCount + j;
-                    var txBody = TransactionBody.parseFrom(
+                    var header = TransactionBodyBytes.scan(
                             innerSignedTransactions.get(k).getBodyBytes());
-                    if (firstTxBody == null) {
-                        firstTxBody = txBody;
-                    } else {
+                    if (firstHeader == null) {
+                        firstHeader = header;
+                    } else if (!firstHeader.matchesIgnoringNodeAccountId(header)) {
                         requireProtoMatches(
-                                firstTxBody, txBody, new HashSet<>(List.of("NodeAccountID")), "TransactionBody");
+                                TransactionBody.parseFrom(
+                                        innerSignedTransactions.get(i * nodeCount).getBodyBytes()),
+                                TransactionBody.parseFrom(
+                                        innerSignedTransactions.get(k).getBodyBytes()),
+                                new HashSet<>(List.of("NodeAccountID")),
+                                "TransactionBody");
                     }
                 }
             }
@@ -290,20 +302,31 @@ public abstract class Transaction<T extends Transaction<T>>
             linked.put(account, transaction.build());
             txs.put(transactionId, linked);
         } else {
+            // Only the ids are read from each body; the bodies are parsed as a whole once they have been grouped
             for (var transaction : list.getTransactionListList()) {
-                var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
-                var txBody = TransactionBody.parseFrom(signedTransaction.getBodyBytes());
+                var bodyBytes = TransactionBodyBytes.bodyBytesOf(transaction.getSignedTransactionBytes());
+                var header = TransactionBodyBytes.scan(bodyBytes);
+
+                AccountId account;
+                TransactionId transactionId;
+                if (header.canonical
+                        && dataCase.getNumber() != TransactionBody.DataCase.DATA_NOT_SET.getNumber()) {
+                    account = header.getNodeAccountId(DUMMY_ACCOUNT_ID);
+                    transactionId = header.getTransactionId(DUMMY_TRANSACTION_ID);
+                } else {
+                    var txBody = TransactionBody.parseFrom(bodyBytes);
 
-                if (dataCase.getNumber() == TransactionBody.DataCase.DATA_NOT_SET.getNumber()) {
-                    dataCase = txBody.getDataCase();
-                }
+                    if (dataCase.getNumber() == TransactionBody.DataCase.DATA_NOT_SET.getNumber()) {
+                        dataCase = txBody.getDataCase();
+                    }
 
-                var account = txBody.hasNodeAccountID()
-                        ? AccountId.fromProtobuf(txBody.getNodeAccountID())
-                        : DUMMY_ACCOUNT_ID;
-                var transactionId = txBody.hasTransactionID()
-                        ? TransactionId.fromProtobuf(txBody.getTransactionID())
-                        : DUMMY_TRANSACTION_ID;
+                    account = txBody.hasNodeAccountID()
+                            ? AccountId.fromProtobuf(txBody.getNodeAccountID())
+                            : DUMMY_ACCOUNT_ID;
+                    transactionId = txBody.hasTransactionID()
+                            ? TransactionId.fromProtobuf(txBody.getTransactionID())
+                            : DUMMY_TRANSACTION_ID;
+                }
 
                 var linked = txs.containsKey(transactionId)
                         ? Objects.requireNonNull(txs.get(transactionId))
@@ -911,6 +934,34 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    /**
+     * Are the bodies for the different nodes signed concurrently when all of them are needed?
+     *
+     * @return whether parallel signing is enabled
+     */
+    public final boolean getParallelSigning() {
+        return parallelSigning;
+    }
+
+    /**
+     * Sign the bodies for the different nodes concurrently whenever all of them are built at once, as by
+     * {@link #toBytes()}, {@link #getTransactionHashPerNode()} and {@link #getSignatures()}. The work is shared
+     * between the calling thread and the common fork-join pool. {@link #execute(Client)} still signs only the body for
+     * the node it sends to.
+     * <p>
+     * Every signer given to {@link #signWith(PublicKey, UnaryOperator)} must be safe to call from several threads at
+     * once; the signers of {@link PrivateKey} are. Defaults to false.
+     *
+     * @param parallelSigning           whether to sign the bodies for the nodes concurrently
+     * @return {@code this}
+     */
+    public final T setParallelSigning(boolean parallelSigning) {
+        this.parallelSigning = parallelSigning;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     /**
      * Sign the transaction.
      *
@@ -968,6 +1019,120 @@ public abstract class Transaction<T extends Transaction<T>>
         return signWith(operator.publicKey, operator.transactionSigner);
     }
 
+    /**
+     * Sign the transaction with a signer that signs every body of the transaction in one call without blocking, such
+     * as one backed by an HSM. The transaction can be executed once the returned future completes, for example with
+     * {@code transaction.signWithAsync(key, signer).thenCompose(tx -> tx.executeAsync(client))}.
+     * <p>
+     * The signatures cover the current transaction ID and node account IDs, which are therefore locked, as with
+     * {@link #addSignature(PublicKey, byte[])}.
+     *
+     * @param publicKey                 the public key
+     * @param transactionSigner         the signer
+     * @return                          future that completes with {@code this} once the signatures are added
+     */
+    public CompletableFuture<T> signWithAsync(PublicKey publicKey, AsyncTransactionSigner transactionSigner) {
+        // noinspection unchecked
+        return signAllWithAsync(List.of(this), publicKey, transactionSigner).thenApply(ignored -> (T) this);
+    }
+
+    /**
+     * Freeze the transaction with the client if it is not yet frozen, then sign it as in
+     * {@link #signWithAsync(PublicKey, AsyncTransactionSigner)}.
+     *
+     * @param client                    the client to freeze with
+     * @param publicKey                 the public key
+     * @param transactionSigner         the signer
+     * @return                          future that completes with {@code this} once the signatures are added
+     */
+    public CompletableFuture<T> freezeAndSignWithAsync(
+            Client client, PublicKey publicKey, AsyncTransactionSigner transactionSigner) {
+        if (!isFrozen()) {
+            freezeWith(client);
+        }
+
+        return signWithAsync(publicKey, transactionSigner);
+    }
+
+    /**
+     * Sign several frozen transactions with one call of the signer, which receives the bodies of all of them at once.
+     * Transactions already signed by the key are skipped.
+     *
+     * @param transactions              the transactions to sign; they must not be changed until the future completes
+     * @param publicKey                 the public key
+     * @param transactionSigner         the signer
+     * @return                          future that completes once every transaction has its signatures
+     */
+    public static CompletableFuture<Void> signAllWithAsync(
+            Collection<? extends Transaction<?>> transactions,
+            PublicKey publicKey,
+            AsyncTransactionSigner transactionSigner) {
+        var toSign = new ArrayList<Transaction<?>>(transactions.size());
+        var messages = new ArrayList<byte[]>();
+
+        for (var transaction : transactions) {
+            if (!transaction.isFrozen()) {
+                throw new IllegalStateException("Signing requires transaction to be frozen");
+            }
+
+            if (transaction.keyAlreadySigned(publicKey)) {
+                continue;
+            }
+
+            transaction.transactionIds.setLocked(true);
+            transaction.nodeAccountIds.setLocked(true);
+
+            toSign.add(transaction);
+            for (var signedTransaction : transaction.innerSignedTransactions) {
+                messages.add(signedTransaction.getBodyBytes().toByteArray());
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<List<byte[]>> signing;
+        try {
+            signing = transactionSigner.sign(Collections.unmodifiableList(messages));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return signing.thenAccept(signatures -> {
+            if (signatures.size() != messages.size()) {
+                throw new IllegalStateException(
+                        "signer returned " + signatures.size() + " signatures for " + messages.size() + " bodies");
+            }
+
+            var offset = 0;
+            for (var transaction : toSign) {
+                var count = transaction.innerSignedTransactions.size();
+                transaction.addSignatures(publicKey, signatures.subList(offset, offset + count));
+                offset += count;
+            }
+        });
+    }
+
+    /**
+     * Add one signature per body, in the order of the bodies.
+     *
+     * @param publicKey the public key
+     * @param signatures the signatures
+     */
+    private void addSignatures(PublicKey publicKey, List<byte[]> signatures) {
+        if (keyAlreadySigned(publicKey)) {
+            return;
+        }
+
+        for (int i = 0; i < outerTransactions.size(); i++) {
+            outerTransactions.set(i, null);
+            sigPairLists.get(i).addSigPair(publicKey.toSignaturePairProtobuf(signatures.get(i)));
+        }
+        publicKeys.add(publicKey);
+        signers.add(null);
+    }
+
     /**
      * Checks if a public key is already added to the transaction
      *
@@ -1238,7 +1403,29 @@ public abstract class Transaction<T extends Transaction<T>>
         transactionIds.setLocked(true);
         nodeAccountIds.setLocked(true);
 
-        for (var i = 0; i < innerSignedTransactions.size(); ++i) {
+        buildTransactions();
+    }
+
+    /**
+     * Sign and build the transaction for every node ahead of execution. Unlike {@link #buildAllTransactions()} this
+     * does not lock the transaction IDs, so an expired transaction can still get a new ID when it is executed.
+     */
+    void prebuildTransactions() {
+        buildTransactions();
+    }
+
+    /**
+     * Build the transaction for every index, concurrently if {@link #setParallelSigning(boolean) parallel signing}
+     * is enabled. Each index only touches its own entries of the lists, which are never resized while building.
+     */
+    private void buildTransactions() {
+        var count = innerSignedTransactions.size();
+        if (parallelSigning && count > 1) {
+            IntStream.range(0, count).parallel().forEach(this::buildTransaction);
+            return;
+        }
+
+        for (var i = 0; i < count; ++i) {
             buildTransaction(i);
         }
     }
@@ -1368,6 +1555,12 @@ public abstract class Transaction<T extends Transaction<T>>
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    @Nullable
+    HederaFunctionality getThrottledFunctionality() {
+        return frozenBodyBuilder == null ? null : ThrottleModel.functionalityOf(frozenBodyBuilder.getDataCase());
+    }
+
     @Override
     ExecutionState getExecutionState(Status status, com.hedera.hashgraph.sdk.proto.TransactionResponse response) {
         if (status == Status.TRANSACTION_EXPIRED) {
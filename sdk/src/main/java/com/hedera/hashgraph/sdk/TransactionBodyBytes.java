@@ -0,0 +1,195 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class that reads the few fields of serialized transaction bodies that
+ * {@link Transaction#fromBytes(byte[])} needs without parsing the whole bodies.
+ * <p>
+ * The fields are found by walking the tags of the encoded message and skipping everything else, and the bytes that
+ * are returned share the memory of their input instead of being copied.
+ */
+final class TransactionBodyBytes {
+    /**
+     * Constructor.
+     */
+    private TransactionBodyBytes() {}
+
+    /**
+     * Extract the body bytes of a serialized {@link SignedTransaction}.
+     *
+     * @param signedTransactionBytes    the serialized signed transaction
+     * @return                          the body bytes, empty if there are none
+     * @throws InvalidProtocolBufferException when the bytes are not a valid message
+     */
+    static ByteString bodyBytesOf(ByteString signedTransactionBytes) throws InvalidProtocolBufferException {
+        var input = signedTransactionBytes.newCodedInput();
+        input.enableAliasing(true);
+
+        var bodyBytes = ByteString.EMPTY;
+        try {
+            for (var tag = input.readTag(); tag != 0; tag = input.readTag()) {
+                if (WireFormat.getTagFieldNumber(tag) == SignedTransaction.BODYBYTES_FIELD_NUMBER
+                        && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                    // The last value of a scalar field wins, as when parsing
+                    bodyBytes = input.readBytes();
+                } else if (!input.skipField(tag)) {
+                    break;
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+        return bodyBytes;
+    }
+
+    /**
+     * Locate the transaction id and node account id of a serialized {@link TransactionBody}.
+     *
+     * @param bodyBytes                 the serialized transaction body
+     * @return                          the header of the body
+     * @throws InvalidProtocolBufferException when the bytes are not a valid message
+     */
+    static Header scan(ByteString bodyBytes) throws InvalidProtocolBufferException {
+        var input = bodyBytes.newCodedInput();
+        input.enableAliasing(true);
+
+        ByteString transactionIdBytes = null;
+        ByteString nodeAccountIdBytes = null;
+        var nodeAccountIdStart = 0;
+        var nodeAccountIdEnd = 0;
+        var canonical = true;
+
+        try {
+            while (true) {
+                var start = input.getTotalBytesRead();
+                var tag = input.readTag();
+                if (tag == 0) {
+                    break;
+                }
+
+                var fieldNumber = WireFormat.getTagFieldNumber(tag);
+                var lengthDelimited = WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+                if (lengthDelimited && fieldNumber == TransactionBody.TRANSACTIONID_FIELD_NUMBER) {
+                    // Repeated occurrences of a message field are merged when parsing, which is left to the parser
+                    canonical &= transactionIdBytes == null;
+                    transactionIdBytes = input.readBytes();
+                } else if (lengthDelimited && fieldNumber == TransactionBody.NODEACCOUNTID_FIELD_NUMBER) {
+                    canonical &= nodeAccountIdBytes == null;
+                    nodeAccountIdBytes = input.readBytes();
+                    nodeAccountIdStart = start;
+                    nodeAccountIdEnd = input.getTotalBytesRead();
+                } else if (!input.skipField(tag)) {
+                    break;
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+
+        return new Header(
+                bodyBytes, transactionIdBytes, nodeAccountIdBytes, nodeAccountIdStart, nodeAccountIdEnd, canonical);
+    }
+
+    /**
+     * The fields of a transaction body that identify it, and where its node account id is.
+     */
+    static final class Header {
+        private final ByteString bodyBytes;
+
+        @Nullable
+        private final ByteString transactionIdBytes;
+
+        @Nullable
+        private final ByteString nodeAccountIdBytes;
+
+        private final int nodeAccountIdStart;
+        private final int nodeAccountIdEnd;
+
+        /**
+         * Whether the transaction id and node account id each appear at most once, so that the bytes found are what
+         * a parser would see
+         */
+        final boolean canonical;
+
+        Header(
+                ByteString bodyBytes,
+                @Nullable ByteString transactionIdBytes,
+                @Nullable ByteString nodeAccountIdBytes,
+                int nodeAccountIdStart,
+                int nodeAccountIdEnd,
+                boolean canonical) {
+            this.bodyBytes = bodyBytes;
+            this.transactionIdBytes = transactionIdBytes;
+            this.nodeAccountIdBytes = nodeAccountIdBytes;
+            this.nodeAccountIdStart = nodeAccountIdStart;
+            this.nodeAccountIdEnd = nodeAccountIdEnd;
+            this.canonical = canonical;
+        }
+
+        /**
+         * Extract the transaction id.
+         *
+         * @param fallback              the id to use when the body has none
+         * @return                      the transaction id
+         * @throws InvalidProtocolBufferException when the id is not a valid message
+         */
+        TransactionId getTransactionId(TransactionId fallback) throws InvalidProtocolBufferException {
+            return transactionIdBytes == null
+                    ? fallback
+                    : TransactionId.fromProtobuf(TransactionID.parseFrom(transactionIdBytes));
+        }
+
+        /**
+         * Extract the node account id.
+         *
+         * @param fallback              the id to use when the body has none
+         * @return                      the node account id
+         * @throws InvalidProtocolBufferException when the id is not a valid message
+         */
+        AccountId getNodeAccountId(AccountId fallback) throws InvalidProtocolBufferException {
+            return nodeAccountIdBytes == null
+                    ? fallback
+                    : AccountId.fromProtobuf(AccountID.parseFrom(nodeAccountIdBytes));
+        }
+
+        /**
+         * Do two bodies have the same bytes, apart from their node account ids?
+         * <p>
+         * Bodies serialized from the same builder for different nodes always do. A false result does not mean that
+         * the bodies differ, only that their encoding does.
+         *
+         * @param other                 the header of the other body
+         * @return                      whether the bodies are byte for byte the same outside of the node account id
+         */
+        boolean matchesIgnoringNodeAccountId(Header other) {
+            if (!canonical || !other.canonical) {
+                return false;
+            }
+
+            // Without a node account id the start and end are both 0, so the whole body is compared as the suffix
+            return bodyBytes.size() - (nodeAccountIdEnd - nodeAccountIdStart)
+                            == other.bodyBytes.size() - (other.nodeAccountIdEnd - other.nodeAccountIdStart)
+                    && bodyBytes
+                            .substring(0, nodeAccountIdStart)
+                            .equals(other.bodyBytes.substring(0, other.nodeAccountIdStart))
+                    && bodyBytes
+                            .substring(nodeAccountIdEnd)
+                            .equals(other.bodyBytes.substring(other.nodeAccountIdEnd));
+        }
+    }
+}
@@ -0,0 +1,375 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * Submits a large number of transactions with the least work per transaction.
+ * <p>
+ * Transactions are taken from the source a few at a time, so the source may be a lazy iterable of any length. Each
+ * one goes through two stages:
+ * <ol>
+ *     <li>it is frozen and signed for its nodes on the client's executor, several at once;</li>
+ *     <li>it is submitted to its node, with at most {@link #getMaxInFlightPerNode()} transactions in flight per
+ *     node.</li>
+ * </ol>
+ * Transactions without node account IDs are spread over the healthy nodes of the client in turn, each with the next
+ * node as a fallback. Responses are passed to the {@link Listener} in the order they complete, not in the order of
+ * the source.
+ *
+ * @see Client#submitAll(Iterable, Listener)
+ */
+public final class TransactionPipeline {
+    /**
+     * The default number of transactions in flight per node
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_PER_NODE = 16;
+
+    private final Client client;
+
+    private int maxInFlightPerNode = DEFAULT_MAX_IN_FLIGHT_PER_NODE;
+
+    private int prepareParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client to submit with
+     */
+    public TransactionPipeline(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Extract the maximum number of transactions in flight per node.
+     *
+     * @return                          the maximum number of transactions in flight per node
+     */
+    public int getMaxInFlightPerNode() {
+        return maxInFlightPerNode;
+    }
+
+    /**
+     * Assign the maximum number of transactions in flight per node. Defaults to
+     * {@link #DEFAULT_MAX_IN_FLIGHT_PER_NODE}.
+     *
+     * @param maxInFlightPerNode        the maximum, at least 1
+     * @return {@code this}
+     */
+    public TransactionPipeline setMaxInFlightPerNode(int maxInFlightPerNode) {
+        if (maxInFlightPerNode < 1) {
+            throw new IllegalArgumentException("maxInFlightPerNode must be at least 1");
+        }
+
+        this.maxInFlightPerNode = maxInFlightPerNode;
+        return this;
+    }
+
+    /**
+     * Extract the number of transactions frozen and signed at once.
+     *
+     * @return                          the number of transactions prepared at once
+     */
+    public int getPrepareParallelism() {
+        return prepareParallelism;
+    }
+
+    /**
+     * Assign the number of transactions frozen and signed at once. Defaults to the number of processors.
+     *
+     * @param prepareParallelism        the number of transactions prepared at once, at least 1
+     * @return {@code this}
+     */
+    public TransactionPipeline setPrepareParallelism(int prepareParallelism) {
+        if (prepareParallelism < 1) {
+            throw new IllegalArgumentException("prepareParallelism must be at least 1");
+        }
+
+        this.prepareParallelism = prepareParallelism;
+        return this;
+    }
+
+    /**
+     * Submit every transaction of the source.
+     *
+     * @param transactions              the transactions; iterated once, on whichever thread moves the pipeline on
+     * @param listener                  receives the outcome of each transaction as it completes
+     * @return                          future that completes once every transaction has been reported to the listener,
+     *                                  or exceptionally if the source could not be iterated or the client's
+     *                                  executor rejected the work
+     */
+    public CompletableFuture<Void> submitAll(Iterable<? extends Transaction<?>> transactions, Listener listener) {
+        var nodeAccountIds = client.network.getHealthyNodeAccountIds();
+        if (nodeAccountIds.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No healthy node was found"));
+        }
+
+        var run = new Run(transactions.iterator(), listener, nodeAccountIds);
+        run.schedule();
+        return run.done;
+    }
+
+    /**
+     * Receives the outcome of each transaction submitted by a {@link TransactionPipeline}.
+     * <p>
+     * Methods are called on executor and gRPC threads, possibly at the same time, and must not block.
+     */
+    public interface Listener {
+        /**
+         * Called when a transaction was accepted by a node.
+         *
+         * @param transaction           the transaction
+         * @param response              the response of the node
+         */
+        void onResponse(Transaction<?> transaction, TransactionResponse response);
+
+        /**
+         * Called when a transaction could not be prepared or submitted.
+         *
+         * @param transaction           the transaction
+         * @param error                 why it failed, such as a {@link PrecheckStatusException}
+         */
+        void onError(Transaction<?> transaction, Throwable error);
+    }
+
+    /**
+     * The transactions queued for one node and how many of them are in flight. Guarded by the lock of the run.
+     */
+    private static final class Lane {
+        private final ArrayDeque<Transaction<?>> queue = new ArrayDeque<>();
+        private int inFlight;
+    }
+
+    /**
+     * One call of {@link #submitAll(Iterable, Listener)}.
+     */
+    private final class Run {
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Listener listener;
+        private final List<AccountId> rotation;
+
+        // The transactions taken from the source and not reported yet, at most this many
+        private final int window;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Everything below is guarded by `lock`
+        private final Iterator<? extends Transaction<?>> source;
+        private final Map<AccountId, Lane> lanes = new LinkedHashMap<>();
+        private int nextNode;
+        private int admitted;
+        private int preparing;
+        private boolean sourceDone;
+
+        @Nullable
+        private Throwable sourceError;
+
+        Run(Iterator<? extends Transaction<?>> source, Listener listener, List<AccountId> rotation) {
+            this.source = source;
+            this.listener = listener;
+            this.rotation = rotation;
+            this.window = rotation.size() * maxInFlightPerNode * 2;
+
+            for (var nodeAccountId : rotation) {
+                lanes.put(nodeAccountId, new Lane());
+            }
+        }
+
+        /**
+         * Take more transactions from the source and submit whatever the lanes have room for. The work found is
+         * started after the lock is released.
+         */
+        void schedule() {
+            var toPrepare = new ArrayList<Transaction<?>>();
+            var toSubmit = new ArrayList<Transaction<?>>();
+            var toSubmitLanes = new ArrayList<Lane>();
+            boolean finished;
+            Throwable error;
+
+            lock.lock();
+            try {
+                while (!sourceDone && preparing < prepareParallelism && admitted < window) {
+                    try {
+                        if (!source.hasNext()) {
+                            sourceDone = true;
+                            break;
+                        }
+
+                        toPrepare.add(source.next());
+                    } catch (RuntimeException e) {
+                        sourceDone = true;
+                        sourceError = e;
+                        break;
+                    }
+
+                    admitted++;
+                    preparing++;
+                }
+
+                for (var lane : lanes.values()) {
+                    while (lane.inFlight < maxInFlightPerNode && !lane.queue.isEmpty()) {
+                        lane.inFlight++;
+                        toSubmit.add(lane.queue.poll());
+                        toSubmitLanes.add(lane);
+                    }
+                }
+
+                finished = sourceDone && admitted == 0;
+                error = sourceError;
+            } finally {
+                lock.unlock();
+            }
+
+            for (var transaction : toPrepare) {
+                try {
+                    client.executor.execute(() -> prepare(transaction));
+                } catch (RejectedExecutionException e) {
+                    rejected(transaction, e);
+                }
+            }
+
+            for (var i = 0; i < toSubmit.size(); i++) {
+                submit(toSubmit.get(i), toSubmitLanes.get(i));
+            }
+
+            if (finished) {
+                if (error != null) {
+                    done.completeExceptionally(error);
+                } else {
+                    done.complete(null);
+                }
+            }
+        }
+
+        private void prepare(Transaction<?> transaction) {
+            Lane lane = null;
+            Throwable error = null;
+
+            try {
+                lane = assignLane(transaction);
+
+                if (!transaction.isFrozen()) {
+                    transaction.freezeWith(client);
+                }
+
+                var operatorId = client.getOperatorAccountId();
+                var transactionId = transaction.getTransactionIdInternal();
+                if (operatorId != null && transactionId != null && operatorId.equals(transactionId.accountId)) {
+                    transaction.signWithOperator(client);
+                }
+
+                transaction.prebuildTransactions();
+            } catch (Throwable e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                preparing--;
+                if (error == null) {
+                    lane.queue.add(transaction);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (error != null) {
+                report(transaction, null, error);
+            } else {
+                schedule();
+            }
+        }
+
+        /**
+         * Report a transaction the executor would not prepare. An executor that rejects work will not take more, so
+         * nothing else is taken from the source and the run fails once what it already took is reported.
+         */
+        private void rejected(Transaction<?> transaction, RejectedExecutionException error) {
+            lock.lock();
+            try {
+                preparing--;
+                if (sourceError == null) {
+                    sourceError = error;
+                }
+                sourceDone = true;
+            } finally {
+                lock.unlock();
+            }
+
+            report(transaction, null, error);
+        }
+
+        /**
+         * Pick the lane of a transaction, giving it the next node in turn if it names none.
+         */
+        private Lane assignLane(Transaction<?> transaction) {
+            lock.lock();
+            try {
+                var nodeAccountIds = transaction.getNodeAccountIds();
+                if (nodeAccountIds == null) {
+                    var primary = rotation.get(nextNode);
+                    nextNode = (nextNode + 1) % rotation.size();
+
+                    nodeAccountIds = rotation.size() > 1 ? List.of(primary, rotation.get(nextNode)) : List.of(primary);
+                    transaction.setNodeAccountIds(nodeAccountIds);
+                }
+
+                return lanes.computeIfAbsent(nodeAccountIds.get(0), id -> new Lane());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void submit(Transaction<?> transaction, Lane lane) {
+            CompletableFuture<TransactionResponse> future;
+            try {
+                future = transaction.executeAsync(client);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            future.whenComplete((response, error) -> {
+                lock.lock();
+                try {
+                    lane.inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+
+                report(transaction, response, error);
+            });
+        }
+
+        private void report(
+                Transaction<?> transaction, @Nullable TransactionResponse response, @Nullable Throwable error) {
+            try {
+                if (error instanceof CompletionException && error.getCause() != null) {
+                    listener.onError(transaction, error.getCause());
+                } else if (error != null) {
+                    listener.onError(transaction, error);
+                } else {
+                    listener.onResponse(transaction, response);
+                }
+            } finally {
+                lock.lock();
+                try {
+                    admitted--;
+                } finally {
+                    lock.unlock();
+                }
+
+                schedule();
+            }
+        }
+    }
+}
@@ -163,14 +163,20 @@ public final class TransactionResponse {
     }
 
     /**
-     * Fetch the receipt of the transaction asynchronously.
+     * Fetch the receipt of the transaction asynchronously. The receipt is waited for by the client's
+     * {@link ReceiptPoller} if {@link Client#setReceiptPolling(boolean) receipt polling} is enabled.
      *
      * @param client  The client with which this will be executed.
      * @param timeout The timeout after which the execution attempt will be cancelled.
      * @return the transaction receipt
      */
     public CompletableFuture<TransactionReceipt> getReceiptAsync(Client client, Duration timeout) {
-        return getReceiptQuery().executeAsync(client, timeout).thenCompose(receipt -> {
+        var poller = client.getReceiptPoller();
+        var receiptFuture = poller != null
+                ? poller.poll(transactionId, nodeId, timeout)
+                : getReceiptQuery().executeAsync(client, timeout);
+
+        return receiptFuture.thenCompose(receipt -> {
             try {
                 return CompletableFuture.completedFuture(receipt.validateStatus(validateStatus));
             } catch (ReceiptStatusException e) {
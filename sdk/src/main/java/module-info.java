@@ -9,6 +9,7 @@ module com.hedera.hashgraph.sdk {
     requires io.grpc.stub;
     requires io.grpc;
     requires java.net.http;
+    requires static jdk.jfr;
     requires org.bouncycastle.pkix;
     requires org.bouncycastle.provider;
     requires org.slf4j;
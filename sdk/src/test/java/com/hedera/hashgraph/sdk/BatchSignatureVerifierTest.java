@@ -0,0 +1,85 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.SignatureMap;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchSignatureVerifierTest {
+    private static final List<AccountId> NODE_ACCOUNT_IDS = List.of(new AccountId(0, 0, 3), new AccountId(0, 0, 4));
+
+    private static TransferTransaction transfer(long amount, PrivateKey... keys) {
+        var transaction = new TransferTransaction()
+                .addHbarTransfer(new AccountId(0, 0, 1800), Hbar.fromTinybars(-amount))
+                .addHbarTransfer(new AccountId(0, 0, 1001), Hbar.fromTinybars(amount))
+                .setNodeAccountIds(NODE_ACCOUNT_IDS)
+                .setTransactionId(
+                        TransactionId.withValidStart(new AccountId(0, 0, 1800), Instant.ofEpochSecond(1_700_000_000)))
+                .freeze();
+        for (var key : keys) {
+            transaction.sign(key);
+        }
+        return transaction;
+    }
+
+    @Test
+    void verifiesEverySignatureOfDeserializedTransactions() throws Exception {
+        var ed25519 = PrivateKey.generateED25519();
+        var ecdsa = PrivateKey.generateECDSA();
+
+        var transactions = List.of(
+                Transaction.fromBytes(transfer(1, ed25519, ecdsa).toBytes()),
+                Transaction.fromBytes(transfer(2, ed25519, ecdsa).toBytes()));
+
+        var checks = BatchSignatureVerifier.verifyTransactions(transactions);
+
+        assertThat(checks).hasSize(2 * NODE_ACCOUNT_IDS.size() * 2);
+        assertThat(checks).allMatch(check -> check.valid);
+        assertThat(checks)
+                .extracting(check -> check.publicKey)
+                .containsOnly(ed25519.getPublicKey(), ecdsa.getPublicKey());
+        assertThat(checks).extracting(check -> check.transactionIndex).containsExactly(0, 0, 0, 0, 1, 1, 1, 1);
+        assertThat(checks).extracting(check -> check.bodyIndex).containsExactly(0, 0, 1, 1, 0, 0, 1, 1);
+    }
+
+    @Test
+    void reportsInvalidSignaturesPerPair() {
+        var good = PrivateKey.generateED25519();
+        var wrong = PrivateKey.generateED25519();
+        var ecdsa = PrivateKey.generateECDSA();
+        var body = ByteString.copyFromUtf8("body");
+        var otherBody = ByteString.copyFromUtf8("other body");
+
+        var signedTransaction = SignedTransaction.newBuilder()
+                .setBodyBytes(body)
+                .setSigMap(SignatureMap.newBuilder()
+                        .addSigPair(good.getPublicKey().toSignaturePairProtobuf(good.sign(body.toByteArray())))
+                        .addSigPair(wrong.getPublicKey().toSignaturePairProtobuf(good.sign(body.toByteArray())))
+                        .addSigPair(ecdsa.getPublicKey().toSignaturePairProtobuf(ecdsa.sign(otherBody.toByteArray())))
+                        .addSigPair(SignaturePair.newBuilder()
+                                .setPubKeyPrefix(ByteString.copyFrom(good.getPublicKey().toBytesRaw(), 0, 4))
+                                .setEd25519(ByteString.copyFrom(good.sign(body.toByteArray())))))
+                .build();
+
+        var checks = BatchSignatureVerifier.verifySignedTransactions(List.of(signedTransaction));
+
+        assertThat(checks).extracting(check -> check.valid).containsExactly(true, false, false, false);
+        assertThat(checks.get(1).publicKey).isEqualTo(wrong.getPublicKey());
+        assertThat(checks.get(3).publicKey).isNull();
+    }
+
+    @Test
+    void rejectsUnfrozenTransactions() {
+        var transaction = new TransferTransaction();
+
+        assertThatThrownBy(() -> BatchSignatureVerifier.verifyTransactions(List.of(transaction)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,132 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ChannelPoolTest {
+    @Test
+    void rejectsEmptyPool() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new ChannelPool(List.of()));
+    }
+
+    @Test
+    void poolFollowsStateOfItsChannels() throws Exception {
+        var name = InProcessServerBuilder.generateName();
+        var server = InProcessServerBuilder.forName(name).directExecutor().build().start();
+
+        try {
+            var pool = new ChannelPool(List.<ManagedChannel>of(
+                    InProcessChannelBuilder.forName(name).directExecutor().build(),
+                    InProcessChannelBuilder.forName(name).directExecutor().build()));
+
+            assertThat(pool.size()).isEqualTo(2);
+            assertThat(pool.getState(false)).isEqualTo(ConnectivityState.IDLE);
+
+            pool.shutdown();
+
+            assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(pool.isShutdown()).isTrue();
+            assertThat(pool.isTerminated()).isTrue();
+            assertThat(pool.getState(false)).isEqualTo(ConnectivityState.SHUTDOWN);
+        } finally {
+            server.shutdownNow().awaitTermination();
+        }
+    }
+
+    @Test
+    void requestsSucceedOverPooledChannels() throws Exception {
+        Object response = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder()
+                                .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                                .build())
+                        .setAccountID(AccountID.newBuilder().setAccountNum(10).build())
+                        .setBalance(100)
+                        .build())
+                .build();
+        var responses = Collections.nCopies(10, response);
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client.setChannelsPerNode(3);
+
+            for (var i = 0; i < 10; i++) {
+                var balance = new AccountBalanceQuery()
+                        .setAccountId(new AccountId(0, 0, 10))
+                        .execute(mocker.client);
+
+                assertThat(balance.hbars).isEqualTo(Hbar.fromTinybars(100));
+            }
+
+            assertThat(mocker.client.getChannelsPerNode()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void callsAvoidFailingChannel() throws Exception {
+        var name = InProcessServerBuilder.generateName();
+        var server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new CryptoServiceGrpc.CryptoServiceImplBase() {
+                    @Override
+                    public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+                        responseObserver.onNext(Response.getDefaultInstance());
+                        responseObserver.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+
+        // Nothing listens on the first channel's name, so it fails to connect
+        var dead = InProcessChannelBuilder.forName(InProcessServerBuilder.generateName())
+                .directExecutor()
+                .build();
+        var live = InProcessChannelBuilder.forName(name).directExecutor().build();
+        var pool = new ChannelPool(List.of(dead, live));
+
+        try {
+            dead.getState(true);
+            live.getState(true);
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((dead.getState(false) != ConnectivityState.TRANSIENT_FAILURE
+                            || live.getState(false) != ConnectivityState.READY)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(dead.getState(false)).isEqualTo(ConnectivityState.TRANSIENT_FAILURE);
+            assertThat(pool.getState(false)).isEqualTo(ConnectivityState.READY);
+
+            for (var i = 0; i < 10; i++) {
+                assertThat(ClientCalls.blockingUnaryCall(
+                                pool,
+                                CryptoServiceGrpc.getCryptoGetBalanceMethod(),
+                                CallOptions.DEFAULT,
+                                Query.getDefaultInstance()))
+                        .isEqualTo(Response.getDefaultInstance());
+            }
+        } finally {
+            pool.shutdownNow();
+            server.shutdownNow().awaitTermination();
+        }
+    }
+}
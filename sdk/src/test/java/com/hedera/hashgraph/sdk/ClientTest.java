@@ -7,6 +7,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.protobuf.ByteString;
+import io.grpc.inprocess.InProcessServerBuilder;
 import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -80,6 +81,42 @@ class ClientTest {
         Client.forPreviewnet(executor).close();
     }
 
+    @Test
+    @DisplayName("Can construct client with platform thread execution mode")
+    void forNetworkWithPlatformThreads() throws TimeoutException {
+        Client.forNetwork(Map.of(), ExecutionMode.PLATFORM_THREADS).close();
+    }
+
+    @Test
+    @DisplayName("Can construct client with virtual thread execution mode when supported")
+    void forNetworkWithVirtualThreads() throws TimeoutException {
+        if (ExecutionMode.VIRTUAL_THREADS.isSupported()) {
+            Client.forNetwork(Map.of(), ExecutionMode.VIRTUAL_THREADS).close();
+        } else {
+            assertThatExceptionOfType(UnsupportedOperationException.class)
+                    .isThrownBy(() -> Client.forNetwork(Map.of(), ExecutionMode.VIRTUAL_THREADS));
+        }
+    }
+
+    @Test
+    void warmUpReportsNodesThatFailToConnect() throws Exception {
+        var reachable = InProcessServerBuilder.generateName();
+        var unreachable = InProcessServerBuilder.generateName();
+        var server = InProcessServerBuilder.forName(reachable).directExecutor().build().start();
+
+        var client = Client.forNetwork(Map.of(
+                "in-process:" + reachable, new AccountId(0, 0, 3),
+                "in-process:" + unreachable, new AccountId(0, 0, 4)));
+        try {
+            var failed = client.warmUp(Duration.ofMillis(500)).get(5, TimeUnit.SECONDS);
+
+            assertThat(failed).containsExactly(unreachable);
+        } finally {
+            client.close();
+            server.shutdownNow().awaitTermination();
+        }
+    }
+
     @Test
     @DisplayName("Client.setMaxQueryPayment() negative")
     void setMaxQueryPaymentNegative() throws TimeoutException {
@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.SignatureMap;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompiledKeyTest {
+    private static final byte[] BODY = "body".getBytes();
+
+    private static SignatureMap signatureMap(PrivateKey... keys) {
+        var signatureMap = SignatureMap.newBuilder();
+        for (var key : keys) {
+            signatureMap.addSigPair(key.getPublicKey().toSignaturePairProtobuf(key.sign(BODY)));
+        }
+        return signatureMap.build();
+    }
+
+    @Test
+    void nestedThresholdList() {
+        var a = PrivateKey.generateED25519();
+        var b = PrivateKey.generateED25519();
+        var c = PrivateKey.generateECDSA();
+        var d = PrivateKey.generateED25519();
+
+        // a and either two of (b, c, d)
+        var inner = KeyList.withThreshold(2);
+        inner.add(b.getPublicKey());
+        inner.add(c.getPublicKey());
+        inner.add(d.getPublicKey());
+        var compiled = CompiledKey.compile(KeyList.of(a.getPublicKey(), inner));
+
+        assertThat(compiled.getPublicKeys())
+                .containsExactly(a.getPublicKey(), b.getPublicKey(), c.getPublicKey(), d.getPublicKey());
+        assertThat(compiled.isSatisfiedBy(signatureMap(a, b))).isFalse();
+        assertThat(compiled.isSatisfiedBy(signatureMap(b, c, d))).isFalse();
+        assertThat(compiled.isSatisfiedBy(signatureMap(a, c, d))).isTrue();
+        assertThat(compiled.isSatisfiedBy(List.of(a.getPublicKey(), b.getPublicKey(), d.getPublicKey())))
+                .isTrue();
+    }
+
+    @Test
+    void matchesKeysByUniquePrefix() {
+        var a = PrivateKey.generateED25519();
+        var b = PrivateKey.generateED25519();
+        var compiled = CompiledKey.compile(KeyList.of(a.getPublicKey(), b.getPublicKey()));
+
+        var signatureMap = SignatureMap.newBuilder()
+                .addSigPair(SignaturePair.newBuilder()
+                        .setPubKeyPrefix(ByteString.copyFrom(a.getPublicKey().toBytesRaw(), 0, 6))
+                        .setEd25519(ByteString.copyFrom(a.sign(BODY))))
+                .addSigPair(b.getPublicKey().toSignaturePairProtobuf(b.sign(BODY)));
+
+        assertThat(compiled.isSatisfiedBy(BODY, signatureMap)).isTrue();
+        assertThat(compiled.isSatisfiedBy(SignatureMap.newBuilder()
+                        .addSigPair(SignaturePair.newBuilder().setEd25519(ByteString.copyFrom(a.sign(BODY))))
+                        .addSigPair(b.getPublicKey().toSignaturePairProtobuf(b.sign(BODY)))))
+                .isFalse();
+    }
+
+    @Test
+    void verificationIgnoresInvalidSignatures() {
+        var a = PrivateKey.generateED25519();
+        var b = PrivateKey.generateECDSA();
+        var compiled = CompiledKey.compile(KeyList.of(a.getPublicKey(), b.getPublicKey()));
+
+        var forged = SignatureMap.newBuilder()
+                .addSigPair(a.getPublicKey().toSignaturePairProtobuf(a.sign(BODY)))
+                .addSigPair(b.getPublicKey().toSignaturePairProtobuf(b.sign("other".getBytes())))
+                .build();
+
+        assertThat(compiled.isSatisfiedBy(forged)).isTrue();
+        assertThat(compiled.isSatisfiedBy(BODY, forged)).isFalse();
+        assertThat(compiled.isSatisfiedBy(BODY, signatureMap(a, b))).isTrue();
+    }
+
+    @Test
+    void evmAddressIsSatisfiedByItsEcdsaKey() {
+        var key = PrivateKey.generateECDSA();
+        var compiled = CompiledKey.compile(KeyList.of(key.getPublicKey().toEvmAddress()));
+
+        assertThat(compiled.getPublicKeys()).isEmpty();
+        assertThat(compiled.isSatisfiedBy(signatureMap(PrivateKey.generateECDSA()))).isFalse();
+        assertThat(compiled.isSatisfiedBy(BODY, signatureMap(key))).isTrue();
+        assertThat(compiled.isSatisfiedBy("other".getBytes(), signatureMap(key)))
+                .isFalse();
+        assertThat(compiled.isSatisfiedBy(List.of(key.getPublicKey()))).isTrue();
+    }
+
+    @Test
+    void contractAndEmptyKeysAreNeverSatisfied() {
+        var key = PrivateKey.generateED25519();
+
+        assertThat(CompiledKey.compile(new KeyList()).isSatisfiedBy(signatureMap(key))).isFalse();
+        assertThat(CompiledKey.compile(KeyList.of(key.getPublicKey(), new ContractId(1001)))
+                        .isSatisfiedBy(signatureMap(key)))
+                .isFalse();
+
+        var either = KeyList.withThreshold(1);
+        either.add(key.getPublicKey());
+        either.add(new ContractId(1001));
+        assertThat(CompiledKey.compile(either).isSatisfiedBy(signatureMap(key))).isTrue();
+    }
+
+    @Test
+    void checksEveryBodyOfATransaction() {
+        var a = PrivateKey.generateED25519();
+        var b = PrivateKey.generateECDSA();
+        var compiled = CompiledKey.compile(KeyList.of(a.getPublicKey(), b.getPublicKey()));
+
+        var transaction = new TransferTransaction()
+                .addHbarTransfer(AccountId.fromString("0.0.5006"), new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.5007"), new Hbar(1))
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3"), AccountId.fromString("0.0.4")))
+                .setTransactionId(TransactionId.withValidStart(
+                        AccountId.fromString("0.0.5006"), Instant.ofEpochSecond(1554158542)));
+
+        assertThatThrownBy(() -> compiled.isSatisfiedBy(transaction, false)).isInstanceOf(IllegalStateException.class);
+
+        transaction.freeze().sign(a);
+        assertThat(compiled.isSatisfiedBy(transaction, false)).isFalse();
+
+        // Not signed yet, but will be once built
+        transaction.signWith(b.getPublicKey(), b::sign);
+        assertThat(compiled.isSatisfiedBy(transaction, false)).isTrue();
+
+        transaction.toBytes();
+        assertThat(compiled.isSatisfiedBy(transaction, true)).isTrue();
+    }
+}
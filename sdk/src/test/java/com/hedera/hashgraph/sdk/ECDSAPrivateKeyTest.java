@@ -5,6 +5,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.hedera.hashgraph.sdk.utils.Bip32Utils;
 import java.io.IOException;
+import java.math.BigInteger;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -355,4 +360,26 @@ public class ECDSAPrivateKeyTest {
         assertThat(ecdsaPrivateKey4.toStringRaw()).isEqualTo(PRIVATE_KEY4);
         assertThat(ecdsaPrivateKey4.getPublicKey().toStringRaw()).isEqualTo(PUBLIC_KEY4);
     }
+
+    @Test
+    @DisplayName("signatures match Bouncy Castle's ECDSASigner and carry the recovery id of the nonce point")
+    void signMatchesReferenceSigner() {
+        for (var i = 0; i < 32; i++) {
+            var key = PrivateKey.generateECDSA();
+            var d = new BigInteger(1, key.toBytesRaw());
+            var message = Crypto.randomBytes(i * 7);
+
+            var reference = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            reference.init(true, new ECPrivateKeyParameters(d, Key.ECDSA_SECP256K1_DOMAIN));
+            var expected = reference.generateSignature(Crypto.calcKeccak256(message));
+
+            var signature = Secp256k1Signer.sign(d, message);
+            assertThat(signature.r).isEqualTo(expected[0]);
+            assertThat(signature.s).isEqualTo(expected[1]);
+
+            var recovered = Crypto.recoverPublicKeyECDSAFromSignature(
+                    signature.recoveryId, signature.r, signature.s, Crypto.calcKeccak256(message));
+            assertThat(recovered).isEqualTo(key.getPublicKey().toBytesRaw());
+        }
+    }
 }
@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HedgePolicyTest {
+    @ValueSource(doubles = {-0.5, 0.0, 1.01})
+    @ParameterizedTest(name = "Invalid percentile {0}")
+    void setPercentileInvalid(double percentile) {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new HedgePolicy().setPercentile(percentile));
+    }
+
+    @Test
+    void setMinDelayInvalid() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new HedgePolicy().setMinDelay(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void executableHedgePolicyDefaultsToDisabled() {
+        var query = new AccountBalanceQuery();
+        assertThat(query.getHedgePolicy()).isNull();
+
+        var policy = new HedgePolicy();
+        assertThat(query.setHedgePolicy(policy).getHedgePolicy()).isSameAs(policy);
+    }
+
+    @Test
+    void onlyQueriesCanBeHedged() {
+        assertThat(new AccountBalanceQuery().canHedge()).isTrue();
+        assertThat(new TransferTransaction().canHedge()).isFalse();
+    }
+
+    @Test
+    void hedgeDelayUsesLatencyPercentile() {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var node = new Node(new AccountId(0, 0, 3), "127.0.0.1:50211", executor);
+            var policy = new HedgePolicy().setPercentile(0.9).setMinDelay(Duration.ofMillis(5));
+
+            // Too few samples to know when the node is slow, so it is not hedged
+            assertThat(policy.getHedgeDelayMillis(node)).isEqualTo(-1);
+
+            for (int i = 1; i <= 10; i++) {
+                node.onRequestStarted();
+                node.onRequestFinished(Duration.ofMillis(i * 10L).toNanos());
+            }
+
+            assertThat(policy.getHedgeDelayMillis(node)).isEqualTo(90);
+            assertThat(policy.setMinDelay(Duration.ofMillis(200)).getHedgeDelayMillis(node))
+                    .isEqualTo(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
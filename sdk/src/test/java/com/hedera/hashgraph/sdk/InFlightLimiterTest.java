@@ -0,0 +1,102 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class InFlightLimiterTest {
+    @Test
+    void unlimitedByDefault() {
+        var limiter = new InFlightLimiter();
+
+        for (var i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.getInFlight()).isEqualTo(1000);
+    }
+
+    @Test
+    void tryAcquireFailsWhenSaturated() {
+        var limiter = new InFlightLimiter();
+        limiter.setLimit(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void releasedPermitGoesToOldestWaiter() {
+        var limiter = new InFlightLimiter();
+        limiter.setLimit(1);
+
+        assertThat(limiter.acquire()).isDone();
+        var first = limiter.acquire();
+        var second = limiter.acquire();
+
+        assertThat(first).isNotDone();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+
+        assertThat(first).isCompleted();
+        assertThat(second).isNotDone();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaiterIsSkipped() {
+        var limiter = new InFlightLimiter();
+        limiter.setLimit(1);
+
+        limiter.acquire();
+        var cancelled = limiter.acquire();
+        var waiting = limiter.acquire();
+        cancelled.cancel(false);
+
+        limiter.release();
+
+        assertThat(waiting).isCompleted();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void raisingLimitAdmitsWaiters() {
+        var limiter = new InFlightLimiter();
+        limiter.setLimit(1);
+
+        limiter.acquire();
+        var waiting = limiter.acquire();
+        limiter.setLimit(2);
+
+        assertThat(waiting).isCompleted();
+    }
+
+    @Test
+    void awaitCapacityCompletesOnceBelowLimit() {
+        var limiter = new InFlightLimiter();
+        limiter.setLimit(1);
+
+        assertThat(limiter.awaitCapacity()).isCompleted();
+
+        limiter.acquire();
+        var capacity = limiter.awaitCapacity();
+        assertThat(capacity).isNotDone();
+
+        limiter.release();
+
+        assertThat(capacity).isCompleted();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectsNegativeLimit() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new InFlightLimiter().setLimit(-1));
+    }
+}
@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    @Test
+    void emptySnapshotIsZero() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getMean()).isEqualTo(Duration.ZERO);
+        assertThat(snapshot.getValueAtPercentile(99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void percentilesAreWithinRelativeError() {
+        var histogram = new LatencyHistogram();
+        for (var millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(Duration.ofMillis(millis).toNanos());
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getMax()).isEqualTo(Duration.ofMillis(100));
+        assertThat(snapshot.getValueAtPercentile(50).toNanos())
+                .isBetween(Duration.ofMillis(50).toNanos(), (long) (Duration.ofMillis(50).toNanos() * 1.04));
+        assertThat(snapshot.getValueAtPercentile(99).toNanos())
+                .isBetween(Duration.ofMillis(99).toNanos(), (long) (Duration.ofMillis(99).toNanos() * 1.04));
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void bucketsCoverEveryValue() {
+        var random = ThreadLocalRandom.current();
+        for (var i = 0; i < 10_000; i++) {
+            var value = random.nextLong(Long.MAX_VALUE);
+            var index = LatencyHistogram.indexOf(value);
+
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+            }
+        }
+
+        assertThat(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)))
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void rejectsInvalidPercentile() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> snapshot.getValueAtPercentile(101));
+    }
+}
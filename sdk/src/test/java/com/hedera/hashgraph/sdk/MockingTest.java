@@ -12,6 +12,7 @@ import com.hedera.hashgraph.sdk.proto.Query;
 import com.hedera.hashgraph.sdk.proto.Response;
 import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
 import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.SmartContractServiceGrpc;
 import com.hedera.hashgraph.sdk.proto.Transaction;
@@ -23,16 +24,30 @@ import com.hedera.hashgraph.sdk.proto.TransactionRecord;
 import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -503,6 +518,244 @@ public class MockingTest {
         server.close();
     }
 
+    @ParameterizedTest(name = "[{0}] Executable reports attempts to client metrics")
+    @CsvSource({"sync", "async"})
+    void reportsAttemptsToClientMetrics(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("reportsAttemptsToClientMetrics" + sync, service);
+        var metrics = new HistogramClientMetrics();
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client.setMaxAttempts(4).setMetrics(metrics);
+
+        var transaction = new AccountCreateTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+        if (sync.equals("sync")) {
+            transaction.execute(server.client);
+        } else {
+            transaction.executeAsync(server.client).get();
+        }
+
+        Assertions.assertEquals(2, metrics.getAttemptsStarted());
+        Assertions.assertEquals(1L, metrics.getResponsesByStatus().get(com.hedera.hashgraph.sdk.Status.BUSY));
+        Assertions.assertEquals(1L, metrics.getResponsesByStatus().get(com.hedera.hashgraph.sdk.Status.OK));
+        Assertions.assertEquals(1, metrics.getRetries(ClientMetrics.RetryReason.RETRYABLE_STATUS));
+        Assertions.assertEquals(1, metrics.getBackoffs().getCount());
+
+        var byMethod = metrics.getLatencyByMethod();
+        Assertions.assertEquals(2, byMethod.get("proto.CryptoService/createAccount").getCount());
+        Assertions.assertEquals(
+                2,
+                metrics.getLatencyByNode().values().stream()
+                        .mapToLong(LatencyHistogram.Snapshot::getCount)
+                        .sum());
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable records attempts and backoffs with the flight recorder")
+    @CsvSource({"sync", "async"})
+    void recordsFlightRecorderEvents(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("recordsFlightRecorderEvents" + sync, service);
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client.setMaxAttempts(4);
+
+        var file = Files.createTempFile("recordsFlightRecorderEvents", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("com.hedera.hashgraph.sdk.Attempt");
+            recording.enable("com.hedera.hashgraph.sdk.Backoff");
+            recording.start();
+
+            var transaction = new AccountCreateTransaction()
+                    .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+            if (sync.equals("sync")) {
+                transaction.execute(server.client);
+            } else {
+                transaction.executeAsync(server.client).get();
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        var attempts = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.hedera.hashgraph.sdk.Attempt"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        Assertions.assertEquals(2, attempts.size());
+        Assertions.assertEquals("AccountCreateTransaction", attempts.get(0).getString("requestType"));
+        Assertions.assertEquals("proto.CryptoService/createAccount", attempts.get(0).getString("method"));
+        Assertions.assertEquals("BUSY", attempts.get(0).getString("status"));
+        Assertions.assertEquals(2, attempts.get(1).getInt("attempt"));
+        Assertions.assertEquals("OK", attempts.get(1).getString("status"));
+
+        var backoffs = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.hedera.hashgraph.sdk.Backoff"))
+                .toList();
+        Assertions.assertEquals(1, backoffs.size());
+        Assertions.assertEquals(2, backoffs.get(0).getInt("attempt"));
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable reports the events of a request to the client's listener")
+    @CsvSource({"sync", "async"})
+    void reportsRequestEventsToListener(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("reportsRequestEventsToListener" + sync, service);
+        var events = Collections.synchronizedList(new ArrayList<String>());
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client.setMaxAttempts(4).setRequestEventListener(new RequestEventListener() {
+            @Override
+            public void onAttemptSent(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    @Nullable String nodeAddress,
+                    int attempt) {
+                events.add("sent " + requestName + " #" + attempt);
+            }
+
+            @Override
+            public void onResponse(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    long latencyNanos,
+                    com.hedera.hashgraph.sdk.Status status,
+                    Object response) {
+                events.add("response " + status + " #" + attempt);
+            }
+
+            @Override
+            public void onRetry(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    ClientMetrics.RetryReason reason,
+                    long backoffMillis,
+                    @Nullable com.hedera.hashgraph.sdk.Status status,
+                    @Nullable Throwable error) {
+                events.add("retry " + reason + " " + status + " #" + attempt);
+            }
+        });
+
+        var transaction = new AccountCreateTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+        if (sync.equals("sync")) {
+            transaction.execute(server.client);
+        } else {
+            transaction.executeAsync(server.client).get();
+        }
+
+        Assertions.assertEquals(
+                List.of(
+                        "sent AccountCreateTransaction #1",
+                        "response BUSY #1",
+                        "retry RETRYABLE_STATUS BUSY #1",
+                        "sent AccountCreateTransaction #2",
+                        "response OK #2"),
+                events);
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable traces the execution and each attempt")
+    @CsvSource({"sync", "async"})
+    void tracesExecutionAndAttempts(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("tracesExecutionAndAttempts" + sync, service);
+        var tracer = new InMemoryTracer();
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client.setMaxAttempts(4).setTracer(tracer);
+
+        var root = tracer.startSpan("root", null);
+        try (var ignored = TraceContext.makeCurrent(root)) {
+            var transaction = new AccountCreateTransaction()
+                    .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+            if (sync.equals("sync")) {
+                transaction.execute(server.client);
+            } else {
+                transaction.executeAsync(server.client).get();
+            }
+        }
+        root.end();
+
+        var spans = tracer.getFinishedSpans();
+        var execution = spans.stream()
+                .filter(span -> span.getName().equals("AccountCreateTransaction"))
+                .findFirst()
+                .orElseThrow();
+        var attempts = spans.stream()
+                .filter(span -> span.getParentSpanId() == execution.getSpanId())
+                .toList();
+
+        Assertions.assertEquals(((InMemoryTracer.RecordedSpan) root).getSpanId(), execution.getParentSpanId());
+        Assertions.assertEquals(2, attempts.size());
+        Assertions.assertEquals("proto.CryptoService/createAccount", attempts.get(0).getName());
+        Assertions.assertEquals(1L, attempts.get(0).getAttributes().get("attempt"));
+        Assertions.assertEquals("BUSY", attempts.get(0).getAttributes().get("status"));
+        Assertions.assertEquals(2L, attempts.get(1).getAttributes().get("attempt"));
+        Assertions.assertEquals("OK", attempts.get(1).getAttributes().get("status"));
+        Assertions.assertEquals("RETRYABLE_STATUS", attempts.get(1).getAttributes().get("retry.reason"));
+        Assertions.assertTrue(attempts.get(1).getAttributes().containsKey("backoff.ms"));
+
+        server.close();
+    }
+
+    @Test
+    void traceContextPropagatesThroughAsyncContinuations() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("traceContextPropagatesThroughAsyncContinuations", service);
+        var tracer = new InMemoryTracer();
+
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client.setTracer(tracer);
+
+        var root = tracer.startSpan("root", null);
+        CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse> future;
+        try (var ignored = TraceContext.makeCurrent(root)) {
+            future = new AccountCreateTransaction()
+                    .setNodeAccountIds(List.of(AccountId.fromString("1.1.1")))
+                    .executeAsync(server.client)
+                    .thenCompose(response -> new AccountDeleteTransaction()
+                            .setNodeAccountIds(List.of(AccountId.fromString("1.1.1")))
+                            .executeAsync(server.client));
+        }
+        future.get();
+        root.end();
+
+        var rootId = ((InMemoryTracer.RecordedSpan) root).getSpanId();
+        var executions = tracer.getFinishedSpans().stream()
+                .filter(span -> span.getName().endsWith("Transaction"))
+                .toList();
+
+        Assertions.assertEquals(2, executions.size());
+        executions.forEach(span -> Assertions.assertEquals(rootId, span.getParentSpanId()));
+        Assertions.assertNull(TraceContext.current());
+
+        server.close();
+    }
+
     @ParameterizedTest(name = "[{2}] Executable retries on {1} Hedera status error(s) {0}")
     @CsvSource({
         "BUSY, sync",
@@ -656,6 +909,40 @@ public class MockingTest {
         server.close();
     }
 
+    @Test
+    @DisplayName("Paid queries at the in-flight limit fetch their cost without waiting for another permit")
+    void paidQueriesAtInFlightLimitComplete() throws Exception {
+        var concurrency = 4;
+        Function<Object, Object> answer = request -> {
+            var header = ((Query) request).getCryptoGetInfo().getHeader();
+            var response = header.getResponseType() == ResponseType.COST_ANSWER
+                    ? CryptoGetInfoResponse.newBuilder()
+                            .setHeader(ResponseHeader.newBuilder().setCost(100))
+                    : CryptoGetInfoResponse.newBuilder()
+                            .setAccountInfo(CryptoGetInfoResponse.AccountInfo.newBuilder()
+                                    .setAccountID(AccountID.newBuilder().setAccountNum(10))
+                                    .setKey(PrivateKey.generateED25519().getPublicKey().toProtobufKey()));
+            return Response.newBuilder().setCryptoGetInfo(response).build();
+        };
+
+        try (var mocker = Mocker.withResponses(List.of(Collections.nCopies(2 * concurrency, answer)))) {
+            mocker.client.setMaxInFlightRequests(concurrency);
+
+            // Every query takes a permit before any of them asks for its cost
+            var futures = new ArrayList<CompletableFuture<AccountInfo>>();
+            for (var i = 0; i < concurrency; i++) {
+                futures.add(new AccountInfoQuery()
+                        .setAccountId(new AccountId(0, 0, 10))
+                        .executeAsync(mocker.client, Duration.ofSeconds(30)));
+            }
+
+            for (var future : futures) {
+                Assertions.assertEquals(
+                        new AccountId(0, 0, 10), future.get(10, TimeUnit.SECONDS).accountId);
+            }
+        }
+    }
+
     @Test
     @DisplayName("Can cancel executeAsync()")
     void canCancelExecuteAsync() throws Exception {
@@ -686,6 +973,298 @@ public class MockingTest {
         server.close();
     }
 
+    private static Response balanceResponse(ResponseCodeEnum precheckCode, long tinybars) {
+        return Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(precheckCode))
+                        .setAccountID(AccountID.newBuilder().setAccountNum(10))
+                        .setBalance(tinybars))
+                .build();
+    }
+
+    private static Node nodeOf(Mocker mocker, long accountNum) {
+        return mocker.client.network.getNodeProxies(new AccountId(0, 0, accountNum)).get(0);
+    }
+
+    // Gives both nodes enough latency samples to be hedged
+    private static void primeLatency(Mocker mocker) {
+        for (var accountNum : List.of(3L, 4L)) {
+            var node = nodeOf(mocker, accountNum);
+            for (var i = 0; i < 10; i++) {
+                node.onRequestStarted();
+                node.onRequestFinished(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private static AccountBalanceQuery hedgedBalanceQuery() {
+        return new AccountBalanceQuery()
+                .setAccountId(new AccountId(0, 0, 10))
+                .setNodeAccountIds(List.of(new AccountId(0, 0, 3), new AccountId(0, 0, 4)))
+                .setHedgePolicy(new HedgePolicy().setMinDelay(Duration.ofMillis(50)));
+    }
+
+    private static RequestEventListener countingHedges(CountDownLatch hedged, AtomicInteger hedges) {
+        return new RequestEventListener() {
+            @Override
+            public void onHedged(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    AccountId hedgedNodeAccountId,
+                    int attempt) {
+                hedges.incrementAndGet();
+                hedged.countDown();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("A slow primary call loses to its hedge")
+    void slowPrimaryLosesToHedge() throws Exception {
+        var hedgeReceived = new CountDownLatch(1);
+        Function<Object, Object> primary = request -> {
+            hedgeReceived.await(10, TimeUnit.SECONDS);
+            Thread.sleep(500);
+            return balanceResponse(ResponseCodeEnum.OK, 1);
+        };
+        Function<Object, Object> hedge = request -> {
+            hedgeReceived.countDown();
+            return balanceResponse(ResponseCodeEnum.OK, 2);
+        };
+
+        try (var mocker = Mocker.withResponses(List.of(List.of(primary), List.of(hedge)))) {
+            primeLatency(mocker);
+
+            var balance = hedgedBalanceQuery().executeAsync(mocker.client).get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(Hbar.fromTinybars(2), balance.hbars);
+        }
+    }
+
+    @Test
+    @DisplayName("An error of the primary call waits for the outstanding hedge")
+    void primaryErrorDeferredWhileHedgeOutstanding() throws Exception {
+        var hedgeReceived = new CountDownLatch(1);
+        Function<Object, Object> primary = request -> {
+            hedgeReceived.await(10, TimeUnit.SECONDS);
+            return balanceResponse(ResponseCodeEnum.INVALID_ACCOUNT_ID, 0);
+        };
+        Function<Object, Object> hedge = request -> {
+            hedgeReceived.countDown();
+            Thread.sleep(500);
+            return balanceResponse(ResponseCodeEnum.OK, 2);
+        };
+
+        try (var mocker = Mocker.withResponses(List.of(List.of(primary), List.of(hedge)))) {
+            primeLatency(mocker);
+
+            var balance = hedgedBalanceQuery().executeAsync(mocker.client).get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(Hbar.fromTinybars(2), balance.hbars);
+        }
+    }
+
+    @Test
+    @DisplayName("A hedge that cannot be sent leaves the primary call to finish the attempt")
+    void hedgeThatCannotBeSentLeavesPrimary() throws Exception {
+        var hedged = new CountDownLatch(1);
+        var hedges = new AtomicInteger();
+        Function<Object, Object> primary = request -> {
+            hedged.await(10, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            return balanceResponse(ResponseCodeEnum.OK, 1);
+        };
+
+        try (var mocker = Mocker.withResponses(List.of(List.of(primary), List.of()))) {
+            primeLatency(mocker);
+            mocker.client.setRequestEventListener(countingHedges(hedged, hedges));
+            nodeOf(mocker, 4).getChannel().shutdownNow();
+
+            var balance = hedgedBalanceQuery().executeAsync(mocker.client).get(10, TimeUnit.SECONDS);
+
+            // A second request to the primary node would have been answered with ABORTED
+            Assertions.assertEquals(Hbar.fromTinybars(1), balance.hbars);
+            Assertions.assertEquals(1, hedges.get());
+        }
+    }
+
+    @Test
+    @DisplayName("An attempt is not hedged when no other node can take the call")
+    void noHedgeWithoutSecondNode() throws Exception {
+        var hedges = new AtomicInteger();
+        Function<Object, Object> primary = request -> {
+            Thread.sleep(300);
+            return balanceResponse(ResponseCodeEnum.OK, 1);
+        };
+
+        try (var mocker = Mocker.withResponses(List.of(List.of(primary), List.of()))) {
+            primeLatency(mocker);
+            mocker.client
+                    .setRequestEventListener(countingHedges(new CountDownLatch(1), hedges))
+                    .setMaxInFlightRequestsPerNode(1);
+
+            // The only other node is saturated
+            var busyNode = nodeOf(mocker, 4);
+            busyNode.onRequestStarted();
+
+            var balance = hedgedBalanceQuery().executeAsync(mocker.client).get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(Hbar.fromTinybars(1), balance.hbars);
+            Assertions.assertEquals(0, hedges.get());
+            busyNode.onRequestFinished(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("Attempts without a request event listener allocate nothing for their events")
+    void attemptsWithoutListenerAllocateNothingForEvents() throws Exception {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        var responses = Collections.<Object>nCopies(10, balanceResponse(ResponseCodeEnum.OK, 100));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            // Real attempts first, so the query takes the client's listeners and everything on the path is loaded
+            AccountBalanceQuery query = null;
+            for (var i = 0; i < 10; i++) {
+                query = new AccountBalanceQuery().setAccountId(new AccountId(0, 0, 10));
+                query.execute(mocker.client);
+            }
+
+            var request = query.new GrpcRequest(
+                    mocker.client.network, nodeOf(mocker, 3), 1, query.makeRequest(), 1000, 0);
+            var error = Status.UNAVAILABLE.asRuntimeException();
+            var threadId = Thread.currentThread().getId();
+
+            for (var round = 0; round < 2; round++) {
+                var before = threads.getThreadAllocatedBytes(threadId);
+                for (var i = 0; i < 10_000; i++) {
+                    request.markSent();
+                    request.markCompleted(false);
+                    request.reportCallFailed(error);
+                }
+                var allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+                // The first round warms up; reading the counter may allocate a little, attempts would add bytes each
+                if (round == 1) {
+                    Assertions.assertTrue(allocated < 1024, "attempts allocated " + allocated + " bytes");
+                }
+            }
+        }
+    }
+
+    private static RequestEventListener countingRetries(CountDownLatch retried) {
+        return new RequestEventListener() {
+            @Override
+            public void onRetry(
+                    String requestName,
+                    @Nullable TransactionId transactionId,
+                    AccountId nodeAccountId,
+                    int attempt,
+                    ClientMetrics.RetryReason reason,
+                    long backoffMillis,
+                    @Nullable com.hedera.hashgraph.sdk.Status status,
+                    @Nullable Throwable error) {
+                retried.countDown();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("executeAsync() retries after BUSY")
+    void executeAsyncRetriesAfterBusy() throws Exception {
+        var responses = List.<Object>of(
+                balanceResponse(ResponseCodeEnum.BUSY, 0), balanceResponse(ResponseCodeEnum.OK, 100));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var balance = new AccountBalanceQuery()
+                    .setAccountId(new AccountId(0, 0, 10))
+                    .executeAsync(mocker.client)
+                    .get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(Hbar.fromTinybars(100), balance.hbars);
+        }
+    }
+
+    @Test
+    @DisplayName("executeAsync() moves to the next node when a node fails to connect")
+    void executeAsyncMovesToNextNodeOnConnectionFailure() throws Exception {
+        var responses = List.of(
+                List.<Object>of(balanceResponse(ResponseCodeEnum.OK, 1)),
+                List.<Object>of(balanceResponse(ResponseCodeEnum.OK, 2)));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            nodeOf(mocker, 3).getChannel().shutdownNow();
+
+            var balance = new AccountBalanceQuery()
+                    .setAccountId(new AccountId(0, 0, 10))
+                    .setNodeAccountIds(List.of(new AccountId(0, 0, 3), new AccountId(0, 0, 4)))
+                    .executeAsync(mocker.client)
+                    .get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(Hbar.fromTinybars(2), balance.hbars);
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling executeAsync() while it waits to retry stops the retry")
+    void executeAsyncCancelledDuringDelay() throws Exception {
+        var retried = new CountDownLatch(1);
+        var retries = new AtomicInteger();
+        var responses = List.<Object>of(balanceResponse(ResponseCodeEnum.BUSY, 0), (Function<Object, Object>)
+                request -> {
+                    retries.incrementAndGet();
+                    return balanceResponse(ResponseCodeEnum.OK, 100);
+                });
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client
+                    .setMaxBackoff(Duration.ofSeconds(8))
+                    .setMinBackoff(Duration.ofSeconds(1))
+                    .setRequestEventListener(countingRetries(retried));
+
+            var future = new AccountBalanceQuery()
+                    .setAccountId(new AccountId(0, 0, 10))
+                    .executeAsync(mocker.client);
+
+            Assertions.assertTrue(retried.await(10, TimeUnit.SECONDS));
+            future.cancel(true);
+            Thread.sleep(1500);
+
+            Assertions.assertTrue(future.isCancelled());
+            Assertions.assertEquals(0, retries.get());
+        }
+    }
+
+    @Test
+    @DisplayName("The timeout of executeAsync() fires while it waits to retry")
+    void executeAsyncTimesOutDuringBackoff() throws Exception {
+        var retries = new AtomicInteger();
+        var responses = List.<Object>of(balanceResponse(ResponseCodeEnum.BUSY, 0), (Function<Object, Object>)
+                request -> {
+                    retries.incrementAndGet();
+                    return balanceResponse(ResponseCodeEnum.OK, 100);
+                });
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client.setMaxBackoff(Duration.ofSeconds(8)).setMinBackoff(Duration.ofSeconds(2));
+
+            var future = new AccountBalanceQuery()
+                    .setAccountId(new AccountId(0, 0, 10))
+                    .executeAsync(mocker.client, Duration.ofMillis(500));
+
+            var error = Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TimeoutException.class, error.getCause());
+
+            // The retry that was waiting is taken off the timer
+            Thread.sleep(2000);
+            Assertions.assertEquals(0, retries.get());
+        }
+    }
+
     private static class TestCryptoService extends CryptoServiceGrpc.CryptoServiceImplBase implements TestService {
         public Buffer buffer = new Buffer();
 
@@ -0,0 +1,79 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives many threads through node selection at once, against the in-process transport, to check that the lock-free
+ * network snapshot neither loses nor corrupts nodes under contention.
+ */
+class NetworkContentionTest {
+    private static final int QUERIES_PER_THREAD = 50;
+
+    @Test
+    void concurrentQueriesAllSucceed() throws Exception {
+        var threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        var total = threads * QUERIES_PER_THREAD;
+
+        Object response = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder()
+                                .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                                .build())
+                        .setAccountID(AccountID.newBuilder().setAccountNum(10).build())
+                        .setBalance(100)
+                        .build())
+                .build();
+        var responses = Collections.nCopies(total, response);
+
+        var pool = Executors.newFixedThreadPool(threads);
+        try (var mocker = Mocker.withResponses(List.of(responses, responses, responses))) {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<Integer>>(threads);
+
+            for (var i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+
+                    var succeeded = 0;
+                    for (var j = 0; j < QUERIES_PER_THREAD; j++) {
+                        var balance = new AccountBalanceQuery()
+                                .setAccountId(new AccountId(0, 0, 10))
+                                .execute(mocker.client);
+
+                        if (balance.hbars.equals(Hbar.fromTinybars(100))) {
+                            succeeded++;
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+
+            start.countDown();
+
+            var succeeded = 0;
+            for (var future : futures) {
+                succeeded += future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(succeeded).isEqualTo(total);
+            assertThat(mocker.client.getNetwork()).hasSize(3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
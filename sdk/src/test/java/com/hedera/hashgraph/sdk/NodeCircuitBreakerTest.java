@@ -0,0 +1,131 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NodeCircuitBreakerTest {
+    ExecutorService executor;
+    ProbedNetwork network;
+    Node node;
+
+    @BeforeEach
+    void setup() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        network = new ProbedNetwork(executor);
+        network.setNetwork(Map.of("127.0.0.1:50211", new AccountId(0, 0, 3)));
+        node = network.snapshot.get().nodes.get(0);
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    private void endBackoff() {
+        node.readmitTime = Instant.EPOCH;
+        network.earliestReadmitTime.set(0);
+    }
+
+    @Test
+    void readmitsWithoutProbingWhenDisabled() {
+        network.increaseBackoff(node);
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.CLOSED);
+
+        endBackoff();
+        network.readmitNodes();
+
+        assertThat(network.probes).isEmpty();
+        assertThat(network.snapshot.get().healthyNodes).containsExactly(node);
+    }
+
+    @Test
+    void readmitsOnlyOnceProbeSucceeds() {
+        network.setCircuitBreaker(true);
+
+        network.increaseBackoff(node);
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.OPEN);
+        assertThat(node.isHealthy()).isFalse();
+
+        endBackoff();
+        network.readmitNodes();
+
+        assertThat(network.probes).hasSize(1);
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.HALF_OPEN);
+        assertThat(node.isHealthy()).isFalse();
+        assertThat(network.snapshot.get().healthyNodes).isEmpty();
+
+        // A second pass while the probe is in flight does not probe again
+        network.earliestReadmitTime.set(0);
+        network.readmitNodes();
+        assertThat(network.probes).hasSize(1);
+
+        network.probes.get(0).complete(true);
+
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.CLOSED);
+        assertThat(node.isHealthy()).isTrue();
+        assertThat(network.snapshot.get().healthyNodes).containsExactly(node);
+    }
+
+    @Test
+    void backsOffAgainWhenProbeFails() {
+        network.setCircuitBreaker(true);
+
+        network.increaseBackoff(node);
+        endBackoff();
+        network.readmitNodes();
+
+        network.probes.get(0).complete(false);
+
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.OPEN);
+        assertThat(node.getRemainingTimeForBackoff()).isPositive();
+        assertThat(node.getBadGrpcStatusCount()).isEqualTo(2);
+        assertThat(network.snapshot.get().healthyNodes).isEmpty();
+    }
+
+    @Test
+    void disablingClosesOpenCircuits() {
+        network.setCircuitBreaker(true);
+        network.increaseBackoff(node);
+
+        network.setCircuitBreaker(false);
+        endBackoff();
+        network.readmitNodes();
+
+        assertThat(node.getCircuitState()).isEqualTo(BaseNode.CircuitState.CLOSED);
+        assertThat(network.snapshot.get().healthyNodes).containsExactly(node);
+    }
+
+    /**
+     * Network whose probes are completed by the test.
+     */
+    static final class ProbedNetwork extends BaseNetwork<ProbedNetwork, AccountId, Node> {
+        final List<CompletableFuture<Boolean>> probes = new ArrayList<>();
+
+        ProbedNetwork(ExecutorService executor) {
+            super(executor);
+        }
+
+        @Override
+        CompletableFuture<Boolean> probe(Node node) {
+            var probe = new CompletableFuture<Boolean>();
+            probes.add(probe);
+            return probe;
+        }
+
+        @Override
+        protected Node createNodeFromNetworkEntry(Map.Entry<String, AccountId> entry) {
+            return new Node(entry.getValue(), entry.getKey(), executor);
+        }
+    }
+}
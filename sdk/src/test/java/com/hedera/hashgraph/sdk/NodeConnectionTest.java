@@ -0,0 +1,77 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NodeConnectionTest {
+    private ExecutorService executor;
+    private Server server;
+    private Node node;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var name = InProcessServerBuilder.generateName();
+        executor = Executors.newCachedThreadPool();
+        server = InProcessServerBuilder.forName(name).directExecutor().build().start();
+        node = new Node(new AccountId(0, 0, 3), "in-process:" + name, executor);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        node.close(Duration.ofSeconds(5));
+        server.shutdownNow().awaitTermination();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentWaitersSeeChannelBecomeReady() throws Exception {
+        var first = node.channelFailedToConnectAsync();
+        var second = node.channelFailedToConnectAsync();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(node.isConnected()).isTrue();
+    }
+
+    @Test
+    void connectedNodeDoesNotWait() throws Exception {
+        assertThat(node.channelFailedToConnect(Instant.now().plusSeconds(5))).isFalse();
+
+        var connection = node.channelFailedToConnectAsync();
+        assertThat(connection).isCompletedWithValue(false);
+    }
+
+    @Test
+    void shutdownChannelFailsPendingAttempt() throws Exception {
+        server.shutdownNow().awaitTermination();
+
+        var connection = node.channelFailedToConnectAsync();
+        node.shutdownChannel();
+
+        assertThat(connection.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(node.isConnected()).isFalse();
+    }
+
+    @Test
+    void droppedTimeoutFailsPendingAttempt() throws Exception {
+        server.shutdownNow().awaitTermination();
+
+        var connection = node.channelFailedToConnectAsync();
+
+        // As when the client shuts down the executor the attempt would time out on
+        Delayer.cancelAll(executor);
+
+        assertThat(connection.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NodeSelectionStrategyTest {
+    ExecutorService executor;
+    Node fastNode, slowNode;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        fastNode = new Node(new AccountId(0, 0, 3), "127.0.0.1:50211", executor);
+        slowNode = new Node(new AccountId(0, 0, 4), "127.0.0.1:50212", executor);
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void latencyAverageStartsAtFirstSample() {
+        assertThat(fastNode.getLatencyEwmaMillis()).isZero();
+
+        fastNode.onRequestStarted();
+        assertThat(fastNode.getInFlightRequests()).isEqualTo(1);
+
+        fastNode.onRequestFinished(10_000_000);
+        assertThat(fastNode.getInFlightRequests()).isZero();
+        assertThat(fastNode.getLatencyEwmaMillis()).isEqualTo(10.0);
+
+        fastNode.onRequestStarted();
+        fastNode.onRequestFinished(20_000_000);
+        assertThat(fastNode.getLatencyEwmaMillis()).isEqualTo(12.0);
+    }
+
+    @Test
+    void failedRequestsDoNotFeedLatency() {
+        fastNode.onRequestStarted();
+        fastNode.onRequestFinished(-1);
+
+        assertThat(fastNode.getInFlightRequests()).isZero();
+        assertThat(fastNode.getLatencyEwmaMillis()).isZero();
+    }
+
+    @Test
+    void leastLoadedPrefersFasterNode() {
+        fastNode.onRequestStarted();
+        fastNode.onRequestFinished(5_000_000);
+        slowNode.onRequestStarted();
+        slowNode.onRequestFinished(500_000_000);
+
+        var candidates = List.of(fastNode, slowNode);
+        var random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(NodeSelectionStrategy.LEAST_LOADED.select(candidates, random))
+                    .isSameAs(fastNode);
+        }
+    }
+
+    @Test
+    void leastLoadedAccountsForInFlightRequests() {
+        fastNode.onRequestStarted();
+        fastNode.onRequestFinished(10_000_000);
+        slowNode.onRequestStarted();
+        slowNode.onRequestFinished(30_000_000);
+
+        for (int i = 0; i < 5; i++) {
+            fastNode.onRequestStarted();
+        }
+
+        assertThat(NodeSelectionStrategy.LEAST_LOADED.select(List.of(fastNode, slowNode), new Random()))
+                .isSameAs(slowNode);
+    }
+
+    @Test
+    void singleCandidateIsAlwaysSelected() {
+        for (var strategy : NodeSelectionStrategy.values()) {
+            assertThat(strategy.select(List.of(slowNode), new Random())).isSameAs(slowNode);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ReceiptPollerTest {
+    private static final AccountId NODE = new AccountId(0, 0, 3);
+
+    private static Object receiptResponse(ResponseCodeEnum precheckCode, ResponseCodeEnum receiptStatus) {
+        return com.hedera.hashgraph.sdk.proto.Response.newBuilder()
+                .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(precheckCode))
+                        .setReceipt(com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+                                .setStatus(receiptStatus)))
+                .build();
+    }
+
+    /**
+     * Answer every poll with {@code notFoundPolls} misses before the receipt, counting the polls of each transaction.
+     */
+    private static List<Object> receiptsAfter(
+            int notFoundPolls, int maxCalls, Map<TransactionId, AtomicInteger> pollsPerTransaction) {
+        Function<Object, Object> answer = request -> {
+            var transactionId = TransactionId.fromProtobuf(
+                    ((Query) request).getTransactionGetReceipt().getTransactionID());
+            var polls = pollsPerTransaction
+                    .computeIfAbsent(transactionId, id -> new AtomicInteger())
+                    .incrementAndGet();
+            return polls > notFoundPolls
+                    ? receiptResponse(ResponseCodeEnum.OK, ResponseCodeEnum.SUCCESS)
+                    : receiptResponse(ResponseCodeEnum.OK, ResponseCodeEnum.UNKNOWN);
+        };
+        return Collections.nCopies(maxCalls, answer);
+    }
+
+    private static TransactionId transactionId(int nanos) {
+        return new TransactionId(new AccountId(0, 0, 1800), Instant.ofEpochSecond(1_000_000, nanos));
+    }
+
+    @Test
+    void completesReceiptsOnceTheyExist() throws Exception {
+        var count = 50;
+        var pollsPerTransaction = new ConcurrentHashMap<TransactionId, AtomicInteger>();
+
+        try (var mocker = Mocker.withResponses(List.of(receiptsAfter(1, 4 * count, pollsPerTransaction)))) {
+            var poller = mocker.client.setReceiptPolling(true).getReceiptPoller();
+
+            var futures = new ArrayList<CompletableFuture<TransactionReceipt>>();
+            for (var i = 0; i < count; i++) {
+                futures.add(poller.poll(transactionId(i), NODE, Duration.ofSeconds(30)));
+            }
+
+            for (var i = 0; i < count; i++) {
+                var receipt = futures.get(i).get(30, TimeUnit.SECONDS);
+                assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+                assertThat(receipt.transactionId).isEqualTo(transactionId(i));
+            }
+
+            assertThat(poller.getPendingCount()).isZero();
+        }
+
+        assertThat(pollsPerTransaction).hasSize(count);
+        for (var polls : pollsPerTransaction.values()) {
+            assertThat(polls.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void pollsOnceForEveryCallerOfATransaction() throws Exception {
+        var pollsPerTransaction = new ConcurrentHashMap<TransactionId, AtomicInteger>();
+
+        try (var mocker = Mocker.withResponses(List.of(receiptsAfter(0, 4, pollsPerTransaction)))) {
+            var poller = mocker.client.setReceiptPolling(true).getReceiptPoller();
+
+            var first = poller.poll(transactionId(0), NODE, Duration.ofSeconds(30));
+            var second = poller.poll(transactionId(0), NODE, Duration.ofSeconds(30));
+            assertThat(poller.getPendingCount()).isEqualTo(1);
+
+            assertThat(first.get(30, TimeUnit.SECONDS)).isSameAs(second.get(30, TimeUnit.SECONDS));
+        }
+
+        assertThat(pollsPerTransaction.get(transactionId(0)).get()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutWhenReceiptNeverArrives() throws Exception {
+        var responses =
+                Collections.nCopies(100, receiptResponse(ResponseCodeEnum.RECEIPT_NOT_FOUND, ResponseCodeEnum.UNKNOWN));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client.setReceiptPolling(true).getReceiptPoller();
+
+            var future = poller.poll(transactionId(0), NODE, Duration.ofMillis(200));
+
+            assertThatThrownBy(() -> future.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+            assertThat(poller.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void failsOnPrecheckError() throws Exception {
+        var responses = List.of(receiptResponse(ResponseCodeEnum.INVALID_TRANSACTION_ID, ResponseCodeEnum.UNKNOWN));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var future = mocker.client
+                    .setReceiptPolling(true)
+                    .getReceiptPoller()
+                    .poll(transactionId(0), NODE, Duration.ofSeconds(30));
+
+            assertThatThrownBy(() -> future.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(PrecheckStatusException.class);
+        }
+    }
+
+    @Test
+    void transactionResponseWaitsThroughPoller() throws Exception {
+        var responses = List.of(receiptResponse(ResponseCodeEnum.OK, ResponseCodeEnum.INVALID_SIGNATURE));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client.setReceiptPolling(true);
+            var response = new TransactionResponse(NODE, transactionId(0), new byte[0], null, null);
+
+            assertThatThrownBy(() -> response.getReceiptAsync(mocker.client).get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ReceiptStatusException.class);
+        }
+    }
+
+    @Test
+    void disablingDropsThePoller() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            assertThat(client.isReceiptPolling()).isFalse();
+            assertThat(client.getReceiptPoller()).isNull();
+
+            var poller = client.setReceiptPolling(true).getReceiptPoller();
+            assertThat(client.setReceiptPolling(true).getReceiptPoller()).isSameAs(poller);
+
+            client.setReceiptPolling(false);
+            assertThat(client.isReceiptPolling()).isFalse();
+            assertThat(client.getReceiptPoller()).isNull();
+
+            assertThatThrownBy(() -> poller.setMaxPollsInFlightPerNode(0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void failedPollBacksOffTheNodeAndIsReported() throws Exception {
+        var responses = List.<Object>of(
+                io.grpc.Status.UNAVAILABLE.asRuntimeException(),
+                receiptResponse(ResponseCodeEnum.OK, ResponseCodeEnum.SUCCESS));
+        var events = Collections.synchronizedList(new ArrayList<String>());
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client
+                    .setNodeMaxBackoff(Duration.ofSeconds(1))
+                    .setNodeMinBackoff(Duration.ofMillis(250))
+                    .setReceiptPolling(true)
+                    .setRequestEventListener(new RequestEventListener() {
+                        @Override
+                        public void onAttemptSent(
+                                String requestName,
+                                @Nullable TransactionId transactionId,
+                                AccountId nodeAccountId,
+                                @Nullable String nodeAddress,
+                                int attempt) {
+                            events.add("sent #" + attempt);
+                        }
+
+                        @Override
+                        public void onRetry(
+                                String requestName,
+                                @Nullable TransactionId transactionId,
+                                AccountId nodeAccountId,
+                                int attempt,
+                                ClientMetrics.RetryReason reason,
+                                long backoffMillis,
+                                @Nullable Status status,
+                                @Nullable Throwable error) {
+                            events.add("retry " + reason + " " + (backoffMillis > 0) + " #" + attempt);
+                        }
+                    });
+
+            var receipt = mocker.client
+                    .getReceiptPoller()
+                    .poll(transactionId(0), NODE, Duration.ofSeconds(30))
+                    .get(30, TimeUnit.SECONDS);
+
+            assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+            assertThat(events).containsExactly("sent #1", "retry GRPC_ERROR true #1", "sent #2");
+        }
+    }
+
+    @Test
+    void pollsOfDisabledPollerFailWhenClientCloses() throws Exception {
+        var responses =
+                Collections.nCopies(100, receiptResponse(ResponseCodeEnum.RECEIPT_NOT_FOUND, ResponseCodeEnum.UNKNOWN));
+        CompletableFuture<TransactionReceipt> future;
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            future = mocker.client
+                    .setReceiptPolling(true)
+                    .getReceiptPoller()
+                    .poll(transactionId(0), NODE, Duration.ofMinutes(5));
+
+            // The client no longer knows about the poller, so closing it cannot cancel the poll directly
+            mocker.client.setReceiptPolling(false);
+        }
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,74 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+    @Test
+    void startsFullAndRunsDry() {
+        var budget = new RetryBudget().setMaxTokens(3).setMinRetriesPerSecond(0);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void successesEarnRetriesAtTheRatio() {
+        var budget = new RetryBudget().setMaxTokens(1).setMinRetriesPerSecond(0).setRetryRatio(0.5);
+        assertThat(budget.tryWithdraw()).isTrue();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void depositsAreCappedAtMaxTokens() {
+        var budget = new RetryBudget().setMaxTokens(2).setMinRetriesPerSecond(0).setRetryRatio(1.0);
+
+        for (var i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void reserveRefillsOverTime() throws InterruptedException {
+        var budget = new RetryBudget().setMaxTokens(1).setMinRetriesPerSecond(100);
+        assertThat(budget.tryWithdraw()).isTrue();
+
+        Thread.sleep(50);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void decorrelatedJitterStaysWithinBounds() {
+        var previous = 250L;
+        for (var i = 0; i < 1000; i++) {
+            var next = RetryBudget.decorrelatedJitterMillis(previous, 250, 8000);
+
+            assertThat(next).isBetween(250L, Math.min(8000L, previous * 3));
+            previous = next;
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new RetryBudget().setRetryRatio(-0.1));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new RetryBudget().setMinRetriesPerSecond(-1));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new RetryBudget().setMaxTokens(0));
+    }
+}
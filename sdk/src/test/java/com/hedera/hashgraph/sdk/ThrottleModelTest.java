@@ -0,0 +1,102 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hashgraph.sdk.proto.HederaFunctionality;
+import com.hedera.hashgraph.sdk.proto.ThrottleBucket;
+import com.hedera.hashgraph.sdk.proto.ThrottleDefinitions;
+import com.hedera.hashgraph.sdk.proto.ThrottleGroup;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ThrottleModelTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static ThrottleBucket bucket(long burstPeriodMs, long milliOpsPerSec, HederaFunctionality... operations) {
+        return ThrottleBucket.newBuilder()
+                .setName("bucket")
+                .setBurstPeriodMs(burstPeriodMs)
+                .addThrottleGroups(ThrottleGroup.newBuilder()
+                        .setMilliOpsPerSec(milliOpsPerSec)
+                        .addAllOperations(List.of(operations)))
+                .build();
+    }
+
+    @Test
+    void allowsBurstThenPacesAtTheRate() {
+        // 10 ops per second with a 1 second burst
+        var model = new ThrottleModel(ThrottleDefinitions.newBuilder()
+                .addThrottleBuckets(bucket(1000, 10_000, HederaFunctionality.CryptoTransfer))
+                .build());
+
+        for (var i = 0; i < 10; i++) {
+            assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isZero();
+        }
+
+        assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isEqualTo(100);
+        assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isEqualTo(200);
+    }
+
+    @Test
+    void bucketDrainsOverTime() {
+        var model = new ThrottleModel(ThrottleDefinitions.newBuilder()
+                .addThrottleBuckets(bucket(1000, 1_000, HederaFunctionality.TokenMint))
+                .build());
+
+        assertThat(model.reserve(HederaFunctionality.TokenMint, SECOND)).isZero();
+        assertThat(model.reserve(HederaFunctionality.TokenMint, SECOND)).isEqualTo(1000);
+        assertThat(model.reserve(HederaFunctionality.TokenMint, 5 * SECOND)).isZero();
+    }
+
+    @Test
+    void mustFitInEveryBucketOfTheFunctionality() {
+        var model = new ThrottleModel(ThrottleDefinitions.newBuilder()
+                .addThrottleBuckets(bucket(
+                        1000, 100_000, HederaFunctionality.CryptoTransfer, HederaFunctionality.ConsensusSubmitMessage))
+                .addThrottleBuckets(bucket(1000, 2_000, HederaFunctionality.CryptoTransfer))
+                .build());
+
+        assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isZero();
+        assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isZero();
+        assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isEqualTo(500);
+
+        // The shared bucket still has room, so other operations go straight out
+        assertThat(model.reserve(HederaFunctionality.ConsensusSubmitMessage, SECOND)).isZero();
+    }
+
+    @Test
+    void unthrottledFunctionalityNeverWaits() {
+        var model = new ThrottleModel(ThrottleDefinitions.newBuilder()
+                .addThrottleBuckets(bucket(1000, 1_000, HederaFunctionality.TokenMint))
+                .build());
+
+        for (var i = 0; i < 100; i++) {
+            assertThat(model.reserve(HederaFunctionality.CryptoTransfer, SECOND)).isZero();
+        }
+    }
+
+    @Test
+    void mapsTransactionBodiesToFunctionalities() {
+        assertThat(ThrottleModel.functionalityOf(TransactionBody.DataCase.CRYPTOTRANSFER))
+                .isEqualTo(HederaFunctionality.CryptoTransfer);
+        assertThat(ThrottleModel.functionalityOf(TransactionBody.DataCase.TOKENASSOCIATE))
+                .isEqualTo(HederaFunctionality.TokenAssociateToAccount);
+        assertThat(ThrottleModel.functionalityOf(TransactionBody.DataCase.DATA_NOT_SET)).isNull();
+    }
+
+    @Test
+    void transactionReportsItsFunctionalityOnceFrozen() {
+        var transaction = new TransferTransaction()
+                .setNodeAccountIds(List.of(new AccountId(0, 0, 3)))
+                .setTransactionId(TransactionId.generate(new AccountId(0, 0, 5005)));
+
+        assertThat(transaction.getThrottledFunctionality()).isNull();
+
+        transaction.freeze();
+
+        assertThat(transaction.getThrottledFunctionality()).isEqualTo(HederaFunctionality.CryptoTransfer);
+    }
+}
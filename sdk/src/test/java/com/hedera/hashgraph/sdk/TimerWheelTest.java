@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+    private final TimerWheel wheel = new TimerWheel(5, TimeUnit.MILLISECONDS, 8, "timer-wheel-test");
+
+    @Test
+    void firesTaskAfterDelay() throws InterruptedException {
+        var fired = new CountDownLatch(1);
+        var firedAt = new AtomicLong();
+        var start = System.nanoTime();
+
+        wheel.schedule(
+                50,
+                TimeUnit.MILLISECONDS,
+                Runnable::run,
+                () -> {
+                    firedAt.set(System.nanoTime());
+                    fired.countDown();
+                },
+                null);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(firedAt.get() - start)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void firesDelaysLongerThanOneTurnOfTheWheel() throws InterruptedException {
+        // 8 buckets of 5 ms make a 40 ms turn
+        var fired = new CountDownLatch(1);
+        var start = System.nanoTime();
+
+        wheel.schedule(100, TimeUnit.MILLISECONDS, Runnable::run, fired::countDown, null);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void cancelledTaskDoesNotRun() throws InterruptedException {
+        var ran = new AtomicBoolean();
+        var later = new CountDownLatch(1);
+
+        var timeout = wheel.schedule(20, TimeUnit.MILLISECONDS, Runnable::run, () -> ran.set(true), null);
+        wheel.schedule(60, TimeUnit.MILLISECONDS, Runnable::run, later::countDown, null);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void cancelAllDropsTasksOfThatExecutorOnly() throws InterruptedException {
+        Executor closing = Runnable::run;
+        Executor open = Runnable::run;
+        var ran = new AtomicBoolean();
+        var cancelled = new CountDownLatch(1);
+        var otherRan = new CountDownLatch(1);
+
+        wheel.schedule(200, TimeUnit.MILLISECONDS, closing, () -> ran.set(true), cancelled::countDown);
+        wheel.schedule(50, TimeUnit.MILLISECONDS, open, otherRan::countDown, null);
+        wheel.cancelAll(closing);
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void rejectedTaskRunsCancellationCallback() throws InterruptedException {
+        var cancelled = new CountDownLatch(1);
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException();
+        };
+
+        wheel.schedule(10, TimeUnit.MILLISECONDS, rejecting, () -> {}, cancelled::countDown);
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,166 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TransactionPipelineTest {
+    private static Object response(ResponseCodeEnum code) {
+        return com.hedera.hashgraph.sdk.proto.TransactionResponse.newBuilder()
+                .setNodeTransactionPrecheckCode(code)
+                .build();
+    }
+
+    private static List<TransferTransaction> transfers(int count) {
+        var transactions = new ArrayList<TransferTransaction>(count);
+        for (var i = 0; i < count; i++) {
+            transactions.add(new TransferTransaction()
+                    .addHbarTransfer(new AccountId(0, 0, 1800), Hbar.fromTinybars(-1))
+                    .addHbarTransfer(new AccountId(0, 0, 1000 + i), Hbar.fromTinybars(1)));
+        }
+        return transactions;
+    }
+
+    @Test
+    void spreadsTransactionsOverNodes() throws Exception {
+        var perNode = 30;
+        var responses = Collections.nCopies(perNode, response(ResponseCodeEnum.OK));
+        var byNode = new ConcurrentHashMap<AccountId, AtomicInteger>();
+        var errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+        try (var mocker = Mocker.withResponses(List.of(responses, responses, responses))) {
+            new TransactionPipeline(mocker.client)
+                    .setMaxInFlightPerNode(4)
+                    .setPrepareParallelism(2)
+                    .submitAll(transfers(3 * perNode), new TransactionPipeline.Listener() {
+                        @Override
+                        public void onResponse(Transaction<?> transaction, TransactionResponse response) {
+                            byNode.computeIfAbsent(response.nodeId, id -> new AtomicInteger())
+                                    .incrementAndGet();
+                        }
+
+                        @Override
+                        public void onError(Transaction<?> transaction, Throwable error) {
+                            errors.add(error);
+                        }
+                    })
+                    .get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(byNode).hasSize(3);
+        for (var count : byNode.values()) {
+            assertThat(count.get()).isEqualTo(perNode);
+        }
+    }
+
+    @Test
+    void reportsEachTransactionOnce() throws Exception {
+        var responses = List.of(response(ResponseCodeEnum.OK), response(ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE));
+        var outcomes = new ConcurrentHashMap<Transaction<?>, Object>();
+
+        var transactions = transfers(2);
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client
+                    .submitAll(transactions, new TransactionPipeline.Listener() {
+                        @Override
+                        public void onResponse(Transaction<?> transaction, TransactionResponse response) {
+                            outcomes.put(transaction, response);
+                        }
+
+                        @Override
+                        public void onError(Transaction<?> transaction, Throwable error) {
+                            outcomes.put(transaction, error);
+                        }
+                    })
+                    .get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(outcomes).containsOnlyKeys(transactions.toArray(new Transaction<?>[0]));
+        assertThat(outcomes.values())
+                .filteredOn(outcome -> outcome instanceof PrecheckStatusException)
+                .hasSize(1);
+        assertThat(outcomes.values())
+                .filteredOn(outcome -> outcome instanceof TransactionResponse)
+                .hasSize(1);
+    }
+
+    @Test
+    void failsWhenSourceThrows() throws Exception {
+        try (var mocker = Mocker.withResponses(List.of(List.of()))) {
+            Iterable<Transaction<?>> source = () -> new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    throw new IllegalStateException("source failed");
+                }
+
+                @Override
+                public Transaction<?> next() {
+                    throw new NoSuchElementException();
+                }
+            };
+
+            var future = new TransactionPipeline(mocker.client).submitAll(source, new TransactionPipeline.Listener() {
+                @Override
+                public void onResponse(Transaction<?> transaction, TransactionResponse response) {}
+
+                @Override
+                public void onError(Transaction<?> transaction, Throwable error) {}
+            });
+
+            assertThat(future).failsWithin(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void rejectsInvalidLimits() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            var pipeline = new TransactionPipeline(client);
+
+            assertThatThrownBy(() -> pipeline.setMaxInFlightPerNode(0)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> pipeline.setPrepareParallelism(0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void failsWhenExecutorRejectsWork() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        var errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+        try (var client = Client.forNetwork(Map.of("in-process:unused", new AccountId(0, 0, 3)), executor)) {
+            var future = new TransactionPipeline(client)
+                    .setPrepareParallelism(2)
+                    .submitAll(transfers(5), new TransactionPipeline.Listener() {
+                        @Override
+                        public void onResponse(Transaction<?> transaction, TransactionResponse response) {}
+
+                        @Override
+                        public void onError(Transaction<?> transaction, Throwable error) {
+                            errors.add(error);
+                        }
+                    });
+
+            assertThat(future)
+                    .failsWithin(30, TimeUnit.SECONDS)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(errors).isNotEmpty().allMatch(error -> error instanceof RejectedExecutionException);
+        }
+    }
+}
@@ -3,14 +3,21 @@ package com.hedera.hashgraph.sdk;
 
 import static com.hedera.hashgraph.sdk.Transaction.fromBytes;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TokenAssociateTransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionList;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +100,157 @@ public class TransactionTest {
         assertThat(tokenAssociateTransactionFromBytes).isInstanceOf(TokenAssociateTransaction.class);
     }
 
+    @Test
+    void parallelSigningProducesSameBytes() {
+        var nodeAccountIds = new ArrayList<AccountId>();
+        for (var i = 0; i < 30; i++) {
+            nodeAccountIds.add(new AccountId(0, 0, 3 + i));
+        }
+        var keys = List.of(unusedPrivateKey, PrivateKey.generateED25519(), PrivateKey.generateECDSA());
+        var signerCalls = new AtomicInteger();
+
+        var serial = spawnTransferTransaction(nodeAccountIds, keys, signerCalls);
+        var parallel = spawnTransferTransaction(nodeAccountIds, keys, signerCalls).setParallelSigning(true);
+
+        assertThat(parallel.getParallelSigning()).isTrue();
+        assertThat(parallel.getTransactionHashPerNode()).hasSize(30);
+        assertThat(signerCalls.get()).isEqualTo(30);
+
+        // ECDSA signatures are deterministic (RFC 6979), so both builds must match byte for byte
+        assertThat(parallel.toBytes()).isEqualTo(serial.toBytes());
+        assertThat(signerCalls.get()).isEqualTo(60);
+    }
+
+    @Test
+    void signAllWithAsyncSignsEveryBodyInOneCall() {
+        var key = PrivateKey.generateED25519();
+        var calls = new ArrayList<List<byte[]>>();
+        AsyncTransactionSigner signer = messages -> {
+            calls.add(messages);
+            var signatures = new ArrayList<byte[]>(messages.size());
+            for (var message : messages) {
+                signatures.add(key.sign(message));
+            }
+            return CompletableFuture.completedFuture(signatures);
+        };
+
+        var transactions = List.of(
+                spawnTestTransaction(TransactionBody.getDefaultInstance()),
+                spawnTestTransaction(TransactionBody.getDefaultInstance()));
+        var expected = spawnTestTransaction(TransactionBody.getDefaultInstance()).sign(key);
+
+        assertThat(Transaction.signAllWithAsync(transactions, key.getPublicKey(), signer))
+                .succeedsWithin(Duration.ofSeconds(5));
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).hasSize(2 * testNodeAccountIds.size());
+
+        var expectedSignatures = expected.getSignatures();
+        for (var transaction : transactions) {
+            var signatures = transaction.getSignatures();
+            for (var nodeAccountId : testNodeAccountIds) {
+                assertThat(signatures.get(nodeAccountId).get(key.getPublicKey()))
+                        .isEqualTo(expectedSignatures.get(nodeAccountId).get(key.getPublicKey()));
+            }
+        }
+
+        // Already signed by the key, so the signer is not called again
+        assertThat(transactions.get(0).signWithAsync(key.getPublicKey(), signer))
+                .succeedsWithin(Duration.ofSeconds(5));
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void signWithAsyncFailsOnMissingSignatures() {
+        var key = PrivateKey.generateED25519();
+        var transaction = spawnTestTransaction(TransactionBody.getDefaultInstance());
+
+        var future = transaction.signWithAsync(
+                key.getPublicKey(), messages -> CompletableFuture.completedFuture(List.of(new byte[64])));
+
+        assertThat(future).failsWithin(Duration.ofSeconds(5));
+        assertThat(transaction.getSignatures().get(testNodeAccountIds.get(0))).doesNotContainKey(key.getPublicKey());
+    }
+
+    @Test
+    void fromBytesRejectsBodiesThatDifferBetweenNodes() throws InvalidProtocolBufferException {
+        var list = transferTransactionList();
+
+        var tampered = rewriteBody(list, 1, body -> body.setMemo("tampered").build().toByteString());
+
+        assertThatThrownBy(() -> Transaction.fromBytes(tampered.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Memo");
+    }
+
+    @Test
+    void fromBytesAcceptsBodiesThatOnlyDifferInEncoding() throws InvalidProtocolBufferException {
+        var list = transferTransactionList();
+
+        // The same body, with the node account id written last instead of in field order
+        var reordered = rewriteBody(list, 1, body -> {
+            var nodeAccountId = body.getNodeAccountID();
+            return body.clearNodeAccountID()
+                    .build()
+                    .toByteString()
+                    .concat(TransactionBody.newBuilder()
+                            .setNodeAccountID(nodeAccountId)
+                            .build()
+                            .toByteString());
+        });
+
+        var transaction = (TransferTransaction) Transaction.fromBytes(reordered.toByteArray());
+
+        assertThat(transaction.getNodeAccountIds()).isEqualTo(testNodeAccountIds);
+        assertThat(transaction.getHbarTransfers()).containsEntry(testAccountId, new Hbar(1).negated());
+    }
+
+    private static TransactionList transferTransactionList() throws InvalidProtocolBufferException {
+        var transaction = new TransferTransaction()
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.5007"), new Hbar(1))
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .freeze()
+                .sign(unusedPrivateKey);
+        return TransactionList.parseFrom(transaction.toBytes());
+    }
+
+    private static TransactionList rewriteBody(
+            TransactionList list, int index, java.util.function.Function<TransactionBody.Builder, ByteString> rewrite)
+            throws InvalidProtocolBufferException {
+        var transaction = list.getTransactionList(index);
+        var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
+        var body = TransactionBody.parseFrom(signedTransaction.getBodyBytes()).toBuilder();
+
+        return list.toBuilder()
+                .setTransactionList(
+                        index,
+                        transaction.toBuilder()
+                                .setSignedTransactionBytes(signedTransaction.toBuilder()
+                                        .setBodyBytes(rewrite.apply(body))
+                                        .build()
+                                        .toByteString()))
+                .build();
+    }
+
+    private static TransferTransaction spawnTransferTransaction(
+            List<AccountId> nodeAccountIds, List<PrivateKey> keys, AtomicInteger signerCalls) {
+        var transaction = new TransferTransaction()
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.5007"), new Hbar(1))
+                .setNodeAccountIds(nodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .freeze()
+                .sign(keys.get(0))
+                .sign(keys.get(1));
+
+        var counted = keys.get(2);
+        return transaction.signWith(counted.getPublicKey(), bytes -> {
+            signerCalls.incrementAndGet();
+            return counted.sign(bytes);
+        });
+    }
+
     private TokenAssociateTransaction spawnTestTransaction(TransactionBody txBody) {
         return new TokenAssociateTransaction(txBody)
                 .setNodeAccountIds(testNodeAccountIds)